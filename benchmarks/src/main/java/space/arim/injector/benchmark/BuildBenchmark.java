@@ -0,0 +1,528 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building an injector from many bind modules, with and without
+ * multiple bindings enabled
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BuildBenchmark {
+
+	@Param({"false", "true"})
+	public boolean multiBindings;
+
+	private final List<Object> bindModules = List.of(
+			new Module1(),
+			new Module2(),
+			new Module3(),
+			new Module4(),
+			new Module5(),
+			new Module6(),
+			new Module7(),
+			new Module8(),
+			new Module9(),
+			new Module10(),
+			new Module11(),
+			new Module12(),
+			new Module13(),
+			new Module14(),
+			new Module15(),
+			new Module16());
+
+	@Benchmark
+	public Injector build() {
+		return new InjectorBuilder()
+				.multiBindings(multiBindings)
+				.addBindModules(bindModules)
+				.build();
+	}
+
+	public interface Service1_1 {}
+	public static class Service1_1Impl implements Service1_1 {}
+	public interface Service1_2 {}
+	public static class Service1_2Impl implements Service1_2 {}
+	public interface Service1_3 {}
+	public static class Service1_3Impl implements Service1_3 {}
+	public interface Service1_4 {}
+	public static class Service1_4Impl implements Service1_4 {}
+
+	public static class Module1 {
+
+		public Service1_1 service1(Service1_1Impl service) {
+			return service;
+		}
+
+		public Service1_2 service2(Service1_2Impl service) {
+			return service;
+		}
+
+		public Service1_3 service3(Service1_3Impl service) {
+			return service;
+		}
+
+		public Service1_4 service4(Service1_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service2_1 {}
+	public static class Service2_1Impl implements Service2_1 {}
+	public interface Service2_2 {}
+	public static class Service2_2Impl implements Service2_2 {}
+	public interface Service2_3 {}
+	public static class Service2_3Impl implements Service2_3 {}
+	public interface Service2_4 {}
+	public static class Service2_4Impl implements Service2_4 {}
+
+	public static class Module2 {
+
+		public Service2_1 service1(Service2_1Impl service) {
+			return service;
+		}
+
+		public Service2_2 service2(Service2_2Impl service) {
+			return service;
+		}
+
+		public Service2_3 service3(Service2_3Impl service) {
+			return service;
+		}
+
+		public Service2_4 service4(Service2_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service3_1 {}
+	public static class Service3_1Impl implements Service3_1 {}
+	public interface Service3_2 {}
+	public static class Service3_2Impl implements Service3_2 {}
+	public interface Service3_3 {}
+	public static class Service3_3Impl implements Service3_3 {}
+	public interface Service3_4 {}
+	public static class Service3_4Impl implements Service3_4 {}
+
+	public static class Module3 {
+
+		public Service3_1 service1(Service3_1Impl service) {
+			return service;
+		}
+
+		public Service3_2 service2(Service3_2Impl service) {
+			return service;
+		}
+
+		public Service3_3 service3(Service3_3Impl service) {
+			return service;
+		}
+
+		public Service3_4 service4(Service3_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service4_1 {}
+	public static class Service4_1Impl implements Service4_1 {}
+	public interface Service4_2 {}
+	public static class Service4_2Impl implements Service4_2 {}
+	public interface Service4_3 {}
+	public static class Service4_3Impl implements Service4_3 {}
+	public interface Service4_4 {}
+	public static class Service4_4Impl implements Service4_4 {}
+
+	public static class Module4 {
+
+		public Service4_1 service1(Service4_1Impl service) {
+			return service;
+		}
+
+		public Service4_2 service2(Service4_2Impl service) {
+			return service;
+		}
+
+		public Service4_3 service3(Service4_3Impl service) {
+			return service;
+		}
+
+		public Service4_4 service4(Service4_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service5_1 {}
+	public static class Service5_1Impl implements Service5_1 {}
+	public interface Service5_2 {}
+	public static class Service5_2Impl implements Service5_2 {}
+	public interface Service5_3 {}
+	public static class Service5_3Impl implements Service5_3 {}
+	public interface Service5_4 {}
+	public static class Service5_4Impl implements Service5_4 {}
+
+	public static class Module5 {
+
+		public Service5_1 service1(Service5_1Impl service) {
+			return service;
+		}
+
+		public Service5_2 service2(Service5_2Impl service) {
+			return service;
+		}
+
+		public Service5_3 service3(Service5_3Impl service) {
+			return service;
+		}
+
+		public Service5_4 service4(Service5_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service6_1 {}
+	public static class Service6_1Impl implements Service6_1 {}
+	public interface Service6_2 {}
+	public static class Service6_2Impl implements Service6_2 {}
+	public interface Service6_3 {}
+	public static class Service6_3Impl implements Service6_3 {}
+	public interface Service6_4 {}
+	public static class Service6_4Impl implements Service6_4 {}
+
+	public static class Module6 {
+
+		public Service6_1 service1(Service6_1Impl service) {
+			return service;
+		}
+
+		public Service6_2 service2(Service6_2Impl service) {
+			return service;
+		}
+
+		public Service6_3 service3(Service6_3Impl service) {
+			return service;
+		}
+
+		public Service6_4 service4(Service6_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service7_1 {}
+	public static class Service7_1Impl implements Service7_1 {}
+	public interface Service7_2 {}
+	public static class Service7_2Impl implements Service7_2 {}
+	public interface Service7_3 {}
+	public static class Service7_3Impl implements Service7_3 {}
+	public interface Service7_4 {}
+	public static class Service7_4Impl implements Service7_4 {}
+
+	public static class Module7 {
+
+		public Service7_1 service1(Service7_1Impl service) {
+			return service;
+		}
+
+		public Service7_2 service2(Service7_2Impl service) {
+			return service;
+		}
+
+		public Service7_3 service3(Service7_3Impl service) {
+			return service;
+		}
+
+		public Service7_4 service4(Service7_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service8_1 {}
+	public static class Service8_1Impl implements Service8_1 {}
+	public interface Service8_2 {}
+	public static class Service8_2Impl implements Service8_2 {}
+	public interface Service8_3 {}
+	public static class Service8_3Impl implements Service8_3 {}
+	public interface Service8_4 {}
+	public static class Service8_4Impl implements Service8_4 {}
+
+	public static class Module8 {
+
+		public Service8_1 service1(Service8_1Impl service) {
+			return service;
+		}
+
+		public Service8_2 service2(Service8_2Impl service) {
+			return service;
+		}
+
+		public Service8_3 service3(Service8_3Impl service) {
+			return service;
+		}
+
+		public Service8_4 service4(Service8_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service9_1 {}
+	public static class Service9_1Impl implements Service9_1 {}
+	public interface Service9_2 {}
+	public static class Service9_2Impl implements Service9_2 {}
+	public interface Service9_3 {}
+	public static class Service9_3Impl implements Service9_3 {}
+	public interface Service9_4 {}
+	public static class Service9_4Impl implements Service9_4 {}
+
+	public static class Module9 {
+
+		public Service9_1 service1(Service9_1Impl service) {
+			return service;
+		}
+
+		public Service9_2 service2(Service9_2Impl service) {
+			return service;
+		}
+
+		public Service9_3 service3(Service9_3Impl service) {
+			return service;
+		}
+
+		public Service9_4 service4(Service9_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service10_1 {}
+	public static class Service10_1Impl implements Service10_1 {}
+	public interface Service10_2 {}
+	public static class Service10_2Impl implements Service10_2 {}
+	public interface Service10_3 {}
+	public static class Service10_3Impl implements Service10_3 {}
+	public interface Service10_4 {}
+	public static class Service10_4Impl implements Service10_4 {}
+
+	public static class Module10 {
+
+		public Service10_1 service1(Service10_1Impl service) {
+			return service;
+		}
+
+		public Service10_2 service2(Service10_2Impl service) {
+			return service;
+		}
+
+		public Service10_3 service3(Service10_3Impl service) {
+			return service;
+		}
+
+		public Service10_4 service4(Service10_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service11_1 {}
+	public static class Service11_1Impl implements Service11_1 {}
+	public interface Service11_2 {}
+	public static class Service11_2Impl implements Service11_2 {}
+	public interface Service11_3 {}
+	public static class Service11_3Impl implements Service11_3 {}
+	public interface Service11_4 {}
+	public static class Service11_4Impl implements Service11_4 {}
+
+	public static class Module11 {
+
+		public Service11_1 service1(Service11_1Impl service) {
+			return service;
+		}
+
+		public Service11_2 service2(Service11_2Impl service) {
+			return service;
+		}
+
+		public Service11_3 service3(Service11_3Impl service) {
+			return service;
+		}
+
+		public Service11_4 service4(Service11_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service12_1 {}
+	public static class Service12_1Impl implements Service12_1 {}
+	public interface Service12_2 {}
+	public static class Service12_2Impl implements Service12_2 {}
+	public interface Service12_3 {}
+	public static class Service12_3Impl implements Service12_3 {}
+	public interface Service12_4 {}
+	public static class Service12_4Impl implements Service12_4 {}
+
+	public static class Module12 {
+
+		public Service12_1 service1(Service12_1Impl service) {
+			return service;
+		}
+
+		public Service12_2 service2(Service12_2Impl service) {
+			return service;
+		}
+
+		public Service12_3 service3(Service12_3Impl service) {
+			return service;
+		}
+
+		public Service12_4 service4(Service12_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service13_1 {}
+	public static class Service13_1Impl implements Service13_1 {}
+	public interface Service13_2 {}
+	public static class Service13_2Impl implements Service13_2 {}
+	public interface Service13_3 {}
+	public static class Service13_3Impl implements Service13_3 {}
+	public interface Service13_4 {}
+	public static class Service13_4Impl implements Service13_4 {}
+
+	public static class Module13 {
+
+		public Service13_1 service1(Service13_1Impl service) {
+			return service;
+		}
+
+		public Service13_2 service2(Service13_2Impl service) {
+			return service;
+		}
+
+		public Service13_3 service3(Service13_3Impl service) {
+			return service;
+		}
+
+		public Service13_4 service4(Service13_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service14_1 {}
+	public static class Service14_1Impl implements Service14_1 {}
+	public interface Service14_2 {}
+	public static class Service14_2Impl implements Service14_2 {}
+	public interface Service14_3 {}
+	public static class Service14_3Impl implements Service14_3 {}
+	public interface Service14_4 {}
+	public static class Service14_4Impl implements Service14_4 {}
+
+	public static class Module14 {
+
+		public Service14_1 service1(Service14_1Impl service) {
+			return service;
+		}
+
+		public Service14_2 service2(Service14_2Impl service) {
+			return service;
+		}
+
+		public Service14_3 service3(Service14_3Impl service) {
+			return service;
+		}
+
+		public Service14_4 service4(Service14_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service15_1 {}
+	public static class Service15_1Impl implements Service15_1 {}
+	public interface Service15_2 {}
+	public static class Service15_2Impl implements Service15_2 {}
+	public interface Service15_3 {}
+	public static class Service15_3Impl implements Service15_3 {}
+	public interface Service15_4 {}
+	public static class Service15_4Impl implements Service15_4 {}
+
+	public static class Module15 {
+
+		public Service15_1 service1(Service15_1Impl service) {
+			return service;
+		}
+
+		public Service15_2 service2(Service15_2Impl service) {
+			return service;
+		}
+
+		public Service15_3 service3(Service15_3Impl service) {
+			return service;
+		}
+
+		public Service15_4 service4(Service15_4Impl service) {
+			return service;
+		}
+	}
+
+	public interface Service16_1 {}
+	public static class Service16_1Impl implements Service16_1 {}
+	public interface Service16_2 {}
+	public static class Service16_2Impl implements Service16_2 {}
+	public interface Service16_3 {}
+	public static class Service16_3Impl implements Service16_3 {}
+	public interface Service16_4 {}
+	public static class Service16_4Impl implements Service16_4 {}
+
+	public static class Module16 {
+
+		public Service16_1 service1(Service16_1Impl service) {
+			return service;
+		}
+
+		public Service16_2 service2(Service16_2Impl service) {
+			return service;
+		}
+
+		public Service16_3 service3(Service16_3Impl service) {
+			return service;
+		}
+
+		public Service16_4 service4(Service16_4Impl service) {
+			return service;
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.benchmark;
+
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.injector.Identifier;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+import space.arim.injector.InvocationEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single provision of a non-singleton type using constructor, field,
+ * and method injection, under each {@link InvocationEngine}
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InvocationEngineBenchmark {
+
+	@Param
+	public InvocationEngine invocationEngine;
+
+	private Injector injector;
+	private final Identifier<Consumer> identifier = Identifier.ofType(Consumer.class);
+
+	@Setup
+	public void setup() {
+		injector = new InjectorBuilder()
+				.invocationEngine(invocationEngine)
+				.build();
+		// Create providers ahead of measurement
+		injector.request(identifier);
+	}
+
+	@Benchmark
+	public Consumer provision() {
+		return injector.request(identifier);
+	}
+
+	public static class Leaf {}
+
+	public static class Consumer {
+
+		final Leaf constructorLeaf;
+		@Inject
+		public Leaf fieldLeaf;
+		Leaf methodLeaf;
+
+		@Inject
+		public Consumer(Leaf constructorLeaf) {
+			this.constructorLeaf = constructorLeaf;
+		}
+
+		@Inject
+		public void setMethodLeaf(Leaf methodLeaf) {
+			this.methodLeaf = methodLeaf;
+		}
+	}
+
+}
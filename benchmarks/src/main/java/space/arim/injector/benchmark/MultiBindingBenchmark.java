@@ -0,0 +1,104 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.injector.Identifier;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+import space.arim.injector.MultiBinding;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures requests for multiple instances. Only the multi-binding provider map
+ * supports such requests, so this suite has no single-binding variant.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MultiBindingBenchmark {
+
+	private Injector injector;
+	private final Identifier<Service> identifier = Identifier.ofType(Service.class);
+
+	@Setup
+	public void setup() {
+		injector = new InjectorBuilder()
+				.multiBindings(true)
+				.addBindModules(new ServiceModule())
+				.build();
+		// Create providers ahead of measurement
+		injector.requestMultipleInstances(identifier);
+	}
+
+	@Benchmark
+	public Set<Service> requestMultipleInstances() {
+		return injector.requestMultipleInstances(identifier);
+	}
+
+	public interface Service {}
+
+	public static class ServiceImpl1 implements Service {}
+
+	public static class ServiceImpl2 implements Service {}
+
+	public static class ServiceImpl3 implements Service {}
+
+	public static class ServiceImpl4 implements Service {}
+
+	public static class ServiceModule {
+
+		@MultiBinding
+		public Service service1(ServiceImpl1 service) {
+			return service;
+		}
+
+		@MultiBinding
+		public Service service2(ServiceImpl2 service) {
+			return service;
+		}
+
+		@MultiBinding
+		public Service service3(ServiceImpl3 service) {
+			return service;
+		}
+
+		@MultiBinding
+		public Service service4(ServiceImpl4 service) {
+			return service;
+		}
+	}
+
+}
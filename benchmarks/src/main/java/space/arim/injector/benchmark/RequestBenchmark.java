@@ -0,0 +1,182 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.benchmark;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.injector.Identifier;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures requests on an injector whose providers have already been created,
+ * with and without multiple bindings enabled
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RequestBenchmark {
+
+	@Param({"false", "true"})
+	public boolean multiBindings;
+
+	private Injector injector;
+	private final Identifier<Leaf> shallow = Identifier.ofType(Leaf.class);
+	private final Identifier<Depth8> deep = Identifier.ofType(Depth8.class);
+	private final Identifier<SingletonLeaf> singleton = Identifier.ofType(SingletonLeaf.class);
+	private final Identifier<Service> optionalPresent = Identifier.ofType(Service.class);
+	private final Identifier<Unbound> optionalAbsent = Identifier.ofType(Unbound.class);
+	private Provider<Leaf> provider;
+
+	@Setup
+	public void setup() {
+		injector = new InjectorBuilder()
+				.multiBindings(multiBindings)
+				.optionalBindings(true)
+				.addBindModules(new ServiceModule())
+				.build();
+		// Create providers ahead of measurement
+		injector.request(shallow);
+		injector.request(deep);
+		injector.request(singleton);
+		injector.requestOptionalInstance(optionalPresent);
+		injector.requestOptionalInstance(optionalAbsent);
+		provider = injector.request(ProviderHolder.class).provider;
+		provider.get();
+	}
+
+	@Benchmark
+	public Leaf requestShallow() {
+		return injector.request(shallow);
+	}
+
+	@Benchmark
+	public Depth8 requestDeep() {
+		return injector.request(deep);
+	}
+
+	@Benchmark
+	public SingletonLeaf requestSingleton() {
+		return injector.request(singleton);
+	}
+
+	@Benchmark
+	public Leaf providerGet() {
+		return provider.get();
+	}
+
+	@Benchmark
+	public Optional<Service> requestOptionalPresent() {
+		return injector.requestOptionalInstance(optionalPresent);
+	}
+
+	@Benchmark
+	public Optional<Unbound> requestOptionalAbsent() {
+		return injector.requestOptionalInstance(optionalAbsent);
+	}
+
+	public static class Leaf {}
+
+	@Singleton
+	public static class SingletonLeaf {}
+
+	public static class ProviderHolder {
+
+		final Provider<Leaf> provider;
+
+		@Inject
+		public ProviderHolder(Provider<Leaf> provider) {
+			this.provider = provider;
+		}
+	}
+
+	public interface Service {}
+
+	public static class ServiceImpl implements Service {}
+
+	public interface Unbound {}
+
+	public static class ServiceModule {
+
+		public Service service(ServiceImpl service) {
+			return service;
+		}
+	}
+
+	public static class Depth1 {
+		@Inject
+		public Depth1(Leaf leaf) {}
+	}
+
+	public static class Depth2 {
+		@Inject
+		public Depth2(Depth1 depth1, Leaf leaf) {}
+	}
+
+	public static class Depth3 {
+		@Inject
+		public Depth3(Depth2 depth2) {}
+	}
+
+	public static class Depth4 {
+		@Inject
+		public Depth4(Depth3 depth3, Leaf leaf) {}
+	}
+
+	public static class Depth5 {
+		@Inject
+		public Depth5(Depth4 depth4) {}
+	}
+
+	public static class Depth6 {
+		@Inject
+		public Depth6(Depth5 depth5, SingletonLeaf singletonLeaf) {}
+	}
+
+	public static class Depth7 {
+		@Inject
+		public Depth7(Depth6 depth6) {}
+	}
+
+	public static class Depth8 {
+		@Inject
+		public Depth8(Depth7 depth7, Leaf leaf) {}
+	}
+
+}
@@ -0,0 +1,334 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.benchmark;
+
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building an injector and requesting a graph of concrete types, with the
+ * metadata of those types either scanned or restored from a snapshot. <br>
+ * <br>
+ * Scanned metadata is cached per class, so each invocation loads the types afresh in
+ * a new class loader, so that every scan is a cold one.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SnapshotBenchmark {
+
+	private Path snapshot;
+	private Class<?> root;
+
+	@Setup
+	public void writeSnapshot() throws IOException, ClassNotFoundException {
+		snapshot = Files.createTempFile("injector-snapshot", ".bin");
+		Injector injector = new InjectorBuilder().build();
+		injector.request(loadRoot());
+		try (OutputStream output = Files.newOutputStream(snapshot)) {
+			injector.writeSnapshot(output);
+		}
+	}
+
+	@TearDown
+	public void deleteSnapshot() throws IOException {
+		Files.delete(snapshot);
+	}
+
+	@Setup(Level.Invocation)
+	public void loadTypes() throws ClassNotFoundException {
+		root = loadRoot();
+	}
+
+	private static Class<?> loadRoot() throws ClassNotFoundException {
+		return Class.forName(Node16.class.getName(), false, new IsolatingClassLoader());
+	}
+
+	@Benchmark
+	public Object scan() {
+		return new InjectorBuilder()
+				.build()
+				.request(root);
+	}
+
+	@Benchmark
+	public Object restore() {
+		return new InjectorBuilder()
+				.snapshot(snapshot, root.getClassLoader())
+				.build()
+				.request(root);
+	}
+
+	/**
+	 * Loads the nodes of the graph anew, with the same class files and protection domain,
+	 * as well as this class which encloses them
+	 *
+	 */
+	private static final class IsolatingClassLoader extends ClassLoader {
+
+		private static final String ENCLOSING_CLASS = SnapshotBenchmark.class.getName();
+		private static final String NODE_PREFIX = ENCLOSING_CLASS + "$Node";
+
+		IsolatingClassLoader() {
+			super(SnapshotBenchmark.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			// The enclosing class must be loaded alongside its nested classes
+			if (!name.startsWith(NODE_PREFIX) && !name.equals(ENCLOSING_CLASS)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded != null) {
+					return loaded;
+				}
+				byte[] bytes;
+				try (InputStream input = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+					bytes = input.readAllBytes();
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+				return defineClass(name, bytes, 0, bytes.length, SnapshotBenchmark.class.getProtectionDomain());
+			}
+		}
+	}
+
+	public static class NodeLeaf {}
+
+	public static class Node1 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node1(NodeLeaf previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node2 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node2(Node1 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node3 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node3(Node2 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node4 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node4(Node3 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node5 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node5(Node4 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node6 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node6(Node5 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node7 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node7(Node6 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node8 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node8(Node7 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node9 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node9(Node8 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node10 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node10(Node9 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node11 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node11(Node10 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node12 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node12(Node11 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node13 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node13(Node12 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node14 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node14(Node13 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node15 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node15(Node14 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+	public static class Node16 {
+
+		@Inject
+		public NodeLeaf leaf;
+
+		@Inject
+		public Node16(Node15 previous) {}
+
+		@Inject
+		public void setLeaf(NodeLeaf leaf) {}
+	}
+
+}
@@ -0,0 +1,4 @@
+package space.arim.injector.benchmark.jmh_generated;
+public class BuildBenchmark_jmhType extends BuildBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package space.arim.injector.benchmark.jmh_generated;
+public class InvocationEngineBenchmark_jmhType extends InvocationEngineBenchmark_jmhType_B3 {
+}
+
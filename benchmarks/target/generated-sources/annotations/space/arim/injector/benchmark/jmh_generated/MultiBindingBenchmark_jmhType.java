@@ -0,0 +1,4 @@
+package space.arim.injector.benchmark.jmh_generated;
+public class MultiBindingBenchmark_jmhType extends MultiBindingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package space.arim.injector.benchmark.jmh_generated;
+public class RequestBenchmark_jmhType extends RequestBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,137 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.processor;
+
+import java.util.List;
+import java.util.Set;
+
+final class FactoryModel {
+
+	private final String packageName;
+	private final String factorySimpleName;
+	private final String typeName;
+	private final Set<String> injectAnnotations;
+	private final Set<String> qualifierAnnotations;
+	private final List<Step> steps;
+
+	FactoryModel(String packageName, String factorySimpleName, String typeName,
+				 Set<String> injectAnnotations, Set<String> qualifierAnnotations, List<Step> steps) {
+		this.packageName = packageName;
+		this.factorySimpleName = factorySimpleName;
+		this.typeName = typeName;
+		this.injectAnnotations = injectAnnotations;
+		this.qualifierAnnotations = qualifierAnnotations;
+		this.steps = steps;
+	}
+
+	String packageName() {
+		return packageName;
+	}
+
+	String factorySimpleName() {
+		return factorySimpleName;
+	}
+
+	String qualifiedFactoryName() {
+		return (packageName.isEmpty()) ? factorySimpleName : packageName + '.' + factorySimpleName;
+	}
+
+	/**
+	 * The canonical name of the injected type
+	 *
+	 * @return the type name
+	 */
+	String typeName() {
+		return typeName;
+	}
+
+	Set<String> injectAnnotations() {
+		return injectAnnotations;
+	}
+
+	Set<String> qualifierAnnotations() {
+		return qualifierAnnotations;
+	}
+
+	/**
+	 * The constructor, followed by fields and methods in order of injection
+	 *
+	 * @return the steps of creating an instance
+	 */
+	List<Step> steps() {
+		return steps;
+	}
+
+	enum StepKind {
+		CONSTRUCTOR,
+		FIELD,
+		METHOD
+	}
+
+	static final class Step {
+
+		private final StepKind kind;
+		private final String memberName;
+		private final List<Dependency> dependencies;
+
+		Step(StepKind kind, String memberName, List<Dependency> dependencies) {
+			this.kind = kind;
+			this.memberName = memberName;
+			this.dependencies = dependencies;
+		}
+
+		StepKind kind() {
+			return kind;
+		}
+
+		String memberName() {
+			return memberName;
+		}
+
+		List<Dependency> dependencies() {
+			return dependencies;
+		}
+	}
+
+	static final class Dependency {
+
+		private final String identifierExpression;
+		private final String erasedTypeName;
+
+		Dependency(String identifierExpression, String erasedTypeName) {
+			this.identifierExpression = identifierExpression;
+			this.erasedTypeName = erasedTypeName;
+		}
+
+		/**
+		 * Java expression creating the identifier of this dependency
+		 *
+		 * @return the expression
+		 */
+		String identifierExpression() {
+			return identifierExpression;
+		}
+
+		String erasedTypeName() {
+			return erasedTypeName;
+		}
+	}
+
+}
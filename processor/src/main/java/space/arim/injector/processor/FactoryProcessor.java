@@ -0,0 +1,88 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generates a factory for each class with {@code Inject} annotated members. <br>
+ * <br>
+ * A factory is generated only where its behaviour cannot differ from that of the injector's
+ * reflective scanning, regardless of the injector's settings: every injected constructor, field,
+ * and method must be public and non{@literal -}static and must not declare checked exceptions,
+ * and every dependency must be a plain instance with at most one qualifier. Other classes are left to reflection.
+ *
+ */
+@SupportedAnnotationTypes({"javax.inject.Inject", "jakarta.inject.Inject"})
+public final class FactoryProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		Set<TypeElement> injectedTypes = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				Element enclosing = element.getEnclosingElement();
+				if (enclosing.getKind() == ElementKind.CLASS) {
+					injectedTypes.add((TypeElement) enclosing);
+				}
+			}
+		}
+		for (TypeElement injectedType : injectedTypes) {
+			FactoryModel model = new TypeAnalysis(
+					processingEnv.getElementUtils(), processingEnv.getTypeUtils(), injectedType).analyse();
+			if (model != null) {
+				writeFactory(injectedType, model);
+			}
+		}
+		// Every Inject annotated type has been handled, whether by a factory or by leaving it to reflection
+		return true;
+	}
+
+	private void writeFactory(TypeElement injectedType, FactoryModel model) {
+		try {
+			JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(
+					model.qualifiedFactoryName(), injectedType);
+			try (Writer writer = sourceFile.openWriter()) {
+				writer.write(new FactoryWriter(model).writeSource());
+			}
+		} catch (IOException ex) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Failed to write generated factory " + model.qualifiedFactoryName() + ": " + ex, injectedType);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.processor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+final class FactoryWriter {
+
+	private static final String ANNOTATION_CLASS = "java.lang.Class<? extends java.lang.annotation.Annotation>";
+	private static final String IDENTIFIER = "space.arim.injector.Identifier<?>";
+
+	private final FactoryModel model;
+	private final StringBuilder source = new StringBuilder();
+
+	FactoryWriter(FactoryModel model) {
+		this.model = model;
+	}
+
+	String writeSource() {
+		if (!model.packageName().isEmpty()) {
+			source.append("package ").append(model.packageName()).append(";\n\n");
+		}
+		String typeName = model.typeName();
+		source.append("/**\n")
+				.append(" * Factory for {@link ").append(typeName).append("}. Generated by the SolidInjector annotation processor.\n")
+				.append(" */\n")
+				.append("public final class ").append(model.factorySimpleName())
+				.append(" implements space.arim.injector.generated.GeneratedFactory<").append(typeName).append("> {\n\n");
+
+		writeList(ANNOTATION_CLASS, "INJECT_ANNOTATIONS", model.injectAnnotations(), ".class");
+		writeList(ANNOTATION_CLASS, "QUALIFIER_ANNOTATIONS", model.qualifierAnnotations(), ".class");
+		source.append("\t@SuppressWarnings(\"rawtypes\")\n");
+		List<String> dependencyIdentifiers = new ArrayList<>();
+		for (FactoryModel.Step step : model.steps()) {
+			for (FactoryModel.Dependency dependency : step.dependencies()) {
+				dependencyIdentifiers.add(dependency.identifierExpression());
+			}
+		}
+		writeList(IDENTIFIER, "DEPENDENCIES", dependencyIdentifiers, "");
+
+		source.append("\tpublic ").append(model.factorySimpleName()).append("() {}\n\n");
+		writeGetter("java.lang.Class<" + typeName + ">", "type", typeName + ".class");
+		writeGetter("java.util.List<" + ANNOTATION_CLASS + ">", "injectAnnotations", "INJECT_ANNOTATIONS");
+		writeGetter("java.util.List<" + ANNOTATION_CLASS + ">", "qualifierAnnotations", "QUALIFIER_ANNOTATIONS");
+		writeGetter("java.util.List<" + IDENTIFIER + ">", "dependencies", "DEPENDENCIES");
+		writeCreate();
+		source.append("}\n");
+		return source.toString();
+	}
+
+	private void writeList(String elementType, String constantName, Iterable<String> elements, String elementSuffix) {
+		source.append("\tprivate static final java.util.List<").append(elementType).append("> ").append(constantName)
+				.append(" = java.util.Collections.unmodifiableList(java.util.Arrays.<").append(elementType).append(">asList(");
+		Iterator<String> iterator = elements.iterator();
+		while (iterator.hasNext()) {
+			source.append("\n\t\t\t").append(iterator.next()).append(elementSuffix);
+			if (iterator.hasNext()) {
+				source.append(',');
+			}
+		}
+		source.append("));\n\n");
+	}
+
+	private void writeGetter(String returnType, String methodName, String expression) {
+		source.append("\t@Override\n")
+				.append("\tpublic ").append(returnType).append(' ').append(methodName).append("() {\n")
+				.append("\t\treturn ").append(expression).append(";\n")
+				.append("\t}\n\n");
+	}
+
+	private void writeCreate() {
+		String typeName = model.typeName();
+		source.append("\t@Override\n")
+				.append("\t@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+				.append("\tpublic ").append(typeName).append(" create(java.lang.Object[] dependencies) {\n");
+		int index = 0;
+		for (FactoryModel.Step step : model.steps()) {
+			switch (step.kind()) {
+			case CONSTRUCTOR:
+				source.append("\t\t").append(typeName).append(" instance = new ").append(typeName).append('(');
+				index = writeArguments(step, index);
+				source.append(");\n");
+				break;
+			case FIELD:
+				FactoryModel.Dependency dependency = step.dependencies().get(0);
+				source.append("\t\tinstance.").append(step.memberName()).append(" = (")
+						.append(dependency.erasedTypeName()).append(") dependencies[").append(index++).append("];\n");
+				break;
+			case METHOD:
+				source.append("\t\tinstance.").append(step.memberName()).append('(');
+				index = writeArguments(step, index);
+				source.append(");\n");
+				break;
+			default:
+				throw new IllegalStateException("Unknown step " + step.kind());
+			}
+		}
+		source.append("\t\treturn instance;\n")
+				.append("\t}\n");
+	}
+
+	private int writeArguments(FactoryModel.Step step, int index) {
+		Iterator<FactoryModel.Dependency> iterator = step.dependencies().iterator();
+		while (iterator.hasNext()) {
+			source.append('(').append(iterator.next().erasedTypeName()).append(") dependencies[").append(index++).append(']');
+			if (iterator.hasNext()) {
+				source.append(", ");
+			}
+		}
+		return index;
+	}
+
+}
@@ -0,0 +1,404 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Analyses a class into a factory model, or determines it must be left to reflection
+ */
+final class TypeAnalysis {
+
+	private static final String FACTORY_SUFFIX = "$$SolidInjectorFactory";
+	private static final String IDENTIFIER = "space.arim.injector.Identifier";
+
+	private static final Set<String> INJECT = names("javax.inject.Inject", "jakarta.inject.Inject");
+	private static final Set<String> QUALIFIER = names("javax.inject.Qualifier", "jakarta.inject.Qualifier");
+	private static final Set<String> NAMED = names("javax.inject.Named", "jakarta.inject.Named");
+	/*
+	 * Dependencies of these types are not plain instances
+	 */
+	private static final Set<String> UNSUPPORTED_DEPENDENCY_TYPES = names(
+			"javax.inject.Provider", "jakarta.inject.Provider", "java.util.Optional");
+	private static final String MULTI_BINDING = "space.arim.injector.MultiBinding";
+
+	private final Elements elements;
+	private final Types types;
+	private final TypeElement type;
+	private final String packageName;
+
+	private final Set<String> injectAnnotations = new TreeSet<>();
+	private final Set<String> qualifierAnnotations = new TreeSet<>();
+
+	TypeAnalysis(Elements elements, Types types, TypeElement type) {
+		this.elements = elements;
+		this.types = types;
+		this.type = type;
+		packageName = elements.getPackageOf(type).getQualifiedName().toString();
+	}
+
+	private static Set<String> names(String...names) {
+		return new HashSet<>(Arrays.asList(names));
+	}
+
+	/**
+	 * Analyses the type
+	 *
+	 * @return the factory model, or {@code null} if no factory can be generated
+	 */
+	FactoryModel analyse() {
+		if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getTypeParameters().isEmpty()
+				|| !isInstantiableFromPackage()) {
+			return null;
+		}
+		List<FactoryModel.Step> steps = new ArrayList<>();
+		FactoryModel.Step constructorStep = analyseConstructor();
+		if (constructorStep == null) {
+			return null;
+		}
+		steps.add(constructorStep);
+
+		List<TypeElement> hierarchy = superclassesFirst();
+		for (int n = 0; n < hierarchy.size(); n++) {
+			TypeElement declaringClass = hierarchy.get(n);
+			List<TypeElement> subclasses = hierarchy.subList(n + 1, hierarchy.size());
+			if (!analyseMembers(declaringClass, subclasses, steps)) {
+				return null;
+			}
+		}
+		String binaryName = elements.getBinaryName(type).toString();
+		String simpleBinaryName = (packageName.isEmpty()) ? binaryName : binaryName.substring(packageName.length() + 1);
+		return new FactoryModel(
+				packageName, simpleBinaryName + FACTORY_SUFFIX, type.getQualifiedName().toString(),
+				injectAnnotations, qualifierAnnotations, steps);
+	}
+
+	private boolean isInstantiableFromPackage() {
+		Element element = type;
+		while (element instanceof TypeElement) {
+			TypeElement typeElement = (TypeElement) element;
+			if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			NestingKind nestingKind = typeElement.getNestingKind();
+			if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			if (nestingKind == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)
+					&& typeElement.getKind() == ElementKind.CLASS) {
+				return false;
+			}
+			element = typeElement.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private FactoryModel.Step analyseConstructor() {
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		ExecutableElement injectConstructor = null;
+		for (ExecutableElement constructor : constructors) {
+			if (!hasInjectAnnotation(constructor)) {
+				continue;
+			}
+			if (injectConstructor != null) {
+				// Misannotated; let the injector report it
+				return null;
+			}
+			injectConstructor = constructor;
+		}
+		if (injectConstructor == null) {
+			// The injector would use the sole public no-args constructor
+			if (constructors.size() != 1 || !constructors.get(0).getParameters().isEmpty()) {
+				return null;
+			}
+			injectConstructor = constructors.get(0);
+		}
+		if (!injectConstructor.getModifiers().contains(Modifier.PUBLIC) || throwsCheckedExceptions(injectConstructor)) {
+			return null;
+		}
+		recordInjectAnnotations(injectConstructor);
+		List<FactoryModel.Dependency> dependencies = analyseParameters(injectConstructor);
+		if (dependencies == null) {
+			return null;
+		}
+		return new FactoryModel.Step(FactoryModel.StepKind.CONSTRUCTOR, null, dependencies);
+	}
+
+	private List<TypeElement> superclassesFirst() {
+		List<TypeElement> hierarchy = new ArrayList<>();
+		TypeElement current = type;
+		while (true) {
+			hierarchy.add(current);
+			TypeMirror superclass = current.getSuperclass();
+			if (superclass.getKind() != TypeKind.DECLARED) {
+				break;
+			}
+			current = (TypeElement) ((DeclaredType) superclass).asElement();
+			if (current.getQualifiedName().contentEquals("java.lang.Object")) {
+				break;
+			}
+		}
+		Collections.reverse(hierarchy);
+		return hierarchy;
+	}
+
+	private boolean analyseMembers(TypeElement declaringClass, List<TypeElement> subclasses,
+								   List<FactoryModel.Step> steps) {
+		for (VariableElement field : ElementFilter.fieldsIn(declaringClass.getEnclosedElements())) {
+			if (!hasInjectAnnotation(field)) {
+				continue;
+			}
+			Set<Modifier> modifiers = field.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+					|| modifiers.contains(Modifier.FINAL) || isFieldHidden(field, subclasses)) {
+				return false;
+			}
+			recordInjectAnnotations(field);
+			FactoryModel.Dependency dependency = analyseDependency(field, field.asType());
+			if (dependency == null) {
+				return false;
+			}
+			steps.add(new FactoryModel.Step(
+					FactoryModel.StepKind.FIELD, field.getSimpleName().toString(),
+					Collections.singletonList(dependency)));
+		}
+		for (ExecutableElement method : ElementFilter.methodsIn(declaringClass.getEnclosedElements())) {
+			if (!hasInjectAnnotation(method) || isMethodOverridden(method, subclasses)) {
+				continue;
+			}
+			Set<Modifier> modifiers = method.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+					|| modifiers.contains(Modifier.ABSTRACT) || !method.getTypeParameters().isEmpty()
+					|| throwsCheckedExceptions(method)) {
+				return false;
+			}
+			recordInjectAnnotations(method);
+			List<FactoryModel.Dependency> dependencies = analyseParameters(method);
+			if (dependencies == null) {
+				return false;
+			}
+			steps.add(new FactoryModel.Step(
+					FactoryModel.StepKind.METHOD, method.getSimpleName().toString(), dependencies));
+		}
+		return true;
+	}
+
+	private boolean isFieldHidden(VariableElement field, List<TypeElement> subclasses) {
+		for (TypeElement subclass : subclasses) {
+			for (VariableElement subclassField : ElementFilter.fieldsIn(subclass.getEnclosedElements())) {
+				if (subclassField.getSimpleName().equals(field.getSimpleName())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isMethodOverridden(ExecutableElement method, List<TypeElement> subclasses) {
+		for (TypeElement subclass : subclasses) {
+			for (ExecutableElement subclassMethod : ElementFilter.methodsIn(subclass.getEnclosedElements())) {
+				if (elements.overrides(subclassMethod, method, subclass)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * The generated factory cannot rethrow checked exceptions as the reflective path would
+	 */
+	private boolean throwsCheckedExceptions(ExecutableElement executable) {
+		TypeMirror runtimeException = elements.getTypeElement("java.lang.RuntimeException").asType();
+		TypeMirror error = elements.getTypeElement("java.lang.Error").asType();
+		for (TypeMirror thrownType : executable.getThrownTypes()) {
+			if (!types.isSubtype(thrownType, runtimeException) && !types.isSubtype(thrownType, error)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<FactoryModel.Dependency> analyseParameters(ExecutableElement executable) {
+		List<FactoryModel.Dependency> dependencies = new ArrayList<>();
+		for (VariableElement parameter : executable.getParameters()) {
+			FactoryModel.Dependency dependency = analyseDependency(parameter, parameter.asType());
+			if (dependency == null) {
+				return null;
+			}
+			dependencies.add(dependency);
+		}
+		return dependencies;
+	}
+
+	private FactoryModel.Dependency analyseDependency(Element element, TypeMirror dependencyType) {
+		String erasedTypeName = erasedTypeName(dependencyType);
+		if (erasedTypeName == null) {
+			return null;
+		}
+		AnnotationMirror qualifier = null;
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(MULTI_BINDING)) {
+				return null;
+			}
+			if (!isQualifier(annotationType)) {
+				continue;
+			}
+			if (qualifier != null || !isAccessibleFromPackage(annotationType)) {
+				return null;
+			}
+			qualifier = annotation;
+		}
+		String classLiteral = erasedTypeName + ".class";
+		String identifierExpression;
+		if (qualifier == null) {
+			identifierExpression = IDENTIFIER + ".ofType(" + classLiteral + ")";
+		} else {
+			String qualifierName = ((TypeElement) qualifier.getAnnotationType().asElement()).getQualifiedName().toString();
+			qualifierAnnotations.add(qualifierName);
+			if (NAMED.contains(qualifierName)) {
+				String name = (String) namedValue(qualifier).getValue();
+				identifierExpression = IDENTIFIER + ".ofTypeAndNamed(" + classLiteral + ", "
+						+ elements.getConstantExpression(name) + ")";
+			} else {
+				identifierExpression = IDENTIFIER + ".ofTypeAndQualifier(" + classLiteral + ", "
+						+ qualifierName + ".class)";
+			}
+		}
+		return new FactoryModel.Dependency(identifierExpression, erasedTypeName);
+	}
+
+	private static AnnotationValue namedValue(AnnotationMirror named) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : named.getElementValues().entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals("value")) {
+				return entry.getValue();
+			}
+		}
+		throw new IllegalStateException("Named annotation without value");
+	}
+
+	/**
+	 * Gets the name of the erasure of a dependency type, exactly as the injector would
+	 * use it to identify the dependency
+	 *
+	 * @param dependencyType the type
+	 * @return the erased type name, or {@code null} if the type is not a plain instance
+	 * accessible from the factory
+	 */
+	private String erasedTypeName(TypeMirror dependencyType) {
+		switch (dependencyType.getKind()) {
+		case BOOLEAN:
+			return "boolean";
+		case BYTE:
+			return "byte";
+		case SHORT:
+			return "short";
+		case CHAR:
+			return "char";
+		case INT:
+			return "int";
+		case LONG:
+			return "long";
+		case FLOAT:
+			return "float";
+		case DOUBLE:
+			return "double";
+		case ARRAY:
+			String componentName = erasedTypeName(((ArrayType) dependencyType).getComponentType());
+			return (componentName == null) ? null : componentName + "[]";
+		case DECLARED:
+			TypeElement typeElement = (TypeElement) ((DeclaredType) dependencyType).asElement();
+			String typeName = typeElement.getQualifiedName().toString();
+			if (UNSUPPORTED_DEPENDENCY_TYPES.contains(typeName) || !isAccessibleFromPackage(typeElement)) {
+				return null;
+			}
+			return typeName;
+		default:
+			return null;
+		}
+	}
+
+	private boolean isAccessibleFromPackage(TypeElement typeElement) {
+		boolean samePackage = elements.getPackageOf(typeElement).getQualifiedName().contentEquals(packageName);
+		Element element = typeElement;
+		while (element instanceof TypeElement) {
+			Set<Modifier> modifiers = element.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || !samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+				return false;
+			}
+			element = element.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private static boolean isQualifier(TypeElement annotationType) {
+		for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+			TypeElement metaAnnotationType = (TypeElement) metaAnnotation.getAnnotationType().asElement();
+			if (QUALIFIER.contains(metaAnnotationType.getQualifiedName().toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasInjectAnnotation(Element element) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (INJECT.contains(annotationType.getQualifiedName().toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void recordInjectAnnotations(Element element) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			String annotationName = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+			if (INJECT.contains(annotationName)) {
+				injectAnnotations.add(annotationName);
+			}
+		}
+	}
+
+}
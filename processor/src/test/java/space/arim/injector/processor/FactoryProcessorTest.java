@@ -0,0 +1,205 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.processor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import space.arim.injector.Identifier;
+import space.arim.injector.generated.GeneratedFactory;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FactoryProcessorTest {
+
+	private final List<JavaFileObject> sources = new ArrayList<>();
+	private Path outputDir;
+
+	@BeforeEach
+	public void setOutputDir(@TempDir Path outputDir) {
+		this.outputDir = outputDir;
+	}
+
+	private void addSource(String className, String code) {
+		sources.add(new SimpleJavaFileObject(
+				URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return code;
+			}
+		});
+	}
+
+	private ClassLoader compile() throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		List<String> options = List.of(
+				"-classpath", System.getProperty("java.class.path"),
+				"-d", outputDir.toString(),
+				"-s", outputDir.toString(),
+				"-Werror");
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+			task.setProcessors(List.of(new FactoryProcessor()));
+			boolean success = task.call();
+			for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
+				System.err.println(diagnostic);
+			}
+			assertTrue(success, "Compilation failed");
+		}
+		return new URLClassLoader(new URL[] {outputDir.toUri().toURL()}, getClass().getClassLoader());
+	}
+
+	private boolean factoryGenerated(String className) {
+		return Files.exists(outputDir.resolve(
+				className.replace('.', '/') + GeneratedFactory.CLASS_NAME_SUFFIX + ".java"));
+	}
+
+	private GeneratedFactory<?> loadFactory(ClassLoader classLoader, String className) throws ReflectiveOperationException {
+		return (GeneratedFactory<?>) Class.forName(className + GeneratedFactory.CLASS_NAME_SUFFIX, true, classLoader)
+				.getConstructor().newInstance();
+	}
+
+	private static Object field(Object instance, String fieldName) throws ReflectiveOperationException {
+		Field field = instance.getClass().getField(fieldName);
+		return field.get(instance);
+	}
+
+	@Test
+	public void generateFactory() throws Exception {
+		addSource("sample.Engine", "package sample; public class Engine {}");
+		addSource("sample.Vehicle",
+				"package sample;\n" +
+				"public class Vehicle {\n" +
+				"  public Engine registered; public Engine replaced;\n" +
+				"  @jakarta.inject.Inject public void register(Engine engine) { registered = engine; }\n" +
+				"  @jakarta.inject.Inject public void replace(Engine engine) { throw new AssertionError(); }\n" +
+				"}");
+		addSource("sample.Car",
+				"package sample;\n" +
+				"import jakarta.inject.Inject;\n" +
+				"import jakarta.inject.Named;\n" +
+				"public class Car extends Vehicle {\n" +
+				"  public final Engine engine;\n" +
+				"  @Inject @Named(\"spare\") public Engine spare;\n" +
+				"  public int wheels;\n" +
+				"  @Inject public Car(Engine engine) { this.engine = engine; }\n" +
+				"  @Override public void replace(Engine engine) { replaced = engine; }\n" +
+				"  @Inject @javax.inject.Inject public void setWheels(int wheels) { this.wheels = wheels; }\n" +
+				"}");
+		ClassLoader classLoader = compile();
+		assertFalse(factoryGenerated("sample.Engine"));
+
+		GeneratedFactory<?> factory = loadFactory(classLoader, "sample.Car");
+		Class<?> engineClass = Class.forName("sample.Engine", true, classLoader);
+		assertEquals(Class.forName("sample.Car", true, classLoader), factory.type());
+		assertEquals(List.of(jakarta.inject.Inject.class, javax.inject.Inject.class), factory.injectAnnotations());
+		assertEquals(List.of(jakarta.inject.Named.class), factory.qualifierAnnotations());
+		assertEquals(
+				List.of(Identifier.ofType(engineClass), Identifier.ofType(engineClass),
+						Identifier.ofTypeAndNamed(engineClass, "spare"), Identifier.ofType(int.class)),
+				factory.dependencies(),
+				"Constructor first, then superclass members, then subclass fields and methods");
+
+		Object engine = engineClass.getConstructor().newInstance();
+		Object registered = engineClass.getConstructor().newInstance();
+		Object spare = engineClass.getConstructor().newInstance();
+		Object car = factory.create(new Object[] {engine, registered, spare, 4});
+		assertSame(engine, field(car, "engine"));
+		assertSame(registered, field(car, "registered"));
+		assertSame(spare, field(car, "spare"));
+		assertEquals(4, field(car, "wheels"));
+		assertEquals(null, field(car, "replaced"), "Overridden method without @Inject is not injected");
+	}
+
+	@Test
+	public void nestedType() throws Exception {
+		addSource("sample.Outer",
+				"package sample;\n" +
+				"public class Outer {\n" +
+				"  public static class Inner { @javax.inject.Inject public Inner(String value) {} }\n" +
+				"}");
+		ClassLoader classLoader = compile();
+		GeneratedFactory<?> factory = loadFactory(classLoader, "sample.Outer$Inner");
+		assertEquals(List.of(Identifier.ofType(String.class)), factory.dependencies());
+	}
+
+	@Test
+	public void leaveToReflection() throws Exception {
+		addSource("sample.PrivateField",
+				"package sample; public class PrivateField { @javax.inject.Inject private String value; }");
+		addSource("sample.StaticMethod",
+				"package sample; public class StaticMethod { @javax.inject.Inject public static void set(String value) {} }");
+		addSource("sample.NonPublicConstructor",
+				"package sample; public class NonPublicConstructor { @javax.inject.Inject NonPublicConstructor(String value) {} }");
+		addSource("sample.ProviderDependency",
+				"package sample; public class ProviderDependency { " +
+						"@javax.inject.Inject public ProviderDependency(javax.inject.Provider<String> value) {} }");
+		addSource("sample.MultiBound",
+				"package sample; public class MultiBound { " +
+						"@javax.inject.Inject public MultiBound(@space.arim.injector.MultiBinding java.util.Set<String> value) {} }");
+		addSource("sample.Abstract",
+				"package sample; public abstract class Abstract { @javax.inject.Inject public Abstract(String value) {} }");
+		compile();
+		for (String className : List.of("sample.PrivateField", "sample.StaticMethod", "sample.NonPublicConstructor",
+				"sample.ProviderDependency", "sample.MultiBound", "sample.Abstract")) {
+			assertFalse(factoryGenerated(className), className);
+		}
+	}
+
+	@Test
+	public void checkedExceptions() throws Exception {
+		addSource("sample.CheckedConstructor",
+				"package sample; public class CheckedConstructor { " +
+						"@javax.inject.Inject public CheckedConstructor(String value) throws java.io.IOException {} }");
+		addSource("sample.CheckedMethod",
+				"package sample; public class CheckedMethod { " +
+						"@javax.inject.Inject public void set(String value) throws Exception {} }");
+		addSource("sample.UncheckedMethod",
+				"package sample; public class UncheckedMethod { " +
+						"@javax.inject.Inject public void set(String value) throws IllegalStateException, AssertionError {} }");
+		ClassLoader classLoader = compile();
+		assertFalse(factoryGenerated("sample.CheckedConstructor"));
+		assertFalse(factoryGenerated("sample.CheckedMethod"));
+		assertEquals(List.of(Identifier.ofType(String.class)),
+				loadFactory(classLoader, "sample.UncheckedMethod").dependencies());
+	}
+
+}
@@ -1,6 +1,8 @@
 module space.arim.injector {
 	exports space.arim.injector;
 	exports space.arim.injector.error;
+	exports space.arim.injector.generated;
+	exports space.arim.injector.scope;
 
 	/*
 	 * As of the time of writing this, the original JSR-330 (javax.inject) has not
@@ -25,4 +27,6 @@ module space.arim.injector {
 
 	requires static jakarta.inject;
 	requires static java.inject;
+	// Flight recorder events are emitted on Java 11 and later, if available
+	requires static jdk.jfr;
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.error.MisconfiguredBindingsException;
+import space.arim.injector.internal.InjectorImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builder of child {@link Injector}s. Not thread safe. <br>
+ * <br>
+ * A child injector has its own bindings in addition to those of its parent. Identifiers
+ * not bound by the child are resolved by the parent, without copying the parent's bindings,
+ * so creating a child costs only as much as its own bindings. The child uses the settings
+ * of its parent. <br>
+ * <br>
+ * Bindings of the parent never see those of the child, and the child may not rebind an
+ * identifier bound by its parent. Types which are not bound, but are instantiated through
+ * their constructor, are shared with the parent, including singletons, unless they depend,
+ * directly or transitively, on a binding of the child. In that case the child instantiates
+ * them itself.
+ *
+ */
+public final class ChildInjectorBuilder {
+
+	private final InjectorImpl parent;
+	private final List<Object> bindModules = new ArrayList<>();
+	private final Map<Identifier<?>, Object> boundInstances = new HashMap<>();
+
+	ChildInjectorBuilder(InjectorImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Adds the specified bind modules to this child injector builder
+	 *
+	 * @param bindModules the bind modules
+	 * @return this builder
+	 */
+	public ChildInjectorBuilder addBindModules(Object... bindModules) {
+		return addBindModules(Arrays.asList(bindModules));
+	}
+
+	/**
+	 * Adds the specified bind modules to this child injector builder
+	 *
+	 * @param bindModules the bind modules
+	 * @return this builder
+	 */
+	public ChildInjectorBuilder addBindModules(Collection<?> bindModules) {
+		for (Object bindModule : bindModules) {
+			Objects.requireNonNull(bindModule, "bind module");
+			this.bindModules.add(bindModule);
+		}
+		return this;
+	}
+
+	private <U> void bindInstance0(Identifier<U> identifier, U instance) {
+		identifier.getType().cast(instance);
+		Object previousInstance = boundInstances.putIfAbsent(identifier, instance);
+		if (previousInstance != null) {
+			throw new MisconfiguredBindingsException("Binding already exists for identifier " + identifier
+					+ " (previous binding is instance " + previousInstance + ")");
+		}
+	}
+
+	/**
+	 * Binds an unqualified type to an instance
+	 *
+	 * @param <U>      the type to bind
+	 * @param clazz    the class of the type
+	 * @param instance the instance
+	 * @return this builder
+	 * @throws MisconfiguredBindingsException if the unqualified type is known to
+	 *                                        already be bound
+	 */
+	public <U> ChildInjectorBuilder bindInstance(Class<U> clazz, U instance) {
+		bindInstance0(Identifier.ofType(clazz), instance);
+		return this;
+	}
+
+	/**
+	 * Binds an identifier to an instance
+	 *
+	 * @param <U>        the type to bind
+	 * @param identifier the identifier of the type
+	 * @param instance   the instance
+	 * @return this builder
+	 * @throws MisconfiguredBindingsException if the identifier is known to already
+	 *                                        be bound
+	 */
+	public <U> ChildInjectorBuilder bindInstance(Identifier<U> identifier, U instance) {
+		bindInstance0(identifier, instance);
+		return this;
+	}
+
+	/**
+	 * Builds into a child injector. May be used repeatedly without side effects
+	 *
+	 * @return the child injector
+	 * @throws InjectorException if the modules are misconfigured or misannotated, or if
+	 * they bind an identifier already bound by the parent
+	 */
+	public Injector build() {
+		return new Injector(parent.createChild(bindModules, boundInstances));
+	}
+
+}
@@ -0,0 +1,494 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import space.arim.injector.internal.InjectorImpl;
+import space.arim.injector.internal.dependency.DependencyKind;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A snapshot of the dependency graph of an injector, for inspection or export as
+ * Graphviz DOT or JSON. <br>
+ * <br>
+ * The graph contains a node for every identifier which is bound, or which has been resolved
+ * automatically so far. Dependencies on identifiers not yet resolved appear only as edges.
+ * To resolve the whole graph beforehand, see {@link InjectorBuilder#validateAndPrepare(boolean)}.
+ *
+ * @author A248
+ *
+ */
+public final class DependencyGraph {
+
+	private final List<Node> nodes;
+
+	private DependencyGraph(List<Node> nodes) {
+		this.nodes = Collections.unmodifiableList(nodes);
+	}
+
+	static DependencyGraph scan(InjectorImpl injector, ProvisionStatistics statistics) {
+		Map<Identifier<?>, NodeBuilder> builders = new HashMap<>();
+		injector.forEachProvider((identifier, provider) -> {
+			builders.computeIfAbsent(identifier, (i) -> new NodeBuilder()).addProvider(provider);
+		});
+		List<Node> nodes = new ArrayList<>(builders.size());
+		builders.forEach((identifier, builder) -> nodes.add(builder.build(identifier, statistics)));
+		nodes.sort(Comparator.comparing((node) -> node.identifier.toString()));
+		return new DependencyGraph(nodes);
+	}
+
+	/**
+	 * Gets the nodes of this graph, sorted by identifier
+	 *
+	 * @return the nodes, immutable
+	 */
+	public List<Node> nodes() {
+		return nodes;
+	}
+
+	/**
+	 * Exports this graph in the Graphviz DOT language. Singletons are drawn as boxes, bound
+	 * instances as notes, identifiers in other scopes as hexagons labelled with the scope
+	 * annotation, and unscoped identifiers as ellipses. Dependencies through a
+	 * {@code Provider} are dashed, and optional dependencies dotted.
+	 *
+	 * @return the DOT representation
+	 */
+	public String toDot() {
+		StringBuilder builder = new StringBuilder("digraph dependencies {\n");
+		for (Node node : nodes) {
+			String id = dotString(node.identifier.toString());
+			builder.append("\t").append(id).append(" [shape=").append(node.scope.dotShape)
+					.append(", label=").append(dotString(dotLabel(node))).append("];\n");
+			for (Dependency dependency : node.dependencies) {
+				builder.append("\t").append(id).append(" -> ")
+						.append(dotString(dependency.identifier.toString()));
+				List<String> attributes = new ArrayList<>(2);
+				if (dependency.deferred) {
+					attributes.add("style=dashed");
+				} else if (dependency.optional) {
+					attributes.add("style=dotted");
+				}
+				if (dependency.multiple) {
+					attributes.add("label=\"multiple\"");
+				}
+				if (!attributes.isEmpty()) {
+					builder.append(" [").append(String.join(", ", attributes)).append("]");
+				}
+				builder.append(";\n");
+			}
+		}
+		return builder.append("}\n").toString();
+	}
+
+	private static String dotLabel(Node node) {
+		String scope = (node.scopeAnnotation == null) ? node.scope.toString() : "@" + node.scopeAnnotation.getSimpleName();
+		String label = node.identifier + "\n" + scope + ", " + node.kind;
+		if (node.provisions >= 0) {
+			label += String.format(Locale.ROOT, "\n%d provisions, %.3f ms", node.provisions, node.elapsedNanos / 1_000_000D);
+		}
+		return label;
+	}
+
+	private static String dotString(String value) {
+		return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + '"';
+	}
+
+	/**
+	 * Exports this graph as JSON. The result is an object with a {@code nodes} array, each
+	 * element of which has the {@code identifier}, {@code type}, {@code scope}, {@code kind},
+	 * and {@code dependencies} of the node, along with its {@code scopeAnnotation} if it has
+	 * a custom scope, and, if statistics were collected, its {@code provisions} and
+	 * {@code elapsedNanos}.
+	 *
+	 * @return the JSON representation
+	 */
+	public String toJson() {
+		StringBuilder builder = new StringBuilder("{\"nodes\":[");
+		for (int n = 0; n < nodes.size(); n++) {
+			Node node = nodes.get(n);
+			if (n != 0) {
+				builder.append(',');
+			}
+			builder.append("{\"identifier\":").append(jsonString(node.identifier.toString()))
+					.append(",\"type\":").append(jsonString(node.identifier.getType().getName()))
+					.append(",\"scope\":").append(jsonString(node.scope.name()));
+			if (node.scopeAnnotation != null) {
+				builder.append(",\"scopeAnnotation\":").append(jsonString(node.scopeAnnotation.getName()));
+			}
+			builder.append(",\"kind\":").append(jsonString(node.kind.name()));
+			if (node.provisions >= 0) {
+				builder.append(",\"provisions\":").append(node.provisions)
+						.append(",\"elapsedNanos\":").append(node.elapsedNanos);
+			}
+			builder.append(",\"dependencies\":[");
+			for (int m = 0; m < node.dependencies.size(); m++) {
+				Dependency dependency = node.dependencies.get(m);
+				if (m != 0) {
+					builder.append(',');
+				}
+				builder.append("{\"identifier\":").append(jsonString(dependency.identifier.toString()))
+						.append(",\"deferred\":").append(dependency.deferred)
+						.append(",\"multiple\":").append(dependency.multiple)
+						.append(",\"optional\":").append(dependency.optional)
+						.append('}');
+			}
+			builder.append("]}");
+		}
+		return builder.append("]}").toString();
+	}
+
+	private static String jsonString(String value) {
+		StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+		for (int n = 0; n < value.length(); n++) {
+			char c = value.charAt(n);
+			switch (c) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			default:
+				if (c < 0x20) {
+					builder.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+				} else {
+					builder.append(c);
+				}
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	@Override
+	public String toString() {
+		return "DependencyGraph [nodes=" + nodes + "]";
+	}
+
+	/**
+	 * How long the instance provided for a node lives
+	 *
+	 */
+	public enum Scope {
+
+		/**
+		 * The same instance is provided once instantiated
+		 *
+		 */
+		SINGLETON("box"),
+		/**
+		 * An instance bound to the injector builder is provided
+		 *
+		 */
+		FIXED("note"),
+		/**
+		 * Instances are provided through a scope other than singleton, such as a thread,
+		 * unit of work, soft singleton, or refreshing scope. See {@link Node#scopeAnnotation()}
+		 *
+		 */
+		CUSTOM("hexagon"),
+		/**
+		 * A new instance may be provided each time
+		 *
+		 */
+		UNSCOPED("ellipse");
+
+		final String dotShape;
+
+		private Scope(String dotShape) {
+			this.dotShape = dotShape;
+		}
+	}
+
+	/**
+	 * An identifier in the dependency graph
+	 *
+	 */
+	public static final class Node {
+
+		final Identifier<?> identifier;
+		final Scope scope;
+		final Class<? extends Annotation> scopeAnnotation;
+		final ProvisionKind kind;
+		final List<Dependency> dependencies;
+		final long provisions;
+		final long elapsedNanos;
+
+		Node(Identifier<?> identifier, Scope scope, Class<? extends Annotation> scopeAnnotation, ProvisionKind kind,
+			 List<Dependency> dependencies, long provisions, long elapsedNanos) {
+			this.identifier = identifier;
+			this.scope = scope;
+			this.scopeAnnotation = scopeAnnotation;
+			this.kind = kind;
+			this.dependencies = Collections.unmodifiableList(dependencies);
+			this.provisions = provisions;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * Gets the identifier of this node
+		 *
+		 * @return the identifier
+		 */
+		public Identifier<?> identifier() {
+			return identifier;
+		}
+
+		/**
+		 * Gets the scope of this node. For multiple bindings, the scope is the same as that of
+		 * each binding, or unscoped if the bindings differ
+		 *
+		 * @return the scope
+		 */
+		public Scope scope() {
+			return scope;
+		}
+
+		/**
+		 * Gets the annotation of the custom scope of this node, such as {@code ThreadScoped}
+		 *
+		 * @return the scope annotation if the scope is {@link Scope#CUSTOM}, otherwise null
+		 */
+		public Class<? extends Annotation> scopeAnnotation() {
+			return scopeAnnotation;
+		}
+
+		/**
+		 * Gets how this node is provided. Singletons are described by how they are
+		 * instantiated, and are never {@link ProvisionKind#SINGLETON_HIT}
+		 *
+		 * @return the provision kind
+		 */
+		public ProvisionKind kind() {
+			return kind;
+		}
+
+		/**
+		 * Gets the dependencies of this node
+		 *
+		 * @return the dependencies, immutable
+		 */
+		public List<Dependency> dependencies() {
+			return dependencies;
+		}
+
+		/**
+		 * Gets how many times this node was provided
+		 *
+		 * @return the number of provisions, or -1 if statistics were not collected
+		 */
+		public long provisions() {
+			return provisions;
+		}
+
+		/**
+		 * Gets the cumulative time spent providing this node, including its dependencies
+		 *
+		 * @return the elapsed time in nanoseconds, or -1 if statistics were not collected
+		 */
+		public long elapsedNanos() {
+			return elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "Node [identifier=" + identifier + ", scope=" + scope + ", scopeAnnotation=" + scopeAnnotation
+					+ ", kind=" + kind
+					+ ", dependencies=" + dependencies + ", provisions=" + provisions
+					+ ", elapsedNanos=" + elapsedNanos + "]";
+		}
+	}
+
+	/**
+	 * An edge of the dependency graph
+	 *
+	 */
+	public static final class Dependency {
+
+		final Identifier<?> identifier;
+		final boolean deferred;
+		final boolean multiple;
+		final boolean optional;
+
+		Dependency(Identifier<?> identifier, DependencyKind kind) {
+			this.identifier = identifier;
+			this.deferred = kind.deferred();
+			this.multiple = kind.multiple();
+			this.optional = kind.optional();
+		}
+
+		/**
+		 * Gets the identifier depended upon
+		 *
+		 * @return the identifier
+		 */
+		public Identifier<?> identifier() {
+			return identifier;
+		}
+
+		/**
+		 * Whether the dependency is through a {@code Provider}
+		 *
+		 * @return true if deferred
+		 */
+		public boolean deferred() {
+			return deferred;
+		}
+
+		/**
+		 * Whether the dependency is on multiple bindings
+		 *
+		 * @return true if multiple
+		 */
+		public boolean multiple() {
+			return multiple;
+		}
+
+		/**
+		 * Whether the dependency is optional
+		 *
+		 * @return true if optional
+		 */
+		public boolean optional() {
+			return optional;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			}
+			if (!(object instanceof Dependency)) {
+				return false;
+			}
+			Dependency other = (Dependency) object;
+			return identifier.equals(other.identifier) && deferred == other.deferred
+					&& multiple == other.multiple && optional == other.optional;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(identifier, deferred, multiple, optional);
+		}
+
+		@Override
+		public String toString() {
+			return "Dependency [identifier=" + identifier + ", deferred=" + deferred
+					+ ", multiple=" + multiple + ", optional=" + optional + "]";
+		}
+	}
+
+	private static final class NodeBuilder implements DependencyVisitor {
+
+		private int providerCount;
+		private Scope scope;
+		private Class<? extends Annotation> scopeAnnotation;
+		private ProvisionKind kind;
+		private final Set<Dependency> dependencies = new LinkedHashSet<>();
+
+		void addProvider(ContextualProvider<?> provider) {
+			ProvisionKind kind = describedKind(provider);
+			Class<? extends Annotation> scopeAnnotation = provider.scopeAnnotation();
+			Scope scope;
+			if (kind == ProvisionKind.BOUND_INSTANCE) {
+				scope = Scope.FIXED;
+				scopeAnnotation = null;
+			} else if (scopeAnnotation != null) {
+				scope = Scope.CUSTOM;
+			} else if (provider.providesSameInstance()) {
+				scope = Scope.SINGLETON;
+			} else {
+				scope = Scope.UNSCOPED;
+			}
+			if (providerCount++ == 0) {
+				this.kind = kind;
+				this.scope = scope;
+				this.scopeAnnotation = scopeAnnotation;
+			} else {
+				this.kind = ProvisionKind.MULTIPLE;
+				if (this.scope != scope || this.scopeAnnotation != scopeAnnotation) {
+					this.scope = Scope.UNSCOPED;
+					this.scopeAnnotation = null;
+				}
+			}
+			provider.visitDependencies(this);
+		}
+
+		@Override
+		public void visitDependency(InstantiableDependency dependency) {
+			dependencies.add(new Dependency(dependency.identifier(), dependency.kind()));
+		}
+
+		@Override
+		public void visitProvider(ContextualProvider<?> provider) {
+			// Decorators and their delegates make up the same node
+			provider.visitDependencies(this);
+		}
+
+		Node build(Identifier<?> identifier, ProvisionStatistics statistics) {
+			long provisions = -1L;
+			long elapsedNanos = -1L;
+			if (statistics != null) {
+				provisions = statistics.provisions(identifier);
+				elapsedNanos = statistics.elapsedNanos(identifier);
+			}
+			return new Node(identifier, scope, scopeAnnotation, kind, new ArrayList<>(dependencies), provisions, elapsedNanos);
+		}
+
+		/*
+		 * A singleton which has been instantiated reports a hit, so use how it was instantiated
+		 */
+		private static ProvisionKind describedKind(ContextualProvider<?> provider) {
+			ProvisionKind kind = provider.provisionKind();
+			if (kind != ProvisionKind.SINGLETON_HIT) {
+				return kind;
+			}
+			ProvisionKind[] delegateKind = {ProvisionKind.OTHER};
+			provider.visitDependencies(new DependencyVisitor() {
+
+				@Override
+				public void visitDependency(InstantiableDependency dependency) {}
+
+				@Override
+				public void visitProvider(ContextualProvider<?> delegate) {
+					delegateKind[0] = describedKind(delegate);
+				}
+			});
+			return delegateKind[0];
+		}
+	}
+
+}
@@ -56,6 +56,25 @@ public final class Identifier<T> {
 		return qualifier != null;
 	}
 
+	/**
+	 * Gets the qualifier annotation of this identifier, if it was created with
+	 * {@link #ofTypeAndQualifier(Class, Class)}
+	 *
+	 * @return the qualifier annotation, or null if there is no such qualifier
+	 */
+	public Class<? extends Annotation> getQualifierAnnotation() {
+		return (qualifier instanceof UserQualifier) ? ((UserQualifier) qualifier).annotation : null;
+	}
+
+	/**
+	 * Gets the name of this identifier, if it was created with {@link #ofTypeAndNamed(Class, String)}
+	 *
+	 * @return the name, or null if there is no such qualifier
+	 */
+	public String getQualifierName() {
+		return (qualifier instanceof NamedQualifier) ? ((NamedQualifier) qualifier).name : null;
+	}
+
 	/**
 	 * Creates an identifier from a simple type
 	 * 
@@ -19,8 +19,12 @@
 
 package space.arim.injector;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -30,7 +34,10 @@ import space.arim.injector.internal.InjectorConfiguration;
 import space.arim.injector.internal.InjectorImpl;
 import space.arim.injector.internal.provider.SimpleProviderMap;
 import space.arim.injector.internal.spec.SpecDetector;
-import space.arim.injector.internal.spec.SpecSupport;
+import space.arim.injector.scope.Scope;
+import space.arim.injector.scope.UnitOfWork;
+import space.arim.injector.scope.UnitOfWorkScope;
+import space.arim.injector.scope.UnitOfWorkScoped;
 
 /**
  * Entry point for creating instances of an object through dependency injection.
@@ -53,6 +60,10 @@ public final class Injector {
 		this.impl = impl;
 	}
 
+	InjectorImpl impl() {
+		return impl;
+	}
+
 	/**
 	 * Requests an instance of an unqualified type
 	 * 
@@ -127,6 +138,80 @@ public final class Injector {
 		return impl.requestInstanceOptionally(identifier);
 	}
 
+	/**
+	 * Creates a child injector from the given binding modules. See {@link ChildInjectorBuilder}
+	 * for how child injectors behave.
+	 *
+	 * @param bindModules the object modules to configure the bindings of the child
+	 * @return the child injector
+	 * @throws InjectorException if the modules are misconfigured or misannotated, or if
+	 * they bind an identifier already bound by this injector
+	 */
+	public Injector createChild(Object... bindModules) {
+		return childBuilder().addBindModules(bindModules).build();
+	}
+
+	/**
+	 * Begins creating a child injector, which may also bind instances
+	 *
+	 * @return a builder of child injectors
+	 */
+	public ChildInjectorBuilder childBuilder() {
+		return new ChildInjectorBuilder(impl);
+	}
+
+	/**
+	 * Opens a unit of work on the current thread. Until it is closed, bindings annotated with
+	 * {@link UnitOfWorkScoped} provide one instance per unit of work, shared by all dependents
+	 * within it. Units of work may be nested, in which case the innermost is used.
+	 *
+	 * @return the unit of work, to be closed by the current thread
+	 * @throws IllegalStateException if {@code UnitOfWorkScoped} was registered with another scope
+	 */
+	public UnitOfWork openScope() {
+		Scope scope = impl.scopes().scopes().get(UnitOfWorkScoped.class);
+		if (!(scope instanceof UnitOfWorkScope)) {
+			throw new IllegalStateException("UnitOfWorkScoped is bound to another scope: " + scope);
+		}
+		return ((UnitOfWorkScope) scope).open();
+	}
+
+	/**
+	 * Takes a snapshot of the dependency graph of this injector, for inspection or export
+	 *
+	 * @return the dependency graph
+	 */
+	public DependencyGraph dependencyGraph() {
+		return DependencyGraph.scan(impl, null);
+	}
+
+	/**
+	 * Takes a snapshot of the dependency graph of this injector, including the provisioning
+	 * cost of each identifier. The statistics should be the provision listener of this injector.
+	 *
+	 * @param statistics the provision statistics collected from this injector
+	 * @return the dependency graph
+	 */
+	public DependencyGraph dependencyGraph(ProvisionStatistics statistics) {
+		return DependencyGraph.scan(impl, Objects.requireNonNull(statistics, "statistics"));
+	}
+
+	/**
+	 * Writes a snapshot of the concrete types this injector has scanned: their injectable
+	 * constructors, injection points, and dependencies. The snapshot may be loaded with
+	 * {@link InjectorBuilder#snapshot(Path)}, so that another injector need not scan the
+	 * same types again. <br>
+	 * <br>
+	 * Only types resolved so far are included. To include all types reachable from the bindings,
+	 * build this injector with {@link InjectorBuilder#validateAndPrepare(boolean)}.
+	 *
+	 * @param output the output to write to, which is not closed
+	 * @throws IOException if writing failed
+	 */
+	public void writeSnapshot(OutputStream output) throws IOException {
+		impl.writeSnapshot(output);
+	}
+
 	/**
 	 * Creates an injector from the given binding modules
 	 * 
@@ -146,11 +231,11 @@ public final class Injector {
 	 * @throws InjectorException if the modules are misconfigured or misannotated
 	 */
 	public static Injector newInjector(Collection<Object> bindModules) {
-		SpecSupport specification = SpecDetector.detectedSpec();
+		InjectionSettings settings = new InjectionSettings(SpecDetector.detectedSpec());
 		return new Injector(
 				new InjectorImpl(
-						new InjectionSettings(specification),
-						new InjectorConfiguration(specification, bindModules, new SimpleProviderMap()).configure()
+						settings,
+						new InjectorConfiguration(settings, bindModules, new SimpleProviderMap()).configure()
 				));
 	}
 
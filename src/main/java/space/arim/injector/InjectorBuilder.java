@@ -21,21 +21,39 @@ package space.arim.injector;
 
 import space.arim.injector.error.InjectorException;
 import space.arim.injector.error.MisconfiguredBindingsException;
+import space.arim.injector.internal.EagerSingletons;
 import space.arim.injector.internal.InjectionSettings;
 import space.arim.injector.internal.InjectorConfiguration;
 import space.arim.injector.internal.InjectorImpl;
+import space.arim.injector.internal.InjectorPreparation;
+import space.arim.injector.internal.ScopeBindings;
 import space.arim.injector.internal.provider.MultiBindingProviderMap;
 import space.arim.injector.internal.provider.ProviderMap;
 import space.arim.injector.internal.provider.SimpleProviderMap;
-import space.arim.injector.internal.spec.SpecSupport;
+import space.arim.injector.internal.reflect.MetadataSnapshot;
+import space.arim.injector.scope.Scope;
+import space.arim.injector.scope.ThreadScoped;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Builder of {@link Injector}s. Not thread safe.
@@ -46,13 +64,26 @@ import java.util.Set;
 public final class InjectorBuilder {
 
 	private SpecificationSupport specification = SpecificationSupport.AUTO_DETECT;
-	private final Set<Object> bindModules = new HashSet<>();
+	private InvocationEngine invocationEngine = InvocationEngine.REFLECTION;
+	// Ordered, so that configuration and its errors are reproducible
+	private final Set<Object> bindModules = new LinkedHashSet<>();
 	private final Map<Identifier<?>, Identifier<?>> boundImplementors = new HashMap<>();
 	private final Map<Identifier<?>, Object> boundInstances = new HashMap<>();
 	private boolean privateInjection;
 	private boolean staticInjection;
 	private boolean multiBindings;
 	private boolean optionalBindings;
+	private boolean generatedFactories;
+	private boolean cacheFailedBindings = true;
+	private boolean validateAndPrepare;
+	private final Set<Identifier<?>> validationRoots = new LinkedHashSet<>();
+	private boolean eagerSingletons;
+	private Consumer<? super Duration> eagerSingletonsCallback;
+	private ProvisionListener provisionListener;
+	private final Map<Class<? extends Annotation>, Scope> scopes = ScopeBindings.defaultScopes();
+	private Executor refreshExecutor = ForkJoinPool.commonPool();
+	private Path snapshot;
+	private ClassLoader snapshotClassLoader;
 
 	/**
 	 * Sets the specification to support ({@code javax.inject} or
@@ -66,6 +97,18 @@ public final class InjectorBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the means by which constructors, methods, and fields are invoked. By default,
+	 * core reflection is used.
+	 *
+	 * @param invocationEngine the invocation engine
+	 * @return this builder
+	 */
+	public InjectorBuilder invocationEngine(InvocationEngine invocationEngine) {
+		this.invocationEngine = Objects.requireNonNull(invocationEngine, "invocationEngine");
+		return this;
+	}
+
 	/**
 	 * Sets whether to enable <i>deep reflection</i> to inject into
 	 * non{@literal -}public members. Disabled by default.
@@ -125,6 +168,193 @@ public final class InjectorBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets whether to use factories generated at compile time by the SolidInjector annotation
+	 * processor. Disabled by default. <br>
+	 * <br>
+	 * When enabled, the injector looks for a generated factory before scanning a concrete type
+	 * reflectively. A factory is used only if it relies on the same annotations the injector
+	 * recognises; otherwise, the injector falls back to reflection. In a modular application,
+	 * the package of the injected type must be open or exported to this library.
+	 *
+	 * @param generatedFactories whether to use generated factories
+	 * @return this builder
+	 * @see space.arim.injector.generated.GeneratedFactory
+	 */
+	public InjectorBuilder generatedFactories(boolean generatedFactories) {
+		this.generatedFactories = generatedFactories;
+		return this;
+	}
+
+	/**
+	 * Sets whether to remember concrete types which could not be bound automatically,
+	 * for example because they lack an injectable constructor. Enabled by default. <br>
+	 * <br>
+	 * When enabled, requesting such a type again fails immediately without scanning it.
+	 * It may be useful to disable during development, where classes are redefined.
+	 *
+	 * @param cacheFailedBindings whether to cache failed automatic bindings
+	 * @return this builder
+	 */
+	public InjectorBuilder cacheFailedBindings(boolean cacheFailedBindings) {
+		this.cacheFailedBindings = cacheFailedBindings;
+		return this;
+	}
+
+	/**
+	 * Sets whether to validate the dependency graph when the injector is built. Disabled
+	 * by default. <br>
+	 * <br>
+	 * When enabled, the dependencies of every binding, and of the types added with
+	 * {@link #addValidationRoots(Class[])}, are resolved transitively before {@link #build()}
+	 * returns. Missing bindings and misannotated types are then reported together, rather than
+	 * at the first request which needs them. The resolved providers are kept and linked to the
+	 * dependencies which use them, so that requests need neither scan these types nor look up
+	 * their providers. Nothing is instantiated, except for eager singletons if enabled.
+	 *
+	 * @param validateAndPrepare whether to validate and prepare the dependency graph
+	 * @return this builder
+	 */
+	public InjectorBuilder validateAndPrepare(boolean validateAndPrepare) {
+		this.validateAndPrepare = validateAndPrepare;
+		return this;
+	}
+
+	/**
+	 * Adds types to validate, along with their dependencies, if {@link #validateAndPrepare(boolean)}
+	 * is enabled. Typically these are the types requested from the injector.
+	 *
+	 * @param roots the unqualified types
+	 * @return this builder
+	 */
+	public InjectorBuilder addValidationRoots(Class<?>... roots) {
+		for (Class<?> root : roots) {
+			validationRoots.add(Identifier.ofType(root));
+		}
+		return this;
+	}
+
+	/**
+	 * Adds identifiers to validate, along with their dependencies, if {@link #validateAndPrepare(boolean)}
+	 * is enabled. Typically these are the identifiers requested from the injector.
+	 *
+	 * @param roots the identifiers
+	 * @return this builder
+	 */
+	public InjectorBuilder addValidationRoots(Identifier<?>... roots) {
+		for (Identifier<?> root : roots) {
+			validationRoots.add(Objects.requireNonNull(root, "root"));
+		}
+		return this;
+	}
+
+	/**
+	 * Sets whether to instantiate singletons when the injector is built, rather than
+	 * when first requested. Disabled by default. <br>
+	 * <br>
+	 * All singletons reachable from the bindings are instantiated before {@link #build()}
+	 * returns, in parallel on the common fork{@literal -}join pool. A singleton is instantiated
+	 * only after the singletons it depends upon, except where it depends upon them through a
+	 * {@code Provider}. Singleton concrete types which no binding depends upon are not
+	 * known to the injector until requested, and so remain lazy.
+	 *
+	 * @param eagerSingletons whether to instantiate singletons eagerly
+	 * @return this builder
+	 */
+	public InjectorBuilder eagerSingletons(boolean eagerSingletons) {
+		this.eagerSingletons = eagerSingletons;
+		return this;
+	}
+
+	/**
+	 * Sets a callback informed of how long it took to instantiate singletons eagerly. Only
+	 * used if {@link #eagerSingletons(boolean)} is enabled. None by default.
+	 *
+	 * @param eagerSingletonsCallback the callback, which receives the duration of eager instantiation
+	 * @return this builder
+	 */
+	public InjectorBuilder eagerSingletonsCallback(Consumer<? super Duration> eagerSingletonsCallback) {
+		this.eagerSingletonsCallback = Objects.requireNonNull(eagerSingletonsCallback, "eagerSingletonsCallback");
+		return this;
+	}
+
+	/**
+	 * Sets a listener informed of each provision, with the time it took. None by default. <br>
+	 * <br>
+	 * Without a listener, provisions are not timed. The listener is shared by child injectors.
+	 *
+	 * @param provisionListener the provision listener
+	 * @return this builder
+	 */
+	public InjectorBuilder provisionListener(ProvisionListener provisionListener) {
+		this.provisionListener = Objects.requireNonNull(provisionListener, "provisionListener");
+		return this;
+	}
+
+	/**
+	 * Registers a scope for a scope annotation. Concrete types and bind methods annotated
+	 * with the scope annotation are then provided through the scope. <br>
+	 * <br>
+	 * {@link ThreadScoped} is registered by default, with {@link space.arim.injector.scope.ThreadScope},
+	 * as is {@link space.arim.injector.scope.UnitOfWorkScoped}, with {@link space.arim.injector.scope.UnitOfWorkScope}.
+	 * Registering another scope for the same annotation replaces it.
+	 *
+	 * @param scopeAnnotation the scope annotation, which must be retained at runtime
+	 * @param scope the scope
+	 * @return this builder
+	 */
+	public InjectorBuilder bindScope(Class<? extends Annotation> scopeAnnotation, Scope scope) {
+		Retention retention = scopeAnnotation.getAnnotation(Retention.class);
+		if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+			throw new IllegalArgumentException("Scope annotation " + scopeAnnotation.getName() + " is not retained at runtime");
+		}
+		scopes.put(scopeAnnotation, Objects.requireNonNull(scope, "scope"));
+		return this;
+	}
+
+	/**
+	 * Sets the executor on which instances of {@link space.arim.injector.scope.Refreshing}
+	 * bindings are replaced once expired. By default, the common fork join pool is used. If
+	 * replacing an instance blocks, such as on I/O, a dedicated executor is preferable.
+	 *
+	 * @param refreshExecutor the refresh executor
+	 * @return this builder
+	 */
+	public InjectorBuilder refreshExecutor(Executor refreshExecutor) {
+		this.refreshExecutor = Objects.requireNonNull(refreshExecutor, "refreshExecutor");
+		return this;
+	}
+
+	/**
+	 * Sets a snapshot written by {@link Injector#writeSnapshot(OutputStream)}, from which to
+	 * restore the scanned metadata of concrete types. None by default. The types are loaded
+	 * using the context class loader of the building thread. <br>
+	 * <br>
+	 * Types in the snapshot are not scanned again, provided their class files, and those of
+	 * their superclasses, are unchanged. Changed types are scanned as usual, as are all types
+	 * if the snapshot is missing, unreadable, or was written with different settings.
+	 *
+	 * @param snapshot the snapshot file
+	 * @return this builder
+	 */
+	public InjectorBuilder snapshot(Path snapshot) {
+		return snapshot(snapshot, null);
+	}
+
+	/**
+	 * Sets a snapshot written by {@link Injector#writeSnapshot(OutputStream)}, from which to
+	 * restore the scanned metadata of concrete types. See {@link #snapshot(Path)}
+	 *
+	 * @param snapshot the snapshot file
+	 * @param classLoader the class loader with which to load types, or null for the context class loader
+	 * @return this builder
+	 */
+	public InjectorBuilder snapshot(Path snapshot, ClassLoader classLoader) {
+		this.snapshot = Objects.requireNonNull(snapshot, "snapshot");
+		snapshotClassLoader = classLoader;
+		return this;
+	}
+
 	/**
 	 * Adds the specified bind modules to this injector builder
 	 * 
@@ -149,6 +379,10 @@ public final class InjectorBuilder {
 		return this;
 	}
 
+	Set<Object> bindModules() {
+		return bindModules;
+	}
+
 	private void checkUnbound(Identifier<?> identifier) {
 		Identifier<?> previousImpl = boundImplementors.get(identifier);
 		if (previousImpl != null) {
@@ -258,18 +492,80 @@ public final class InjectorBuilder {
 	 * Builds into an injector. May be used repeatedly without side effects
 	 * 
 	 * @return the injector
-	 * @throws InjectorException if the modules are misconfigured or misannotated
+	 * @throws InjectorException if the modules are misconfigured or misannotated, if the
+	 * dependency graph is validated and is invalid, or if singletons are instantiated eagerly
+	 * and one could not be instantiated
 	 */
 	public Injector build() {
 		ProviderMap providerMap = (multiBindings) ? new MultiBindingProviderMap() : new SimpleProviderMap();
-		SpecSupport specification = this.specification.toInternal();
-		return new Injector(
-				new InjectorImpl(
-						new InjectionSettings(specification, privateInjection, staticInjection, optionalBindings),
-						new InjectorConfiguration(specification, bindModules, providerMap).configure(
-								boundImplementors, boundInstances
-						)
-				));
+		InjectionSettings settings = new InjectionSettings(
+				specification.toInternal(), privateInjection, staticInjection, optionalBindings,
+				generatedFactories, cacheFailedBindings, invocationEngine.toInternal(), new ScopeBindings(scopes, refreshExecutor));
+		if (snapshot != null) {
+			loadSnapshot(settings);
+		}
+		InjectorImpl impl = new InjectorImpl(
+				settings,
+				new InjectorConfiguration(settings, bindModules, providerMap).configure(
+						boundImplementors, boundInstances
+				),
+				provisionListener);
+		if (validateAndPrepare) {
+			new InjectorPreparation(impl).prepare(validationRoots);
+		}
+		if (eagerSingletons) {
+			Duration duration = new EagerSingletons(impl).instantiate();
+			if (eagerSingletonsCallback != null) {
+				eagerSingletonsCallback.accept(duration);
+			}
+		}
+		return new Injector(impl);
+	}
+
+	/**
+	 * Copies this builder, so that the copy may be configured further without affecting this one
+	 *
+	 * @return the copy
+	 */
+	InjectorBuilder copy() {
+		InjectorBuilder copy = new InjectorBuilder();
+		copy.specification = specification;
+		copy.invocationEngine = invocationEngine;
+		copy.bindModules.addAll(bindModules);
+		copy.boundImplementors.putAll(boundImplementors);
+		copy.boundInstances.putAll(boundInstances);
+		copy.privateInjection = privateInjection;
+		copy.staticInjection = staticInjection;
+		copy.multiBindings = multiBindings;
+		copy.optionalBindings = optionalBindings;
+		copy.generatedFactories = generatedFactories;
+		copy.cacheFailedBindings = cacheFailedBindings;
+		copy.validateAndPrepare = validateAndPrepare;
+		copy.validationRoots.addAll(validationRoots);
+		copy.eagerSingletons = eagerSingletons;
+		copy.eagerSingletonsCallback = eagerSingletonsCallback;
+		copy.provisionListener = provisionListener;
+		copy.scopes.clear();
+		copy.scopes.putAll(scopes);
+		copy.refreshExecutor = refreshExecutor;
+		copy.snapshot = snapshot;
+		copy.snapshotClassLoader = snapshotClassLoader;
+		return copy;
+	}
+
+	private void loadSnapshot(InjectionSettings settings) {
+		ClassLoader classLoader = snapshotClassLoader;
+		if (classLoader == null) {
+			classLoader = Thread.currentThread().getContextClassLoader();
+		}
+		if (classLoader == null) {
+			classLoader = InjectorBuilder.class.getClassLoader();
+		}
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(snapshot))) {
+			new MetadataSnapshot(settings).read(classLoader, input);
+		} catch (IOException ex) {
+			// Types are scanned instead
+		}
 	}
 
 }
@@ -0,0 +1,83 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import space.arim.injector.internal.invoke.MemberInvokers;
+import space.arim.injector.internal.invoke.MethodHandleInvokers;
+import space.arim.injector.internal.invoke.ReflectionInvokers;
+
+import java.util.function.Supplier;
+
+/**
+ * Determines how the injector calls constructors and methods, and sets fields
+ *
+ * @author A248
+ *
+ */
+public enum InvocationEngine {
+
+	/**
+	 * Uses core reflection, i.e. {@code Constructor.newInstance}, {@code Method.invoke},
+	 * and {@code Field.set}. This is the default.
+	 *
+	 */
+	REFLECTION(() -> new ReflectionInvokers()),
+	/**
+	 * Converts each member to a {@code MethodHandle} when its provider is created,
+	 * after which it is invoked without the argument checks of core reflection. <br>
+	 * <br>
+	 * Creating the method handles makes the first request for a type slightly slower,
+	 * whereas each subsequent provision becomes faster. Members which cannot be
+	 * converted, such as those in modules not open to this library, fall back
+	 * to core reflection.
+	 *
+	 */
+	METHOD_HANDLES(() -> new MethodHandleInvokers(false)),
+	/**
+	 * Like {@link #METHOD_HANDLES}, but additionally fuses the construction and field and
+	 * method injection of each concrete type into a single method handle. <br>
+	 * <br>
+	 * The provision of such a type then consists of resolving its dependencies into one
+	 * argument array and making one call, which the JIT compiler can optimize much like
+	 * hand-written factory code. All dependencies of a type, including those of its
+	 * injected fields and methods, are resolved before its constructor is called. <br>
+	 * <br>
+	 * Types with static injections are not fused, nor are types with members which cannot
+	 * be converted to method handles.
+	 *
+	 */
+	FUSED_METHOD_HANDLES(() -> new MethodHandleInvokers(true));
+
+	/**
+	 * Supplier of corresponding internal implementation. <br>
+	 * <br>
+	 * Note that method references are not used so as to avoid classloading.
+	 */
+	private final Supplier<MemberInvokers> toInternal;
+
+	private InvocationEngine(Supplier<MemberInvokers> toInternal) {
+		this.toInternal = toInternal;
+	}
+
+	MemberInvokers toInternal() {
+		return toInternal.get();
+	}
+
+}
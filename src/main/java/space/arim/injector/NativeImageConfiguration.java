@@ -0,0 +1,153 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import space.arim.injector.error.InjectorException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the reflection configuration needed to use an injector in a GraalVM native
+ * image. <br>
+ * <br>
+ * The injector is built with its dependency graph validated from the given roots, so that
+ * every concrete type reachable from the bindings and roots is scanned. The constructors,
+ * methods, and fields involved in scanning and injection, along with the bind methods of
+ * the bind modules, are then written as {@code reflect-config.json}. Place this file in
+ * {@code META-INF/native-image/<group>/<artifact>/} to have it picked up by native image. <br>
+ * <br>
+ * Generation may be run from a test, or with {@link #main(String[])}.
+ *
+ */
+public final class NativeImageConfiguration {
+
+	private final String reflectConfig;
+
+	private NativeImageConfiguration(String reflectConfig) {
+		this.reflectConfig = reflectConfig;
+	}
+
+	/**
+	 * Generates configuration for the injectors built by the given builder. A copy of the
+	 * builder is configured to validate and prepare the dependency graph, with the given roots,
+	 * so that the given builder is left unchanged.
+	 *
+	 * @param builder the injector builder, as configured for use in the native image
+	 * @param roots the types requested from the injector
+	 * @return the generated configuration
+	 * @throws InjectorException if the dependency graph is invalid
+	 */
+	public static NativeImageConfiguration generate(InjectorBuilder builder, Class<?>... roots) {
+		Injector injector = builder.copy().validateAndPrepare(true).addValidationRoots(roots).build();
+		return new NativeImageConfiguration(
+				injector.impl().reflectionConfiguration(builder.bindModules()).toJson());
+	}
+
+	/**
+	 * Gets the contents of {@code reflect-config.json}
+	 *
+	 * @return the reflection configuration as JSON
+	 */
+	public String reflectConfig() {
+		return reflectConfig;
+	}
+
+	/**
+	 * Writes {@code reflect-config.json} into the given directory, creating it if necessary
+	 *
+	 * @param directory the output directory
+	 * @return the written file
+	 * @throws IOException if writing failed
+	 */
+	public Path writeTo(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve("reflect-config.json");
+		Files.write(file, reflectConfig.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	/**
+	 * Generates configuration from the command line. Arguments: <br>
+	 * {@code --bind-module <class>} adds a bind module, instantiated with its no{@literal -}args constructor <br>
+	 * {@code --root <class>} adds a root type <br>
+	 * {@code --private-injection}, {@code --static-injection}, {@code --multi-bindings},
+	 * {@code --optional-bindings} enable the respective features of {@link InjectorBuilder} <br>
+	 * {@code --output <directory>} sets the output directory, the current directory by default
+	 *
+	 * @param args the arguments
+	 * @throws IOException if writing failed
+	 * @throws ReflectiveOperationException if a class could not be loaded or a bind module instantiated
+	 */
+	public static void main(String[] args) throws IOException, ReflectiveOperationException {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		InjectorBuilder builder = new InjectorBuilder();
+		List<Class<?>> roots = new ArrayList<>();
+		Path output = Paths.get("");
+		for (int n = 0; n < args.length; n++) {
+			switch (args[n]) {
+			case "--bind-module":
+				builder.addBindModules(
+						Class.forName(argument(args, ++n), true, classLoader).getDeclaredConstructor().newInstance());
+				break;
+			case "--root":
+				roots.add(Class.forName(argument(args, ++n), false, classLoader));
+				break;
+			case "--private-injection":
+				builder.privateInjection(true);
+				break;
+			case "--static-injection":
+				builder.staticInjection(true);
+				break;
+			case "--multi-bindings":
+				builder.multiBindings(true);
+				break;
+			case "--optional-bindings":
+				builder.optionalBindings(true);
+				break;
+			case "--output":
+				output = Paths.get(argument(args, ++n));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown argument " + args[n]);
+			}
+		}
+		Path file = generate(builder, roots.toArray(new Class<?>[0])).writeTo(output);
+		System.out.println("Wrote " + file.toAbsolutePath());
+	}
+
+	private static String argument(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+		}
+		return args[index];
+	}
+
+	@Override
+	public String toString() {
+		return "NativeImageConfiguration [reflectConfig=" + reflectConfig + "]";
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+/**
+ * How an instance was provided, as reported to a {@link ProvisionListener}
+ *
+ * @author A248
+ *
+ */
+public enum ProvisionKind {
+
+	/**
+	 * A concrete type was instantiated through its constructor, and its members injected.
+	 * This includes the first provision of a singleton concrete type.
+	 *
+	 */
+	CONSTRUCTOR,
+	/**
+	 * A binding method was called. This includes the first provision of a singleton binding method.
+	 *
+	 */
+	BIND_METHOD,
+	/**
+	 * The existing instance of a singleton was returned
+	 *
+	 */
+	SINGLETON_HIT,
+	/**
+	 * An instance bound to the injector builder was returned
+	 *
+	 */
+	BOUND_INSTANCE,
+	/**
+	 * A set of instances was provided from multiple bindings
+	 *
+	 */
+	MULTIPLE,
+	/**
+	 * Any other kind of provision, such as the delegation of one identifier to another.
+	 * The identifier delegated to is reported separately.
+	 *
+	 */
+	OTHER
+
+}
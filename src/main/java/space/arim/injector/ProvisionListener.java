@@ -0,0 +1,50 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+/**
+ * Informed of each provision by an injector, for example to find which bindings
+ * are slow. <br>
+ * <br>
+ * The listener is called on the thread which requested the instance, after each
+ * successful provision. This includes provision of the dependencies of a requested
+ * instance, each of which is reported separately before the instance which required it.
+ * The elapsed time of a provision therefore includes that of its dependencies.
+ * Provisions through an injected {@code Provider} are reported likewise. <br>
+ * <br>
+ * Implementations must be thread safe, and should be quick, since they are called
+ * during every provision.
+ *
+ * @author A248
+ *
+ */
+@FunctionalInterface
+public interface ProvisionListener {
+
+	/**
+	 * Called after an instance has been provided
+	 *
+	 * @param identifier the identifier of the instance, or of the elements for multiple bindings
+	 * @param kind how the instance was provided
+	 * @param elapsedNanos the time taken in nanoseconds, including the provision of dependencies
+	 */
+	void onProvision(Identifier<?> identifier, ProvisionKind kind, long elapsedNanos);
+
+}
@@ -0,0 +1,94 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ProvisionListener} which accumulates, for each identifier, the number of
+ * provisions and their total elapsed time. May be used with {@link Injector#dependencyGraph(ProvisionStatistics)}
+ * to annotate the dependency graph with provisioning cost. <br>
+ * <br>
+ * Thread safe. Once an identifier has been provided, recording further provisions of it
+ * does not allocate.
+ *
+ * @author A248
+ *
+ */
+public final class ProvisionStatistics implements ProvisionListener {
+
+	private final Map<Identifier<?>, Statistic> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates the statistics, initially empty
+	 *
+	 */
+	public ProvisionStatistics() {}
+
+	@Override
+	public void onProvision(Identifier<?> identifier, ProvisionKind kind, long elapsedNanos) {
+		Statistic statistic = statistics.get(identifier);
+		if (statistic == null) {
+			statistic = statistics.computeIfAbsent(identifier, (i) -> new Statistic());
+		}
+		statistic.provisions.increment();
+		statistic.elapsedNanos.add(elapsedNanos);
+	}
+
+	/**
+	 * Gets the number of times an identifier has been provided
+	 *
+	 * @param identifier the identifier
+	 * @return the number of provisions
+	 */
+	public long provisions(Identifier<?> identifier) {
+		Statistic statistic = statistics.get(identifier);
+		return (statistic == null) ? 0L : statistic.provisions.sum();
+	}
+
+	/**
+	 * Gets the total time spent providing an identifier, including the provision of its
+	 * dependencies
+	 *
+	 * @param identifier the identifier
+	 * @return the cumulative elapsed time in nanoseconds
+	 */
+	public long elapsedNanos(Identifier<?> identifier) {
+		Statistic statistic = statistics.get(identifier);
+		return (statistic == null) ? 0L : statistic.elapsedNanos.sum();
+	}
+
+	/**
+	 * Discards all statistics recorded so far
+	 *
+	 */
+	public void reset() {
+		statistics.clear();
+	}
+
+	private static final class Statistic {
+
+		final LongAdder provisions = new LongAdder();
+		final LongAdder elapsedNanos = new LongAdder();
+	}
+
+}
@@ -18,8 +18,20 @@
  */
 package space.arim.injector.error;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.ExceptionContext;
+
 /**
- * Thrown for all varieties of injection related problems
+ * Thrown for all varieties of injection related problems. <br>
+ * <br>
+ * Rather than being wrapped in further exceptions as it propagates, the exception
+ * accumulates context describing where it occurred, including the path of dependencies
+ * being resolved. The context is included in the message.
  * 
  * @author A248
  *
@@ -31,6 +43,18 @@ public class InjectorException extends RuntimeException {
 	 */
 	private static final long serialVersionUID = 7936425738499807779L;
 
+	/**
+	 * The context added as the exception propagated, or null if none
+	 *
+	 * @serial
+	 */
+	private List<String> context;
+	private transient Identifier<?>[] dependencyPath;
+
+	static {
+		ExceptionContext.setAccess(new ContextAccess());
+	}
+
 	/**
 	 * Creates the exception
 	 * 
@@ -67,4 +91,85 @@ public class InjectorException extends RuntimeException {
 		super(message, cause);
 	}
 
+	/**
+	 * Gets the path of dependencies being resolved when this exception occurred,
+	 * from the first requested to the last
+	 *
+	 * @return the dependency path, empty if unknown
+	 */
+	public List<Identifier<?>> getDependencyPath() {
+		return (dependencyPath == null) ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(dependencyPath));
+	}
+
+	void addContext(String context) {
+		if (this.context == null) {
+			this.context = new ArrayList<>(4);
+		}
+		this.context.add(context);
+	}
+
+	void recordDependencyPath(Identifier<?>[] dependencyPath) {
+		if (this.dependencyPath == null) {
+			this.dependencyPath = dependencyPath;
+		}
+	}
+
+	String getMessageWithoutContext() {
+		return super.getMessage();
+	}
+
+	List<String> getContext() {
+		return (context == null) ? Collections.emptyList() : Collections.unmodifiableList(context);
+	}
+
+	@Override
+	public String getMessage() {
+		String message = super.getMessage();
+		if (context == null && dependencyPath == null) {
+			return message;
+		}
+		StringBuilder builder = new StringBuilder();
+		if (message != null) {
+			builder.append(message);
+		}
+		if (context != null) {
+			for (String addedContext : context) {
+				builder.append("\n  Additional context: ").append(addedContext);
+			}
+		}
+		if (dependencyPath != null) {
+			builder.append("\n  Dependency path: ");
+			for (int n = 0; n < dependencyPath.length; n++) {
+				if (n != 0) {
+					builder.append(" -> ");
+				}
+				builder.append(dependencyPath[n]);
+			}
+		}
+		return builder.toString();
+	}
+
+	private static final class ContextAccess implements ExceptionContext.Access {
+
+		@Override
+		public void addContext(InjectorException ex, String context) {
+			ex.addContext(context);
+		}
+
+		@Override
+		public void recordDependencyPath(InjectorException ex, Identifier<?>[] dependencyPath) {
+			ex.recordDependencyPath(dependencyPath);
+		}
+
+		@Override
+		public String getMessageWithoutContext(InjectorException ex) {
+			return ex.getMessageWithoutContext();
+		}
+
+		@Override
+		public List<String> getContext(InjectorException ex) {
+			return ex.getContext();
+		}
+	}
+
 }
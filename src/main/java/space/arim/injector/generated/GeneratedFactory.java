@@ -0,0 +1,86 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.generated;
+
+import space.arim.injector.Identifier;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * A factory for a concrete type, generated at compile time by the SolidInjector annotation
+ * processor. If enabled with {@code InjectorBuilder.generatedFactories(true)}, the injector
+ * uses such a factory in place of scanning the type reflectively. <br>
+ * <br>
+ * Implementations are discovered by name: the factory for a type is named by appending
+ * {@link #CLASS_NAME_SUFFIX} to the binary name of the type, and must have a public
+ * no{@literal -}args constructor. <br>
+ * <br>
+ * This interface is meant for generated code. It is not intended to be implemented by hand.
+ *
+ * @param <T> the type created by this factory
+ */
+public interface GeneratedFactory<T> {
+
+	/**
+	 * The suffix appended to the binary name of a type to obtain the name of its factory
+	 */
+	String CLASS_NAME_SUFFIX = "$$SolidInjectorFactory";
+
+	/**
+	 * The type this factory creates
+	 *
+	 * @return the type
+	 */
+	Class<T> type();
+
+	/**
+	 * The {@code Inject} annotations relied upon in generating this factory. If the
+	 * injector does not recognise one of them, it ignores this factory.
+	 *
+	 * @return the inject annotation classes
+	 */
+	List<Class<? extends Annotation>> injectAnnotations();
+
+	/**
+	 * The qualifier annotations relied upon in generating this factory. If the
+	 * injector does not recognise one of them as a qualifier, it ignores this factory.
+	 *
+	 * @return the qualifier annotation classes
+	 */
+	List<Class<? extends Annotation>> qualifierAnnotations();
+
+	/**
+	 * The dependencies of the type: those of the constructor, followed by those of
+	 * each injected field and method, in order of injection
+	 *
+	 * @return the dependencies
+	 */
+	List<Identifier<?>> dependencies();
+
+	/**
+	 * Creates an instance, injecting its fields and methods
+	 *
+	 * @param dependencies the dependency instances, in the same order as {@link #dependencies()}
+	 * @return the instance
+	 */
+	T create(Object[] dependencies);
+
+}
@@ -0,0 +1,161 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.MultiBinding;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.reflect.ExecutableDependencies;
+import space.arim.injector.internal.reflect.QualifiedNames;
+import space.arim.injector.internal.reflect.ReflectionMetadataCache;
+import space.arim.injector.internal.reflect.qualifier.QualifiersInAnnotations;
+import space.arim.injector.internal.spec.SpecSupport;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of scanning the class of a bind module for its bind methods
+ *
+ */
+final class BindModuleMetadata {
+
+	/**
+	 * The parameter types of the methods declared by Object, by method name
+	 */
+	private static final Map<String, List<Class<?>[]>> OBJECT_METHODS = new HashMap<>();
+
+	/**
+	 * Orders bind methods independently of the order returned by reflection
+	 */
+	private static final Comparator<Method> METHOD_ORDER = Comparator
+			.comparing(Method::getName)
+			.thenComparing((method) -> Arrays.toString(method.getParameterTypes()));
+
+	static {
+		for (Method method : Object.class.getDeclaredMethods()) {
+			OBJECT_METHODS.computeIfAbsent(method.getName(), (name) -> new ArrayList<>(2)).add(method.getParameterTypes());
+		}
+	}
+
+	final List<BindMethod> bindMethods;
+
+	private BindModuleMetadata(List<BindMethod> bindMethods) {
+		this.bindMethods = bindMethods;
+	}
+
+	static BindModuleMetadata forClass(SpecSupport spec, Class<?> bindModuleClass) {
+		return ReflectionMetadataCache.metadataFor(bindModuleClass, new Key(spec), () -> scan(spec, bindModuleClass));
+	}
+
+	private static BindModuleMetadata scan(SpecSupport spec, Class<?> bindModuleClass) {
+		List<BindMethod> bindMethods = new ArrayList<>();
+		Method[] methods = bindModuleClass.getMethods();
+		Arrays.sort(methods, METHOD_ORDER);
+		for (Method method : methods) {
+			if (isBindMethod(method)) {
+				bindMethods.add(new BindMethod(
+						method, createIdentifier(spec, method),
+						new ExecutableDependencies(spec, method).collectDependencies(),
+						spec.hasSingletonAnnotation(method), method.isAnnotationPresent(MultiBinding.class)));
+			}
+		}
+		return new BindModuleMetadata(bindMethods);
+	}
+
+	private static boolean isBindMethod(Method method) {
+		if (method.getDeclaringClass().equals(Object.class) || Modifier.isStatic(method.getModifiers())) {
+			return false;
+		}
+		// Make sure this method is not overridden from Object (e.g. equals or hashCode)
+		return !overridesObjectMethod(method);
+	}
+
+	private static boolean overridesObjectMethod(Method method) {
+		List<Class<?>[]> objectMethods = OBJECT_METHODS.get(method.getName());
+		if (objectMethods == null) {
+			return false;
+		}
+		for (Class<?>[] parameterTypes : objectMethods) {
+			if (Arrays.equals(parameterTypes, method.getParameterTypes())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Identifier<?> createIdentifier(SpecSupport spec, Method method) {
+		try {
+			return new IdentifierCreation<>(method.getReturnType(),
+					new QualifiersInAnnotations(method.getAnnotations())).createIdentifier(spec);
+		} catch (InjectorException ex) {
+			throw new ExceptionContext().rethrow(ex, "On method " + QualifiedNames.forMethod(method));
+		}
+	}
+
+	static final class BindMethod {
+
+		final Method method;
+		final Identifier<?> identifier;
+		final InstantiableDependencyBunch parameterDependencies;
+		final boolean singleton;
+		final boolean multiBinding;
+
+		BindMethod(Method method, Identifier<?> identifier, InstantiableDependencyBunch parameterDependencies,
+				   boolean singleton, boolean multiBinding) {
+			this.method = method;
+			this.identifier = identifier;
+			this.parameterDependencies = parameterDependencies;
+			this.singleton = singleton;
+			this.multiBinding = multiBinding;
+		}
+	}
+
+	/**
+	 * The settings which affect scanning
+	 *
+	 */
+	private static final class Key {
+
+		private final SpecSupport spec;
+
+		Key(SpecSupport spec) {
+			this.spec = spec;
+		}
+
+		@Override
+		public int hashCode() {
+			return spec.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return this == object || object instanceof Key && spec.equals(((Key) object).spec);
+		}
+	}
+
+}
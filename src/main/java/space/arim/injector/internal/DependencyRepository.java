@@ -20,6 +20,7 @@
 package space.arim.injector.internal;
 
 import space.arim.injector.Identifier;
+import space.arim.injector.internal.provider.ContextlessProvider;
 import space.arim.injector.internal.provider.ContextualProvider;
 
 import java.util.Optional;
@@ -33,6 +34,18 @@ public interface DependencyRepository {
 
 	<U> U requestInstance(Identifier<U> identifier);
 
+	/**
+	 * Requests an instance using a provider previously obtained from {@link #requestProvider(Identifier)}
+	 * for the same identifier and root repository. Circular dependencies are detected as with
+	 * {@link #requestInstance(Identifier)}, but the provider is not looked up again.
+	 *
+	 * @param identifier the identifier
+	 * @param linkedProvider the provider for the identifier
+	 * @param <U> the type
+	 * @return the instance
+	 */
+	<U> U requestInstance(Identifier<U> identifier, ContextualProvider<U> linkedProvider);
+
 	<U> ContextualProvider<Set<U>> requestMultipleProviders(Identifier<U> identifier);
 
 	<U> Set<U> requestMultipleInstances(Identifier<U> identifier);
@@ -41,4 +54,18 @@ public interface DependencyRepository {
 
 	<U> Optional<U> requestInstanceOptionally(Identifier<U> identifier);
 
+	/**
+	 * Attaches a provider for the given identifier to this repository, such as to back an
+	 * injected {@code Provider}. Injectors also report provisions through the attached provider
+	 * to their provision listener.
+	 *
+	 * @param identifier the identifier, or that of the elements for multiple bindings
+	 * @param provider the provider
+	 * @param <U> the type provided
+	 * @return the attached provider
+	 */
+	default <U> ContextlessProvider<U> attachProvider(Identifier<?> identifier, ContextualProvider<U> provider) {
+		return provider.attachTo(this);
+	}
+
 }
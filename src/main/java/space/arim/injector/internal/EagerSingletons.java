@@ -0,0 +1,265 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.internal.dependency.DependencyKind;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+import space.arim.injector.internal.provider.SingletonContextualProvider;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instantiates the singletons reachable from an injector's bindings. <br>
+ * <br>
+ * Singletons are instantiated in parallel, except that a singleton waits for the singletons
+ * it requires, directly or through non{@literal -}singleton providers. Dependencies on a
+ * {@code Provider} do not impose an order, since they need not be resolved at construction.
+ *
+ */
+public final class EagerSingletons {
+
+	private final InjectorImpl injector;
+	private final Map<ContextualProvider<?>, Node> nodes = new IdentityHashMap<>();
+	private final Deque<Node> unvisited = new ArrayDeque<>();
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	public EagerSingletons(InjectorImpl injector) {
+		this.injector = injector;
+	}
+
+	/**
+	 * Instantiates all singletons
+	 *
+	 * @return the time taken
+	 * @throws InjectorException if a singleton could not be instantiated
+	 */
+	public Duration instantiate() {
+		long startTime = System.nanoTime();
+
+		List<Node> singletons = discoverSingletons();
+		List<SingletonTask> tasks = new ArrayList<>(singletons.size());
+		for (Node singleton : singletons) {
+			singleton.task = new SingletonTask(singleton);
+			tasks.add(singleton.task);
+		}
+		for (Node singleton : singletons) {
+			singleton.task.dependencies = singletonDependencies(singleton);
+		}
+		if (!hasCycle(singletons)) {
+			ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+				@Override
+				protected void compute() {
+					ForkJoinTask.invokeAll(tasks);
+				}
+			});
+		} else {
+			// Instantiate sequentially, so that the circular dependency is reported rather than deadlocking
+			for (SingletonTask task : tasks) {
+				task.provide();
+			}
+		}
+		Throwable failure = this.failure.get();
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		return Duration.ofNanos(System.nanoTime() - startTime);
+	}
+
+	// Discovery
+
+	private List<Node> discoverSingletons() {
+		injector.providerMap().forEachBinding(this::node);
+		List<Node> singletons = new ArrayList<>();
+		Node node;
+		while ((node = unvisited.poll()) != null) {
+			if (node.provider instanceof SingletonContextualProvider) {
+				singletons.add(node);
+			}
+			node.provider.visitDependencies(new NodeVisitor(node));
+		}
+		return singletons;
+	}
+
+	private Node node(Identifier<?> identifier, ContextualProvider<?> provider) {
+		return nodes.computeIfAbsent(provider, (p) -> {
+			Node node = new Node(identifier, provider);
+			unvisited.add(node);
+			return node;
+		});
+	}
+
+	private final class NodeVisitor implements DependencyVisitor {
+
+		private final Node node;
+
+		NodeVisitor(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public void visitDependency(InstantiableDependency dependency) {
+			Identifier<?> identifier = dependency.identifier();
+			DependencyKind kind = dependency.kind();
+			ContextualProvider<?> provider;
+			try {
+				if (kind.multiple()) {
+					provider = injector.requestMultipleProviders(identifier);
+				} else if (kind.optional()) {
+					provider = injector.providerMap().requestProviderOptionally(identifier).orElse(null);
+				} else {
+					provider = injector.lookupProvider(identifier);
+				}
+			} catch (InjectorException ex) {
+				// Reported if and when the dependency is actually needed
+				return;
+			}
+			if (provider == null) {
+				return;
+			}
+			Node dependencyNode = node(identifier, provider);
+			if (!kind.deferred()) {
+				node.requires.add(dependencyNode);
+			}
+		}
+
+		@Override
+		public void visitProvider(ContextualProvider<?> provider) {
+			node.requires.add(node(node.identifier, provider));
+		}
+	}
+
+	/*
+	 * Finds the nearest singletons required by a singleton, looking through non-singletons
+	 */
+	private static List<Node> singletonDependencies(Node singleton) {
+		List<Node> singletonDependencies = new ArrayList<>();
+		Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Node> toVisit = new ArrayDeque<>(singleton.requires);
+		Node node;
+		while ((node = toVisit.poll()) != null) {
+			if (!visited.add(node)) {
+				continue;
+			}
+			if (node.task != null) {
+				singletonDependencies.add(node);
+			} else {
+				toVisit.addAll(node.requires);
+			}
+		}
+		return singletonDependencies;
+	}
+
+	private static boolean hasCycle(List<Node> singletons) {
+		Set<Node> finished = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<Node> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Node singleton : singletons) {
+			if (hasCycle(singleton, finished, inProgress)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasCycle(Node singleton, Set<Node> finished, Set<Node> inProgress) {
+		if (finished.contains(singleton)) {
+			return false;
+		}
+		if (!inProgress.add(singleton)) {
+			return true;
+		}
+		for (Node dependency : singleton.task.dependencies) {
+			if (hasCycle(dependency, finished, inProgress)) {
+				return true;
+			}
+		}
+		inProgress.remove(singleton);
+		finished.add(singleton);
+		return false;
+	}
+
+	private static final class Node {
+
+		final Identifier<?> identifier;
+		final ContextualProvider<?> provider;
+		final List<Node> requires = new ArrayList<>();
+		SingletonTask task;
+
+		Node(Identifier<?> identifier, ContextualProvider<?> provider) {
+			this.identifier = identifier;
+			this.provider = provider;
+		}
+	}
+
+	// Instantiation
+
+	private final class SingletonTask extends RecursiveAction {
+
+		private final Node node;
+		List<Node> dependencies;
+
+		SingletonTask(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		protected void compute() {
+			for (Node dependency : dependencies) {
+				dependency.task.join();
+			}
+			provide();
+		}
+
+		void provide() {
+			if (failure.get() != null) {
+				return;
+			}
+			try {
+				provide(node.identifier, node.provider);
+			} catch (RuntimeException | Error ex) {
+				failure.compareAndSet(null, ex);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <U> void provide(Identifier<U> identifier, ContextualProvider<?> provider) {
+			InjectionRequest.requestInstance(injector, identifier, (ContextualProvider<U>) provider);
+		}
+	}
+
+}
@@ -18,22 +18,81 @@
  */
 package space.arim.injector.internal;
 
-import java.lang.reflect.InvocationTargetException;
-
+import space.arim.injector.Identifier;
 import space.arim.injector.error.InjectorException;
 
+import java.util.List;
+
+/**
+ * Adds context to exceptions as they propagate. The exception itself is rethrown,
+ * so that failures deep in a graph create only one exception. <br>
+ * <br>
+ * The means of adding context are not part of the public API of {@link InjectorException},
+ * which instead provides them through {@link Access} when it is initialized.
+ *
+ */
 public class ExceptionContext {
 
-	public <T extends InjectorException> InjectorException rethrow(T original, String addedContext) {
-		Class<? extends InjectorException> clazz = original.getClass();
-		try {
-			return clazz.getDeclaredConstructor(String.class, Throwable.class)
-					.newInstance("Additional context: " + addedContext, original);
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException ex) {
-			original.addSuppressed(ex);
-			return original;
+	private static volatile Access access;
+
+	public <T extends InjectorException> T rethrow(T original, String addedContext) {
+		addContext(original, addedContext);
+		return original;
+	}
+
+	/**
+	 * Sets the means of accessing exception context. Called once, by {@code InjectorException}
+	 *
+	 * @param access the access
+	 * @throws IllegalStateException if already set
+	 */
+	public static void setAccess(Access access) {
+		if (ExceptionContext.access != null) {
+			throw new IllegalStateException("Access already set");
 		}
+		ExceptionContext.access = access;
+	}
+
+	/*
+	 * Any InjectorException passed has already initialized its class, and thereby the access
+	 */
+
+	static void addContext(InjectorException ex, String context) {
+		access.addContext(ex, context);
+	}
+
+	/**
+	 * Records the dependency path of an exception, if not already recorded
+	 *
+	 * @param ex the exception
+	 * @param dependencyPath the identifiers from the first requested to the last, which are not copied
+	 */
+	static void recordDependencyPath(InjectorException ex, Identifier<?>[] dependencyPath) {
+		access.recordDependencyPath(ex, dependencyPath);
+	}
+
+	static String getMessageWithoutContext(InjectorException ex) {
+		return access.getMessageWithoutContext(ex);
+	}
+
+	static List<String> getContext(InjectorException ex) {
+		return access.getContext(ex);
+	}
+
+	/**
+	 * Accesses the context of an exception
+	 *
+	 */
+	public interface Access {
+
+		void addContext(InjectorException ex, String context);
+
+		void recordDependencyPath(InjectorException ex, Identifier<?>[] dependencyPath);
+
+		String getMessageWithoutContext(InjectorException ex);
+
+		List<String> getContext(InjectorException ex);
+
 	}
 
 }
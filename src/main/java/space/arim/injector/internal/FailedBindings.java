@@ -0,0 +1,89 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.error.MisannotatedInjecteeException;
+import space.arim.injector.error.MisconfiguredBindingsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers identifiers which could not be bound automatically, so that repeated
+ * requests for them do not scan the type again. Only the means of creating the
+ * exception is kept, not the original exception and its stack trace.
+ *
+ */
+final class FailedBindings {
+
+	private final Map<Identifier<?>, Supplier<InjectorException>> failures = new ConcurrentHashMap<>();
+
+	/**
+	 * Throws the exception recorded for an identifier, if any
+	 *
+	 * @param identifier the identifier
+	 * @throws InjectorException if binding the identifier previously failed
+	 */
+	void checkFailure(Identifier<?> identifier) {
+		Supplier<InjectorException> failure = failures.get(identifier);
+		if (failure != null) {
+			throw failure.get();
+		}
+	}
+
+	/**
+	 * Records a failure for an identifier. Only failures arising from the configuration
+	 * or annotations, which will certainly recur, are recorded. <br>
+	 * <br>
+	 * The message is kept without its dependency path or any context added outside the
+	 * identifier's own binding, both of which are added again as the recreated exception
+	 * propagates. Context added while binding the identifier is kept, since that part is
+	 * skipped when the failure is recreated.
+	 *
+	 * @param identifier the identifier
+	 * @param ex the exception thrown while binding it
+	 */
+	void recordFailure(Identifier<?> identifier, InjectorException ex) {
+		String message = ExceptionContext.getMessageWithoutContext(ex);
+		List<String> context = new ArrayList<>(ExceptionContext.getContext(ex));
+		Supplier<InjectorException> failure;
+		if (ex instanceof MisannotatedInjecteeException) {
+			failure = () -> withContext(new MisannotatedInjecteeException(message), context);
+		} else if (ex instanceof MisconfiguredBindingsException) {
+			failure = () -> withContext(new MisconfiguredBindingsException(message), context);
+		} else {
+			return;
+		}
+		failures.putIfAbsent(identifier, failure);
+	}
+
+	private static InjectorException withContext(InjectorException ex, List<String> context) {
+		for (String addedContext : context) {
+			ExceptionContext.addContext(ex, addedContext);
+		}
+		return ex;
+	}
+
+}
@@ -19,23 +19,108 @@
 
 package space.arim.injector.internal;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.Set;
 
 import space.arim.injector.Identifier;
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.ProvisionListener;
 import space.arim.injector.error.CircularDependencyException;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.internal.events.InjectorEvents;
 import space.arim.injector.internal.provider.ContextualProvider;
 
-class InjectionRequest implements DependencyRepository {
+/**
+ * Tracks the identifiers in progress on a thread, in order to detect circular dependencies. <br>
+ * <br>
+ * One instance is reused per thread, so that requests do not allocate. Each top{@literal -}level
+ * request considers only the identifiers from its base to the top of the stack, so that a
+ * request made during another (such as through {@code Provider#get}) is tracked independently.
+ * Graphs are shallow enough that a linear scan is cheaper than hashing.
+ *
+ */
+final class InjectionRequest implements DependencyRepository {
+
+	private static final ThreadLocal<InjectionRequest> CURRENT = ThreadLocal.withInitial(InjectionRequest::new);
+
+	private InjectorImpl injector;
+	private Identifier<?>[] identifiersInProgress = new Identifier<?>[16];
+	private int base;
+	private int top;
+
+	private InjectionRequest() {}
+
+	// Top-level requests
+
+	static <U> U requestInstance(InjectorImpl injector, Identifier<U> identifier, ContextualProvider<U> provider) {
+		InjectionRequest request = CURRENT.get();
+		InjectorImpl previousInjector = request.injector;
+		int previousBase = request.begin(injector);
+		try {
+			return request.requestInstance(identifier, provider);
+		} finally {
+			request.end(previousInjector, previousBase);
+		}
+	}
+
+	static <U> Set<U> requestMultipleInstances(InjectorImpl injector, Identifier<U> identifier) {
+		InjectionRequest request = CURRENT.get();
+		InjectorImpl previousInjector = request.injector;
+		int previousBase = request.begin(injector);
+		try {
+			return request.requestMultipleInstances(identifier);
+		} finally {
+			request.end(previousInjector, previousBase);
+		}
+	}
+
+	static <U> Optional<U> requestInstanceOptionally(InjectorImpl injector, Identifier<U> identifier) {
+		InjectionRequest request = CURRENT.get();
+		InjectorImpl previousInjector = request.injector;
+		int previousBase = request.begin(injector);
+		try {
+			return request.requestInstanceOptionally(identifier);
+		} finally {
+			request.end(previousInjector, previousBase);
+		}
+	}
 
-	private final InjectorImpl injector;
-	private final Set<Identifier<?>> identifiersInProgress = new HashSet<>();
+	/**
+	 * Provides using another injector, within the request in progress on this thread if there
+	 * is one. Unlike starting a new request, identifiers already in progress remain so.
+	 *
+	 * @param injector the injector to resolve dependencies with
+	 * @param provider the provider
+	 * @param <U> the type
+	 * @return the instance
+	 */
+	static <U> U provideUsingInjector(InjectorImpl injector, ContextualProvider<U> provider) {
+		InjectionRequest request = CURRENT.get();
+		InjectorImpl previousInjector = request.injector;
+		request.injector = injector;
+		try {
+			return provider.provideUsing(request);
+		} finally {
+			request.injector = previousInjector;
+		}
+	}
 
-	InjectionRequest(InjectorImpl injector) {
+	private int begin(InjectorImpl injector) {
 		this.injector = injector;
+		int previousBase = base;
+		base = top;
+		return previousBase;
+	}
+
+	private void end(InjectorImpl previousInjector, int previousBase) {
+		// Do not retain the injector on this thread
+		injector = previousInjector;
+		base = previousBase;
 	}
 
+	// Dependency repository
+
 	@Override
 	public DependencyRepository getRoot() {
 		return injector;
@@ -48,12 +133,19 @@ class InjectionRequest implements DependencyRepository {
 
 	@Override
 	public <U> U requestInstance(Identifier<U> identifier) {
+		return requestInstance(identifier, requestProvider(identifier));
+	}
+
+	@Override
+	public <U> U requestInstance(Identifier<U> identifier, ContextualProvider<U> linkedProvider) {
 		U instance;
 		enterIdentifier(identifier);
 		try {
-			instance = requestProvider(identifier).provideUsing(this);
+			instance = provide(identifier, linkedProvider);
+		} catch (InjectorException ex) {
+			throw recordDependencyPath(ex);
 		} finally {
-			exitIdentifier(identifier);
+			exitIdentifier();
 		}
 		return instance;
 	}
@@ -68,9 +160,11 @@ class InjectionRequest implements DependencyRepository {
 		Set<U> instances;
 		enterIdentifier(identifier);
 		try {
-			instances = requestMultipleProviders(identifier).provideUsing(this);
+			instances = provide(identifier, requestMultipleProviders(identifier));
+		} catch (InjectorException ex) {
+			throw recordDependencyPath(ex);
 		} finally {
-			exitIdentifier(identifier);
+			exitIdentifier();
 		}
 		return instances;
 	}
@@ -85,23 +179,69 @@ class InjectionRequest implements DependencyRepository {
 		Optional<U> optInstance;
 		enterIdentifier(identifier);
 		try {
-			optInstance = requestProviderOptionally(identifier).map((provider) -> provider.provideUsing(this));
+			Optional<ContextualProvider<U>> provider = requestProviderOptionally(identifier);
+			optInstance = (provider.isPresent()) ? Optional.ofNullable(provide(identifier, provider.get())) : Optional.empty();
+		} catch (InjectorException ex) {
+			throw recordDependencyPath(ex);
 		} finally {
-			exitIdentifier(identifier);
+			exitIdentifier();
 		}
 		return optInstance;
 	}
 
+	private <T> T provide(Identifier<?> identifier, ContextualProvider<T> provider) {
+		Object event = InjectorEvents.beginRequest();
+		ProvisionListener listener = injector.provisionListener();
+		T instance;
+		if (listener == null) {
+			instance = provider.provideUsing(this);
+		} else {
+			instance = provideAndNotify(listener, identifier, provider);
+		}
+		InjectorEvents.endRequest(event, identifier, top);
+		return instance;
+	}
+
+	private <T> T provideAndNotify(ProvisionListener listener, Identifier<?> identifier, ContextualProvider<T> provider) {
+		// Determined beforehand, since a singleton is no longer a hit once provided
+		ProvisionKind kind = provider.provisionKind();
+		long startTime = System.nanoTime();
+		T instance = provider.provideUsing(this);
+		listener.onProvision(identifier, kind, System.nanoTime() - startTime);
+		return instance;
+	}
+
+	/*
+	 * Called first where the exception is thrown, when the stack holds the whole path,
+	 * including requests made during other requests
+	 */
+	private InjectorException recordDependencyPath(InjectorException ex) {
+		if (ex.getDependencyPath().isEmpty()) {
+			ExceptionContext.recordDependencyPath(ex, Arrays.copyOf(identifiersInProgress, top));
+		}
+		return ex;
+	}
+
 	// Circular request detection
 
 	private void enterIdentifier(Identifier<?> identifier) {
-		boolean added = identifiersInProgress.add(identifier);
-		if (!added) {
-			throw new CircularDependencyException("Circular dependency detected while serving request for " + identifier);
+		Identifier<?>[] identifiersInProgress = this.identifiersInProgress;
+		for (int n = base; n < top; n++) {
+			Identifier<?> inProgress = identifiersInProgress[n];
+			if (inProgress == identifier || inProgress.equals(identifier)) {
+				String message = "Circular dependency detected while serving request for " + identifier;
+				InjectorEvents.circularDependency(message);
+				throw new CircularDependencyException(message);
+			}
+		}
+		if (top == identifiersInProgress.length) {
+			this.identifiersInProgress = identifiersInProgress = Arrays.copyOf(identifiersInProgress, top * 2);
 		}
+		identifiersInProgress[top++] = identifier;
 	}
 
-	private void exitIdentifier(Identifier<?> identifier) {
-		identifiersInProgress.remove(identifier);
+	private void exitIdentifier() {
+		// Clear the slot so identifiers, and their classes, are not retained by the thread
+		identifiersInProgress[--top] = null;
 	}
 }
@@ -19,6 +19,8 @@
 
 package space.arim.injector.internal;
 
+import space.arim.injector.internal.invoke.MemberInvokers;
+import space.arim.injector.internal.invoke.ReflectionInvokers;
 import space.arim.injector.internal.spec.SpecSupport;
 
 public final class InjectionSettings {
@@ -27,17 +29,33 @@ public final class InjectionSettings {
 	private final boolean privateInjection;
 	private final boolean staticInjection;
 	private final boolean optionalBindings;
+	private final boolean generatedFactories;
+	private final boolean cacheFailedBindings;
+	private final MemberInvokers invokers;
+	private final ScopeBindings scopes;
 
 	public InjectionSettings(SpecSupport spec,
-							 boolean privateInjection, boolean staticInjection, boolean optionalBindings) {
+							 boolean privateInjection, boolean staticInjection, boolean optionalBindings,
+							 boolean generatedFactories, boolean cacheFailedBindings, MemberInvokers invokers,
+							 ScopeBindings scopes) {
 		this.spec = spec;
 		this.privateInjection = privateInjection;
 		this.staticInjection = staticInjection;
 		this.optionalBindings = optionalBindings;
+		this.generatedFactories = generatedFactories;
+		this.cacheFailedBindings = cacheFailedBindings;
+		this.invokers = invokers;
+		this.scopes = scopes;
 	}
 
+	/**
+	 * Creates settings with every option at its default
+	 *
+	 * @param spec the specification support
+	 */
 	public InjectionSettings(SpecSupport spec) {
-		this(spec, false, false, false);
+		this(spec, false, false, false, false, true, new ReflectionInvokers(),
+				new ScopeBindings(ScopeBindings.defaultScopes()));
 	}
 
 	public SpecSupport spec() {
@@ -56,10 +74,28 @@ public final class InjectionSettings {
 		return optionalBindings;
 	}
 
+	public boolean generatedFactories() {
+		return generatedFactories;
+	}
+
+	public boolean cacheFailedBindings() {
+		return cacheFailedBindings;
+	}
+
+	public MemberInvokers invokers() {
+		return invokers;
+	}
+
+	public ScopeBindings scopes() {
+		return scopes;
+	}
+
 	@Override
 	public String toString() {
 		return "InjectionSettings [spec=" + spec + ", privateInjection=" + privateInjection + ", staticInjection="
-				+ staticInjection + ", optionalBindings=" + optionalBindings + "]";
+				+ staticInjection + ", optionalBindings=" + optionalBindings + ", generatedFactories="
+				+ generatedFactories + ", cacheFailedBindings=" + cacheFailedBindings + ", invokers=" + invokers
+				+ ", scopes=" + scopes + "]";
 	}
 
 }
@@ -20,37 +20,44 @@
 package space.arim.injector.internal;
 
 import space.arim.injector.Identifier;
-import space.arim.injector.MultiBinding;
-import space.arim.injector.error.InjectorException;
 import space.arim.injector.error.MisconfiguredBindingsException;
+import space.arim.injector.internal.invoke.MemberInvokers;
 import space.arim.injector.internal.provider.ContextualProvider;
 import space.arim.injector.internal.provider.FixedContextualProvider;
 import space.arim.injector.internal.provider.MultiBindableContextualProvider;
 import space.arim.injector.internal.provider.NullCheckedContextualProvider;
 import space.arim.injector.internal.provider.IdentifierContextualProvider;
 import space.arim.injector.internal.provider.ProviderMap;
-import space.arim.injector.internal.provider.SingletonContextualProvider;
-import space.arim.injector.internal.reflect.ExecutableDependencies;
 import space.arim.injector.internal.reflect.MethodContextualProvider;
 import space.arim.injector.internal.reflect.QualifiedNames;
-import space.arim.injector.internal.reflect.qualifier.QualifiersInAnnotations;
 import space.arim.injector.internal.spec.SpecSupport;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 public final class InjectorConfiguration {
 
+	/**
+	 * The number of bind modules from which they are analysed in parallel
+	 */
+	private static final int PARALLEL_THRESHOLD = 8;
+
 	private final SpecSupport spec;
+	private final MemberInvokers invokers;
+	private final ScopeBindings scopes;
 	private final Collection<Object> bindModules;
 	private final ProviderMap providerMap;
 
-	public InjectorConfiguration(SpecSupport spec, Collection<Object> bindModules, ProviderMap providerMap) {
-		this.spec = spec;
+	public InjectorConfiguration(InjectionSettings settings, Collection<Object> bindModules, ProviderMap providerMap) {
+		this.spec = settings.spec();
+		this.invokers = settings.invokers();
+		scopes = settings.scopes();
 		this.bindModules = bindModules;
 		this.providerMap = providerMap;
 	}
@@ -62,9 +69,13 @@ public final class InjectorConfiguration {
 	public ProviderMap configure(Map<Identifier<?>, Identifier<?>> boundImplementors,
 								 Map<Identifier<?>, Object> boundInstances) {
 
+		List<Object> bindModules = new ArrayList<>(this.bindModules);
 		for (Object bindModule : bindModules) {
 			Objects.requireNonNull(bindModule, "bind module");
-			addBindModule(bindModule);
+		}
+		// Install in the original order, so that binding conflicts are reported reproducibly
+		for (AnalysedModule analysedModule : analyseBindModules(bindModules)) {
+			analysedModule.install();
 		}
 		boundImplementors.forEach((identifier, boundImplementor) -> {
 			String failureReason = providerMap.installProvider(identifier, new IdentifierContextualProvider<>(boundImplementor));
@@ -86,54 +97,87 @@ public final class InjectorConfiguration {
 				"Failed to bind " + binding + ". " + reason);
 	}
 
-	private static boolean isBindMethod(Method method) {
-		if (method.getDeclaringClass().equals(Object.class) || Modifier.isStatic(method.getModifiers())) {
-			return false;
+	/*
+	 * Scanning bind modules and creating providers for their methods is independent
+	 * for each module, so it may happen in parallel. Installing the providers cannot.
+	 */
+
+	private AnalysedModule[] analyseBindModules(List<Object> bindModules) {
+		AnalysedModule[] analysedModules = new AnalysedModule[bindModules.size()];
+		if (bindModules.size() < PARALLEL_THRESHOLD) {
+			for (int n = 0; n < analysedModules.length; n++) {
+				analysedModules[n] = analyseBindModule(bindModules.get(n));
+			}
+		} else {
+			IntStream.range(0, analysedModules.length).parallel().forEach((n) -> {
+				analysedModules[n] = analyseBindModule(bindModules.get(n));
+			});
 		}
-		try {
-			// Make sure this method is not overridden from Object (e.g. equals or hashCode)
-			Object.class.getDeclaredMethod(method.getName(), method.getParameterTypes());
-			return false;
-		} catch (NoSuchMethodException ignored) {}
-		return true;
+		return analysedModules;
 	}
 
-	private void addBindModule(Object bindModule) {
-		for (Method method : bindModule.getClass().getMethods()) {
-			if (isBindMethod(method)) {
-				ContextualProvider<?> provider = createMethodProvider(bindModule, method);
-				Identifier<?> identifier = createIdentifier(method);
-				String failureReason = providerMap.installProvider(identifier, provider);
-				if (failureReason != null) {
-					throw failedToBind("method " + QualifiedNames.forMethod(method), failureReason);
-				}
+	private AnalysedModule analyseBindModule(Object bindModule) {
+		BindModuleMetadata metadata;
+		List<ContextualProvider<?>> providers;
+		try {
+			metadata = BindModuleMetadata.forClass(spec, bindModule.getClass());
+			providers = new ArrayList<>(metadata.bindMethods.size());
+			for (BindModuleMetadata.BindMethod bindMethod : metadata.bindMethods) {
+				providers.add(createMethodProvider(bindModule, bindMethod));
 			}
+		} catch (RuntimeException ex) {
+			// Rethrown by the configuring thread, rather than wrapped by the stream
+			return new AnalysedModule(null, null, ex);
 		}
+		return new AnalysedModule(metadata, providers, null);
 	}
 
-	private Identifier<?> createIdentifier(Method method) {
-		try {
-			return new IdentifierCreation<>(method.getReturnType(),
-					new QualifiersInAnnotations(method.getAnnotations())).createIdentifier(spec);
-		} catch (InjectorException ex) {
-			throw new ExceptionContext().rethrow(ex, "On method " + QualifiedNames.forMethod(method));
+	private final class AnalysedModule {
+
+		private final BindModuleMetadata metadata;
+		private final List<ContextualProvider<?>> providers;
+		private final RuntimeException failure;
+
+		AnalysedModule(BindModuleMetadata metadata, List<ContextualProvider<?>> providers, RuntimeException failure) {
+			this.metadata = metadata;
+			this.providers = providers;
+			this.failure = failure;
+		}
+
+		void install() {
+			if (failure != null) {
+				throw failure;
+			}
+			for (int n = 0; n < providers.size(); n++) {
+				BindModuleMetadata.BindMethod bindMethod = metadata.bindMethods.get(n);
+				String failureReason = providerMap.installProvider(bindMethod.identifier, providers.get(n));
+				if (failureReason != null) {
+					throw failedToBind("method " + QualifiedNames.forMethod(bindMethod.method), failureReason);
+				}
+			}
 		}
 	}
 
-	private ContextualProvider<?> createMethodProvider(Object bindModule, Method method) {
-		ContextualProvider<?> provider =
+	private ContextualProvider<?> createMethodProvider(Object bindModule, BindModuleMetadata.BindMethod bindMethod) {
+		Method method = bindMethod.method;
+		// Metadata may be shared with other injectors, so take copies of dependencies
+		ContextualProvider<?> provider = createScopedProvider(bindMethod.identifier, method, bindMethod.singleton,
 				new NullCheckedContextualProvider<>(
 						new MethodContextualProvider<>(
-								bindModule, method,
-								new ExecutableDependencies(spec, method).collectDependencies()
-						));
-		if (spec.hasSingletonAnnotation(method)) {
-			provider = new SingletonContextualProvider<>(provider);
-		}
-		if (providerMap.permitsMultiBindings() && method.isAnnotationPresent(MultiBinding.class)) {
+								bindModule, method, invokers.forMethod(method),
+								bindMethod.parameterDependencies.copy()
+						)));
+		if (providerMap.permitsMultiBindings() && bindMethod.multiBinding) {
 			provider = new MultiBindableContextualProvider<>(provider);
 		}
 		return provider;
 	}
 
+	private <T> ContextualProvider<T> createScopedProvider(Identifier<T> identifier, Method method, boolean singleton,
+														   ContextualProvider<?> provider) {
+		@SuppressWarnings("unchecked")
+		ContextualProvider<T> casted = (ContextualProvider<T>) provider;
+		return scopes.applyScope(identifier, method, singleton, casted);
+	}
+
 }
@@ -19,47 +19,395 @@
 
 package space.arim.injector.internal;
 
-import java.lang.reflect.Constructor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import space.arim.injector.Identifier;
+import space.arim.injector.ProvisionListener;
+import space.arim.injector.error.InjectorException;
 import space.arim.injector.error.MisconfiguredBindingsException;
 import space.arim.injector.error.OptionalBindingRelatedException;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.events.InjectorEvents;
+import space.arim.injector.internal.generated.GeneratedFactoryLookup;
+import space.arim.injector.internal.provider.ContextlessProvider;
 import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+import space.arim.injector.internal.provider.MultiBindingProviderMap;
 import space.arim.injector.internal.provider.ProviderMap;
+import space.arim.injector.internal.provider.SimpleProviderMap;
+import space.arim.injector.internal.provider.UnionContextualProvider;
 import space.arim.injector.internal.reflect.ConstructorAsProvider;
-import space.arim.injector.internal.reflect.ConstructorScan;
+import space.arim.injector.internal.reflect.MetadataSnapshot;
+import space.arim.injector.internal.reflect.ReflectionConfiguration;
 
 public final class InjectorImpl implements DependencyRepository {
 
 	private final InjectionSettings settings;
 	private final ProviderMap providerMap;
+	private final InjectorImpl parent;
+	private final ProvisionListener provisionListener;
+
+	/*
+	 * Identifiers whose providers were created automatically rather than bound,
+	 * and, for child injectors, those delegated to the parent
+	 */
+	private final Set<Identifier<?>> automaticBindings = ConcurrentHashMap.newKeySet();
+	private final Set<Identifier<?>> parentBindings;
+
+	/*
+	 * For child injectors, the identifiers bound by the child when it was created
+	 */
+	private final Set<Identifier<?>> ownBindings;
+
+	/*
+	 * The identifiers which the provider of each identifier depends on, directly or transitively,
+	 * up to explicit bindings. Consulted by child injectors, and kept since children come and go.
+	 */
+	private final ConcurrentMap<Identifier<?>, Set<Identifier<?>>> dependencyClosures = new ConcurrentHashMap<>();
+
+	/*
+	 * For child injectors, providers combining the multiple bindings of the parent and the child
+	 */
+	private final ConcurrentMap<Identifier<?>, CombinedMultipleProvider<?>> combinedMultipleProviders;
+
+	/*
+	 * Identifiers which could not be bound automatically, null if disabled
+	 */
+	private final FailedBindings failedBindings;
+
+	/*
+	 * Held in a field, since a capturing lambda would be allocated on each lookup
+	 */
+	private final Function<Identifier<Object>, ContextualProvider<Object>> providerCreator = this::createProvider;
 
 	public InjectorImpl(InjectionSettings settings, ProviderMap providerMap) {
+		this(settings, providerMap, (ProvisionListener) null);
+	}
+
+	public InjectorImpl(InjectionSettings settings, ProviderMap providerMap, ProvisionListener provisionListener) {
+		this(settings, providerMap, null, Collections.emptySet(), provisionListener);
+	}
+
+	private InjectorImpl(InjectionSettings settings, ProviderMap providerMap, InjectorImpl parent,
+						 Set<Identifier<?>> ownBindings, ProvisionListener provisionListener) {
 		this.settings = settings;
 		this.providerMap = providerMap;
+		this.parent = parent;
+		this.ownBindings = ownBindings;
+		this.provisionListener = provisionListener;
+		parentBindings = (parent == null) ? Collections.emptySet() : ConcurrentHashMap.newKeySet();
+		combinedMultipleProviders = (parent == null) ? null : new ConcurrentHashMap<>();
+		failedBindings = (settings.cacheFailedBindings()) ? new FailedBindings() : null;
 	}
 
-	<U> ContextualProvider<U> lookupProvider(Identifier<U> ident) {
-		return providerMap.requestSingleProvider(ident, (identifier) -> {
-			if (identifier.isQualified()) {
-				throw new MisconfiguredBindingsException("No binding found for qualified identifier " + identifier);
-			}
-			Class<U> type = identifier.getType();
-			if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+	/**
+	 * Creates a child injector. The child has its own bindings, but otherwise uses the
+	 * bindings and singletons of this injector. Its bindings must not override those of this injector.
+	 *
+	 * @param bindModules the bind modules of the child
+	 * @param boundInstances the instances bound by the child
+	 * @return the child injector
+	 */
+	public InjectorImpl createChild(Collection<Object> bindModules, Map<Identifier<?>, Object> boundInstances) {
+		ProviderMap childMap = (providerMap.permitsMultiBindings()) ? new MultiBindingProviderMap() : new SimpleProviderMap();
+		childMap = new InjectorConfiguration(settings, bindModules, childMap).configure(
+				Collections.emptyMap(), boundInstances);
+		Set<Identifier<?>> ownBindings = new HashSet<>();
+		childMap.forEachBinding((identifier, provider) -> {
+			if (isExplicitlyBound(identifier) && !provider.permitsMultiBinding()) {
 				throw new MisconfiguredBindingsException(
-						"No binding found for abstract identifier " + identifier);
+						"Identifier " + identifier + " is already bound by the parent injector");
 			}
-			return createConcreteProvider(type);
+			ownBindings.add(identifier);
 		});
+		return new InjectorImpl(settings, childMap, this, ownBindings, provisionListener);
+	}
+
+	private boolean isExplicitlyBound(Identifier<?> identifier) {
+		if (providerMap.containsProvider(identifier)
+				&& !automaticBindings.contains(identifier) && !parentBindings.contains(identifier)) {
+			return true;
+		}
+		return parent != null && parent.isExplicitlyBound(identifier);
+	}
+
+	<U> ContextualProvider<U> lookupProvider(Identifier<U> identifier) {
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Function<Identifier<U>, ContextualProvider<U>> creator = (Function) providerCreator;
+		return providerMap.requestSingleProvider(identifier, creator);
+	}
+
+	private <U> ContextualProvider<U> createProvider(Identifier<U> identifier) {
+		if (parent != null && !dependsOnOwnBindings(identifier)) {
+			ContextualProvider<U> provider = new ParentInjectorProvider<>(parent, parent.lookupProvider(identifier));
+			parentBindings.add(identifier);
+			return provider;
+		}
+		ContextualProvider<U> provider = createAutomaticProvider(identifier);
+		automaticBindings.add(identifier);
+		return provider;
+	}
+
+	private <U> ContextualProvider<U> createAutomaticProvider(Identifier<U> identifier) {
+		if (failedBindings == null) {
+			return createAutomaticProvider0(identifier);
+		}
+		failedBindings.checkFailure(identifier);
+		try {
+			return createAutomaticProvider0(identifier);
+		} catch (InjectorException ex) {
+			failedBindings.recordFailure(identifier, ex);
+			throw ex;
+		}
+	}
+
+	private <U> ContextualProvider<U> createAutomaticProvider0(Identifier<U> identifier) {
+		if (identifier.isQualified()) {
+			throw new MisconfiguredBindingsException("No binding found for qualified identifier " + identifier);
+		}
+		Class<U> type = identifier.getType();
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			throw new MisconfiguredBindingsException(
+					"No binding found for abstract identifier " + identifier);
+		}
+		return createConcreteProvider(type);
 	}
 
 	private <U> ContextualProvider<U> createConcreteProvider(Class<U> type) {
-		Constructor<U> constructor = new ConstructorScan<>(settings, type).findInjectableConstructor();
-		constructor.setAccessible(true); // Check and/or set visibility
-		return new ConstructorAsProvider<>(settings, constructor).createProvider();
+		Object event = InjectorEvents.beginProviderCreation();
+		ContextualProvider<U> provider = createConcreteProvider0(type);
+		InjectorEvents.endProviderCreation(event, type);
+		return provider;
+	}
+
+	private <U> ContextualProvider<U> createConcreteProvider0(Class<U> type) {
+		if (settings.generatedFactories()) {
+			ContextualProvider<U> generated = new GeneratedFactoryLookup(settings.spec(), settings.scopes()).createProvider(type);
+			if (generated != null) {
+				return generated;
+			}
+		}
+		return new ConstructorAsProvider<>(settings, type).createProvider();
+	}
+
+	private static boolean isAutomaticallyBindable(Identifier<?> identifier) {
+		Class<?> type = identifier.getType();
+		return !identifier.isQualified() && !type.isInterface() && !Modifier.isAbstract(type.getModifiers());
+	}
+
+	/*
+	 * Child injectors create their own provider for a type only if it depends, directly or
+	 * transitively, on a binding of the child. Otherwise, the parent's provider is used,
+	 * which notably shares its singletons. The decision is made from the dependencies the
+	 * parent's provider has or would have, which the parent computes once for all its children,
+	 * so that a child costs about as much as its own bindings. It is then kept in the child's
+	 * provider map. Computing the dependencies does not bind anything in the parent.
+	 */
+
+	private boolean dependsOnOwnBindings(Identifier<?> identifier) {
+		if (ownBindings.isEmpty() || parent.isExplicitlyBound(identifier) || !isAutomaticallyBindable(identifier)) {
+			return false;
+		}
+		Set<Identifier<?>> closure;
+		try {
+			closure = parent.dependencyClosure(identifier);
+		} catch (InjectorException ex) {
+			// Reported when the provider is actually created
+			return false;
+		}
+		if (closure.size() < ownBindings.size()) {
+			for (Identifier<?> dependency : closure) {
+				if (ownBindings.contains(dependency)) {
+					return true;
+				}
+			}
+		} else {
+			for (Identifier<?> ownBinding : ownBindings) {
+				if (closure.contains(ownBinding)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the identifiers which the provider of an identifier depends on, directly or
+	 * transitively. Explicit bindings are included, but not what they depend on, since
+	 * children never replace them.
+	 *
+	 * @param identifier the identifier
+	 * @return the dependency closure
+	 * @throws InjectorException if no provider could be created for the identifier
+	 */
+	private Set<Identifier<?>> dependencyClosure(Identifier<?> identifier) {
+		Set<Identifier<?>> closure = dependencyClosures.get(identifier);
+		if (closure != null) {
+			return closure;
+		}
+		ContextualProvider<?> provider = closureProvider(identifier);
+		if (provider == null) {
+			closure = parent.dependencyClosure(identifier);
+		} else {
+			ClosureVisitor visitor = new ClosureVisitor();
+			provider.visitDependencies(visitor);
+			ContextualProvider<?> next;
+			while ((next = visitor.toVisit.poll()) != null) {
+				next.visitDependencies(visitor);
+			}
+			closure = Collections.unmodifiableSet(visitor.closure);
+		}
+		Set<Identifier<?>> existing = dependencyClosures.putIfAbsent(identifier, closure);
+		return (existing == null) ? closure : existing;
+	}
+
+	/**
+	 * Gets the provider whose dependencies make up the closure of an identifier. Unlike
+	 * {@link #lookupProvider(Identifier)}, a provider which does not yet exist is created
+	 * without being kept, so that a child's probing does not bind types in its parent which
+	 * only the child can satisfy.
+	 *
+	 * @param identifier the identifier
+	 * @return the provider, or null if the identifier is provided by the parent
+	 * @throws InjectorException if no provider could be created for the identifier
+	 */
+	private ContextualProvider<?> closureProvider(Identifier<?> identifier) {
+		ContextualProvider<?> existing = providerMap.requestProviderOptionally(identifier).orElse(null);
+		if (existing != null) {
+			return (parentBindings.contains(identifier)) ? null : existing;
+		}
+		if (parent != null && !dependsOnOwnBindings(identifier)) {
+			return null;
+		}
+		return createAutomaticProvider0(identifier);
+	}
+
+	private final class ClosureVisitor implements DependencyVisitor {
+
+		final Set<Identifier<?>> closure = new HashSet<>();
+		final Deque<ContextualProvider<?>> toVisit = new ArrayDeque<>();
+
+		@Override
+		public void visitDependency(InstantiableDependency dependency) {
+			Identifier<?> identifier = dependency.identifier();
+			if (!closure.add(identifier)
+					|| dependency.kind().multiple() || isExplicitlyBound(identifier)) {
+				// Multiple bindings are always explicit
+				return;
+			}
+			Set<Identifier<?>> known = dependencyClosures.get(identifier);
+			if (known != null) {
+				closure.addAll(known);
+				return;
+			}
+			if (dependency.kind().optional() && !providerMap.containsProvider(identifier)) {
+				// Optional dependencies are not bound automatically
+				return;
+			}
+			try {
+				ContextualProvider<?> provider = closureProvider(identifier);
+				if (provider == null) {
+					// Provided by the parent, whose dependencies are computed by the parent
+					closure.addAll(parent.dependencyClosure(identifier));
+				} else {
+					toVisit.add(provider);
+				}
+			} catch (InjectorException ex) {
+				// Reported if and when the dependency is actually needed
+			}
+		}
+
+		@Override
+		public void visitProvider(ContextualProvider<?> provider) {
+			provider.visitDependencies(this);
+		}
+	}
+
+	/**
+	 * Gets the scopes registered with this injector
+	 *
+	 * @return the scope bindings
+	 */
+	public ScopeBindings scopes() {
+		return settings.scopes();
+	}
+
+	/**
+	 * Gets the provision listener
+	 *
+	 * @return the provision listener, or null if there is none
+	 */
+	ProvisionListener provisionListener() {
+		return provisionListener;
+	}
+
+	/**
+	 * Iterates over the providers bound to or created by this injector so far. Multiple
+	 * providers for the same identifier are visited individually.
+	 *
+	 * @param action the action to perform
+	 */
+	public void forEachProvider(BiConsumer<Identifier<?>, ContextualProvider<?>> action) {
+		providerMap.forEachBinding(action);
+	}
+
+	/**
+	 * Writes a snapshot of the scanned metadata of the concrete types this injector has
+	 * created providers for
+	 *
+	 * @param output the output to write to
+	 * @throws IOException if writing failed
+	 */
+	public void writeSnapshot(OutputStream output) throws IOException {
+		Set<Class<?>> types = new HashSet<>();
+		for (Identifier<?> identifier : automaticBindings) {
+			types.add(identifier.getType());
+		}
+		new MetadataSnapshot(settings).write(types, output);
+	}
+
+	/**
+	 * Collects the classes and members accessed reflectively by this injector so far,
+	 * including those of the given bind modules
+	 *
+	 * @param bindModules the bind modules this injector was configured with
+	 * @return the reflection configuration
+	 */
+	public ReflectionConfiguration reflectionConfiguration(Collection<?> bindModules) {
+		ReflectionConfiguration configuration = new ReflectionConfiguration(settings);
+		for (Object bindModule : bindModules) {
+			BindModuleMetadata metadata = BindModuleMetadata.forClass(settings.spec(), bindModule.getClass());
+			List<Method> bindMethods = new ArrayList<>(metadata.bindMethods.size());
+			for (BindModuleMetadata.BindMethod bindMethod : metadata.bindMethods) {
+				bindMethods.add(bindMethod.method);
+			}
+			configuration.addBindModule(bindModule.getClass(), bindMethods);
+		}
+		for (Identifier<?> identifier : automaticBindings) {
+			configuration.addConcreteType(identifier.getType());
+		}
+		return configuration;
+	}
+
+	ProviderMap providerMap() {
+		return providerMap;
 	}
 
 	@Override
@@ -74,17 +422,52 @@ public final class InjectorImpl implements DependencyRepository {
 
 	@Override
 	public <U> U requestInstance(Identifier<U> identifier) {
-		return new InjectionRequest(this).requestInstance(identifier);
+		return InjectionRequest.requestInstance(this, identifier, lookupProvider(identifier));
+	}
+
+	@Override
+	public <U> U requestInstance(Identifier<U> identifier, ContextualProvider<U> linkedProvider) {
+		return InjectionRequest.requestInstance(this, identifier, linkedProvider);
 	}
 
 	@Override
 	public <U> ContextualProvider<Set<U>> requestMultipleProviders(Identifier<U> identifier) {
-		return providerMap.requestMultipleProviders(identifier);
+		if (parent == null) {
+			return providerMap.requestMultipleProviders(identifier);
+		}
+		ContextualProvider<Set<U>> fromParent = parent.requestMultipleProviders(identifier);
+		ContextualProvider<Set<U>> own = (providerMap.containsProvider(identifier)) ?
+				providerMap.requestMultipleProviders(identifier) : null;
+		@SuppressWarnings("unchecked")
+		CombinedMultipleProvider<U> combined = (CombinedMultipleProvider<U>) combinedMultipleProviders.get(identifier);
+		if (combined == null || combined.fromParent != fromParent || combined.own != own) {
+			// The parent's or child's providers were created on demand, or have changed
+			combined = new CombinedMultipleProvider<>(parent, fromParent, own);
+			combinedMultipleProviders.put(identifier, combined);
+		}
+		return combined.provider;
+	}
+
+	/*
+	 * Kept with the providers it was combined from, so that it is replaced if they change
+	 */
+	private static final class CombinedMultipleProvider<U> {
+
+		final ContextualProvider<Set<U>> fromParent;
+		final ContextualProvider<Set<U>> own;
+		final ContextualProvider<Set<U>> provider;
+
+		CombinedMultipleProvider(InjectorImpl parent, ContextualProvider<Set<U>> fromParent, ContextualProvider<Set<U>> own) {
+			this.fromParent = fromParent;
+			this.own = own;
+			ContextualProvider<Set<U>> parentProvider = new ParentInjectorProvider<>(parent, fromParent);
+			provider = (own == null) ? parentProvider : new UnionContextualProvider<>(parentProvider, own);
+		}
 	}
 
 	@Override
 	public <U> Set<U> requestMultipleInstances(Identifier<U> identifier) {
-		return new InjectionRequest(this).requestMultipleInstances(identifier);
+		return InjectionRequest.requestMultipleInstances(this, identifier);
 	}
 
 	@Override
@@ -93,12 +476,26 @@ public final class InjectorImpl implements DependencyRepository {
 			throw new OptionalBindingRelatedException(
 					"The optional binding feature must be explicitly enabled with injectorBuilder.optionalBindings(true)");
 		}
-		return providerMap.requestProviderOptionally(identifier);
+		Optional<ContextualProvider<U>> provider = providerMap.requestProviderOptionally(identifier);
+		if (!provider.isPresent() && parent != null) {
+			return parent.requestProviderOptionally(identifier)
+					.map((parentProvider) -> new ParentInjectorProvider<>(parent, parentProvider));
+		}
+		return provider;
 	}
 
 	@Override
 	public <U> Optional<U> requestInstanceOptionally(Identifier<U> identifier) {
-		return new InjectionRequest(this).requestInstanceOptionally(identifier);
+		return InjectionRequest.requestInstanceOptionally(this, identifier);
+	}
+
+	@Override
+	public <U> ContextlessProvider<U> attachProvider(Identifier<?> identifier, ContextualProvider<U> provider) {
+		ContextlessProvider<U> attached = provider.attachTo(this);
+		if (provisionListener == null) {
+			return attached;
+		}
+		return new ListeningContextlessProvider<>(provisionListener, identifier, provider, attached);
 	}
 
 }
@@ -0,0 +1,200 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.error.MultiBindingRelatedException;
+import space.arim.injector.error.OptionalBindingRelatedException;
+import space.arim.injector.internal.dependency.DependencyKind;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves the providers reachable from an injector's bindings and from additional root
+ * identifiers, so that requests need not create them. Dependencies are linked to the
+ * providers they resolve to, so that requests need not look them up either. All failures
+ * are reported together. <br>
+ * <br>
+ * Nothing is instantiated, so circular dependencies are still detected when requested.
+ *
+ */
+public final class InjectorPreparation {
+
+	private final InjectorImpl injector;
+	private final Map<ContextualProvider<?>, Node> nodes = new IdentityHashMap<>();
+	private final Deque<Node> unvisited = new ArrayDeque<>();
+	private final List<InjectorException> failures = new ArrayList<>();
+	private final Set<Identifier<?>> failedIdentifiers = new HashSet<>();
+
+	public InjectorPreparation(InjectorImpl injector) {
+		this.injector = injector;
+	}
+
+	/**
+	 * Resolves all providers reachable from the bindings and the given roots
+	 *
+	 * @param roots the additional identifiers to resolve
+	 * @throws InjectorException if any provider could not be resolved. If there are multiple
+	 * failures, the others are suppressed exceptions
+	 */
+	public void prepare(Collection<Identifier<?>> roots) {
+		injector.providerMap().forEachBinding((identifier, provider) -> node(null, identifier, provider));
+		for (Identifier<?> root : roots) {
+			resolve(null, root);
+		}
+		Node node;
+		while ((node = unvisited.poll()) != null) {
+			node.provider.visitDependencies(new NodeVisitor(node));
+		}
+		if (failures.isEmpty()) {
+			return;
+		}
+		if (failures.size() == 1) {
+			throw failures.get(0);
+		}
+		StringBuilder message = new StringBuilder();
+		message.append(failures.size()).append(" problems found while preparing the injector");
+		for (InjectorException failure : failures) {
+			message.append("\n\n").append(failure.getMessage());
+		}
+		InjectorException combined = new InjectorException(message.toString());
+		for (InjectorException failure : failures) {
+			combined.addSuppressed(failure);
+		}
+		throw combined;
+	}
+
+	private void node(Node dependent, Identifier<?> identifier, ContextualProvider<?> provider) {
+		nodes.computeIfAbsent(provider, (p) -> {
+			Node node = new Node(dependent, identifier, provider);
+			unvisited.add(node);
+			return node;
+		});
+	}
+
+	private boolean resolve(Node dependent, Identifier<?> identifier) {
+		ContextualProvider<?> provider;
+		try {
+			provider = injector.lookupProvider(identifier);
+		} catch (InjectorException ex) {
+			recordFailure(dependent, identifier, ex);
+			return false;
+		}
+		node(dependent, identifier, provider);
+		return true;
+	}
+
+	private boolean resolveMultiple(Node dependent, Identifier<?> identifier) {
+		ContextualProvider<?> provider;
+		try {
+			provider = injector.requestMultipleProviders(identifier);
+		} catch (MultiBindingRelatedException ex) {
+			recordFailure(dependent, identifier, ex);
+			return false;
+		}
+		node(dependent, identifier, provider);
+		return true;
+	}
+
+	private void resolveOptional(Node dependent, Identifier<?> identifier) {
+		Optional<? extends ContextualProvider<?>> provider;
+		try {
+			provider = injector.requestProviderOptionally(identifier);
+		} catch (OptionalBindingRelatedException ex) {
+			recordFailure(dependent, identifier, ex);
+			return;
+		}
+		// Optional dependencies are not bound automatically, so there may be nothing to create
+		provider.ifPresent((p) -> node(dependent, identifier, p));
+	}
+
+	private void recordFailure(Node dependent, Identifier<?> identifier, InjectorException failure) {
+		if (!failedIdentifiers.add(identifier)) {
+			// Already reported for another dependent
+			return;
+		}
+		ExceptionContext.recordDependencyPath(failure, dependencyPath(dependent, identifier));
+		failures.add(failure);
+	}
+
+	private static Identifier<?>[] dependencyPath(Node dependent, Identifier<?> identifier) {
+		Deque<Identifier<?>> path = new ArrayDeque<>();
+		path.add(identifier);
+		for (Node node = dependent; node != null; node = node.dependent) {
+			path.addFirst(node.identifier);
+		}
+		return path.toArray(new Identifier<?>[0]);
+	}
+
+	private final class NodeVisitor implements DependencyVisitor {
+
+		private final Node node;
+
+		NodeVisitor(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public void visitDependency(InstantiableDependency dependency) {
+			Identifier<?> identifier = dependency.identifier();
+			DependencyKind kind = dependency.kind();
+			if (kind.optional()) {
+				resolveOptional(node, identifier);
+				return;
+			}
+			boolean resolved = (kind.multiple()) ? resolveMultiple(node, identifier) : resolve(node, identifier);
+			if (resolved) {
+				dependency.link(injector);
+			}
+		}
+
+		@Override
+		public void visitProvider(ContextualProvider<?> provider) {
+			node(node.dependent, node.identifier, provider);
+		}
+	}
+
+	private static final class Node {
+
+		final Node dependent;
+		final Identifier<?> identifier;
+		final ContextualProvider<?> provider;
+
+		Node(Node dependent, Identifier<?> identifier, ContextualProvider<?> provider) {
+			this.dependent = dependent;
+			this.identifier = identifier;
+			this.provider = provider;
+		}
+	}
+
+}
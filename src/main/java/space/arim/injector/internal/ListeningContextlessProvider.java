@@ -0,0 +1,64 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.ProvisionListener;
+import space.arim.injector.internal.provider.ContextlessProvider;
+import space.arim.injector.internal.provider.ContextualProvider;
+
+/**
+ * Reports provisions through an injected {@code Provider} to the provision listener, as
+ * requests through the injector are reported
+ *
+ * @param <T> the type
+ */
+final class ListeningContextlessProvider<T> implements ContextlessProvider<T> {
+
+	private final ProvisionListener listener;
+	private final Identifier<?> identifier;
+	private final ContextualProvider<T> provider;
+	private final ContextlessProvider<T> attached;
+
+	ListeningContextlessProvider(ProvisionListener listener, Identifier<?> identifier,
+								 ContextualProvider<T> provider, ContextlessProvider<T> attached) {
+		this.listener = listener;
+		this.identifier = identifier;
+		this.provider = provider;
+		this.attached = attached;
+	}
+
+	@Override
+	public T provide() {
+		// Determined beforehand, since a singleton is no longer a hit once provided
+		ProvisionKind kind = provider.provisionKind();
+		long startTime = System.nanoTime();
+		T instance = attached.provide();
+		listener.onProvision(identifier, kind, System.nanoTime() - startTime);
+		return instance;
+	}
+
+	@Override
+	public String toString() {
+		return "ListeningContextlessProvider [identifier=" + identifier + ", provider=" + provider + "]";
+	}
+
+}
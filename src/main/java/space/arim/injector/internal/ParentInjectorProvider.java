@@ -0,0 +1,75 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.internal.provider.ContextlessProvider;
+import space.arim.injector.internal.provider.ContextualProvider;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Provider used by a child injector for a binding of its parent. The parent's provider
+ * resolves its dependencies through the parent, so bindings of the parent never see
+ * those of the child.
+ *
+ * @param <T> the type
+ */
+final class ParentInjectorProvider<T> implements ContextualProvider<T> {
+
+	private final InjectorImpl parent;
+	private final ContextualProvider<T> delegate;
+
+	ParentInjectorProvider(InjectorImpl parent, ContextualProvider<T> delegate) {
+		this.parent = parent;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public T provideUsing(DependencyRepository repository) {
+		return InjectionRequest.provideUsingInjector(parent, delegate);
+	}
+
+	@Override
+	public ContextlessProvider<T> attachTo(DependencyRepository repository) {
+		return delegate.attachTo(parent);
+	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return delegate.provisionKind();
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return delegate.providesSameInstance();
+	}
+
+	@Override
+	public Class<? extends Annotation> scopeAnnotation() {
+		return delegate.scopeAnnotation();
+	}
+
+	@Override
+	public String toString() {
+		return "ParentInjectorProvider [delegate=" + delegate + "]";
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.error.MisannotatedInjecteeException;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.RefreshingContextualProvider;
+import space.arim.injector.internal.provider.SingletonContextualProvider;
+import space.arim.injector.internal.provider.SoftSingletonContextualProvider;
+import space.arim.injector.scope.Refreshing;
+import space.arim.injector.scope.Scope;
+import space.arim.injector.scope.SoftSingleton;
+import space.arim.injector.scope.ThreadScope;
+import space.arim.injector.scope.ThreadScoped;
+import space.arim.injector.scope.UnitOfWorkScope;
+import space.arim.injector.scope.UnitOfWorkScoped;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The scopes registered with an injector, by scope annotation
+ *
+ */
+public final class ScopeBindings {
+
+	private final Map<Class<? extends Annotation>, Scope> scopes;
+	private final Executor refreshExecutor;
+
+	public ScopeBindings(Map<Class<? extends Annotation>, Scope> scopes, Executor refreshExecutor) {
+		this.scopes = Collections.unmodifiableMap(new LinkedHashMap<>(scopes));
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	public ScopeBindings(Map<Class<? extends Annotation>, Scope> scopes) {
+		this(scopes, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets the scopes registered by default
+	 *
+	 * @return the default scopes
+	 */
+	public static Map<Class<? extends Annotation>, Scope> defaultScopes() {
+		Map<Class<? extends Annotation>, Scope> scopes = new LinkedHashMap<>();
+		scopes.put(ThreadScoped.class, new ThreadScope());
+		scopes.put(UnitOfWorkScoped.class, new UnitOfWorkScope());
+		return scopes;
+	}
+
+	/**
+	 * Applies the singleton, soft singleton, refreshing, or registered scope of a concrete type
+	 * or bind method
+	 *
+	 * @param <T> the type
+	 * @param identifier the identifier of the binding
+	 * @param annotated the concrete type or bind method
+	 * @param singleton whether the type or method is a singleton
+	 * @param provider the unscoped provider
+	 * @return the scoped provider, or the same provider if unscoped
+	 * @throws MisannotatedInjecteeException if more than one scope is present, or the refresh
+	 * period is not positive
+	 */
+	public <T> ContextualProvider<T> applyScope(Identifier<T> identifier, AnnotatedElement annotated,
+												boolean singleton, ContextualProvider<T> provider) {
+		boolean softSingleton = annotated.isAnnotationPresent(SoftSingleton.class);
+		Refreshing refreshing = annotated.getAnnotation(Refreshing.class);
+		int builtInScopes = (singleton ? 1 : 0) + (softSingleton ? 1 : 0) + (refreshing != null ? 1 : 0);
+		if (builtInScopes > 1) {
+			throw new MisannotatedInjecteeException("Multiple scopes declared on " + annotated);
+		}
+		Scope scope = null;
+		Class<? extends Annotation> scopeAnnotation = null;
+		for (Annotation annotation : annotated.getAnnotations()) {
+			Scope annotatedScope = scopes.get(annotation.annotationType());
+			if (annotatedScope == null) {
+				continue;
+			}
+			if (scope != null || builtInScopes != 0) {
+				throw new MisannotatedInjecteeException("Multiple scopes declared on " + annotated);
+			}
+			scope = annotatedScope;
+			scopeAnnotation = annotation.annotationType();
+		}
+		if (singleton) {
+			return new SingletonContextualProvider<>(provider);
+		}
+		if (softSingleton) {
+			return new SoftSingletonContextualProvider<>(provider);
+		}
+		if (refreshing != null) {
+			long periodNanos = refreshing.unit().toNanos(refreshing.value());
+			if (periodNanos <= 0L) {
+				throw new MisannotatedInjecteeException("Refresh period must be positive on " + annotated);
+			}
+			return new RefreshingContextualProvider<>(identifier, provider, periodNanos, refreshExecutor);
+		}
+		if (scope != null) {
+			return new ScopedContextualProvider<>(identifier, provider, scope, scopeAnnotation);
+		}
+		return provider;
+	}
+
+	public Map<Class<? extends Annotation>, Scope> scopes() {
+		return scopes;
+	}
+
+	public Executor refreshExecutor() {
+		return refreshExecutor;
+	}
+
+	@Override
+	public String toString() {
+		return "ScopeBindings [scopes=" + scopes + ", refreshExecutor=" + refreshExecutor + "]";
+	}
+
+}
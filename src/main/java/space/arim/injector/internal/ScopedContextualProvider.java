@@ -0,0 +1,110 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+import space.arim.injector.scope.Scope;
+
+import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
+
+/**
+ * Provides instances through a user{@literal -}defined {@link Scope}. <br>
+ * <br>
+ * When the scope creates an instance while this provider is providing, the instance is
+ * created using the repository passed to this provider, so that the identifiers in progress
+ * are kept and circular dependencies are still detected. The scope may also create instances
+ * at other times, such as from another thread, in which case the root repository of the
+ * latest request is used.
+ *
+ * @param <T> the type
+ */
+final class ScopedContextualProvider<T> implements ContextualProvider<T> {
+
+	private final ContextualProvider<T> delegate;
+	private final Scope scope;
+	private final Class<? extends Annotation> scopeAnnotation;
+	private final Supplier<T> scoped;
+	private volatile DependencyRepository latestRoot;
+
+	private static final ThreadLocal<DependencyRepository> CURRENT_REPOSITORY = new ThreadLocal<>();
+
+	ScopedContextualProvider(Identifier<T> identifier, ContextualProvider<T> delegate, Scope scope,
+							 Class<? extends Annotation> scopeAnnotation) {
+		this.delegate = delegate;
+		this.scope = scope;
+		this.scopeAnnotation = scopeAnnotation;
+		scoped = scope.scope(identifier, this::createUnscoped);
+	}
+
+	private T createUnscoped() {
+		DependencyRepository repository = CURRENT_REPOSITORY.get();
+		if (repository != null) {
+			return delegate.provideUsing(repository);
+		}
+		// Created by the scope outside of provideUsing
+		return InjectionRequest.provideUsingInjector((InjectorImpl) latestRoot, delegate);
+	}
+
+	@Override
+	public T provideUsing(DependencyRepository repository) {
+		DependencyRepository root = repository.getRoot();
+		if (latestRoot != root) {
+			latestRoot = root;
+		}
+		DependencyRepository previous = CURRENT_REPOSITORY.get();
+		CURRENT_REPOSITORY.set(repository);
+		try {
+			return scoped.get();
+		} finally {
+			// Setting rather than removing keeps the thread-local entry, avoiding allocation
+			CURRENT_REPOSITORY.set(previous);
+		}
+	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return delegate.provisionKind();
+	}
+
+	@Override
+	public boolean permitsMultiBinding() {
+		return delegate.permitsMultiBinding();
+	}
+
+	@Override
+	public Class<? extends Annotation> scopeAnnotation() {
+		return scopeAnnotation;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitProvider(delegate);
+	}
+
+	@Override
+	public String toString() {
+		return "ScopedContextualProvider [delegate=" + delegate + ", scope=" + scope + "]";
+	}
+
+}
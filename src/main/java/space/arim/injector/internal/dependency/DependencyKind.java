@@ -0,0 +1,73 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.dependency;
+
+/**
+ * How a dependency is resolved from its identifier
+ *
+ */
+public enum DependencyKind {
+
+	INSTANCE(false, false, false),
+	PROVIDER(true, false, false),
+	MULTIPLE_INSTANCES(false, true, false),
+	MULTIPLE_PROVIDER(true, true, false),
+	OPTIONAL_INSTANCE(false, false, true),
+	OPTIONAL_PROVIDER(true, false, true);
+
+	private final boolean deferred;
+	private final boolean multiple;
+	private final boolean optional;
+
+	DependencyKind(boolean deferred, boolean multiple, boolean optional) {
+		this.deferred = deferred;
+		this.multiple = multiple;
+		this.optional = optional;
+	}
+
+	/**
+	 * Whether the dependency is a {@code Provider}, such that its instances are not
+	 * necessarily created when the dependency is
+	 *
+	 * @return true if deferred
+	 */
+	public boolean deferred() {
+		return deferred;
+	}
+
+	/**
+	 * Whether the dependency uses the multibinding feature
+	 *
+	 * @return true if multiple
+	 */
+	public boolean multiple() {
+		return multiple;
+	}
+
+	/**
+	 * Whether the dependency uses the optional bindings feature
+	 *
+	 * @return true if optional
+	 */
+	public boolean optional() {
+		return optional;
+	}
+
+}
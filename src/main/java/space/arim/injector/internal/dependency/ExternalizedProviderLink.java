@@ -0,0 +1,86 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.dependency;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.ContextualProvider;
+
+/**
+ * Remembers the externalized provider an identifier resolves to, so that injecting a
+ * {@code Provider} reuses one instance rather than allocating on every injection. As with
+ * {@link ProviderLink}, the link is kept only for the most recent root repository.
+ *
+ * @param <P> the external provider type
+ */
+final class ExternalizedProviderLink<P> {
+
+	private final ToSpecProvider<P> toSpecProvider;
+	private final Identifier<?> identifier;
+	private final boolean multiple;
+	private volatile Link<P> link;
+
+	ExternalizedProviderLink(ToSpecProvider<P> toSpecProvider, Identifier<?> identifier, boolean multiple) {
+		this.toSpecProvider = toSpecProvider;
+		this.identifier = identifier;
+		this.multiple = multiple;
+	}
+
+	P externalizedFor(DependencyRepository repository) {
+		DependencyRepository root = repository.getRoot();
+		Link<P> link = this.link;
+		if (link == null || link.root != root) {
+			ContextualProvider<?> contextualProvider = (multiple) ?
+					repository.requestMultipleProviders(identifier) : repository.requestProvider(identifier);
+			link = new Link<>(root, toSpecProvider.externalizeProvider(identifier, contextualProvider, repository));
+			this.link = link;
+		}
+		return link.externalized;
+	}
+
+	/**
+	 * Links an externalized provider which is already known
+	 *
+	 * @param repository the dependency repository
+	 * @param contextualProvider the provider for the identifier
+	 * @return the externalized provider
+	 */
+	P externalizedFor(DependencyRepository repository, ContextualProvider<?> contextualProvider) {
+		DependencyRepository root = repository.getRoot();
+		Link<P> link = this.link;
+		if (link == null || link.root != root) {
+			link = new Link<>(root, toSpecProvider.externalizeProvider(identifier, contextualProvider, repository));
+			this.link = link;
+		}
+		return link.externalized;
+	}
+
+	private static final class Link<P> {
+
+		final DependencyRepository root;
+		final P externalized;
+
+		Link(DependencyRepository root, P externalized) {
+			this.root = root;
+			this.externalized = externalized;
+		}
+	}
+
+}
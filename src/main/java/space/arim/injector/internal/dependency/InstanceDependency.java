@@ -27,14 +27,26 @@ import space.arim.injector.internal.DependencyRepository;
 public final class InstanceDependency<T> implements InstantiableDependency {
 
 	private final Identifier<T> identifier;
+	private final ProviderLink<T> providerLink;
 
 	public InstanceDependency(Identifier<T> identifier) {
 		this.identifier = Objects.requireNonNull(identifier, "identifier");
+		providerLink = new ProviderLink<>(identifier);
 	}
 
 	@Override
 	public T instantiate(DependencyRepository repository) {
-		return repository.requestInstance(identifier);
+		return repository.requestInstance(identifier, providerLink.providerFor(repository));
+	}
+
+	@Override
+	public void link(DependencyRepository root) {
+		providerLink.providerFor(root);
+	}
+
+	@Override
+	public InstantiableDependency copy() {
+		return new InstanceDependency<>(identifier);
 	}
 
 	@Override
@@ -45,6 +57,16 @@ public final class InstanceDependency<T> implements InstantiableDependency {
 		return result;
 	}
 
+	@Override
+	public Identifier<T> identifier() {
+		return identifier;
+	}
+
+	@Override
+	public DependencyKind kind() {
+		return DependencyKind.INSTANCE;
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		return this == object ||
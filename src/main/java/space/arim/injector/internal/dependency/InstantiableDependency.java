@@ -18,10 +18,47 @@
  */
 package space.arim.injector.internal.dependency;
 
+import space.arim.injector.Identifier;
 import space.arim.injector.internal.DependencyRepository;
 
 public interface InstantiableDependency {
 
 	Object instantiate(DependencyRepository repository);
 
+	/**
+	 * The identifier this dependency is resolved from
+	 *
+	 * @return the identifier
+	 */
+	Identifier<?> identifier();
+
+	/**
+	 * How this dependency is resolved from its identifier
+	 *
+	 * @return the dependency kind
+	 */
+	DependencyKind kind();
+
+	/**
+	 * Obtains a dependency equal to this one, but which shares no state with it. Used when
+	 * the same dependency metadata is reused by another injector. <br>
+	 * <br>
+	 * Stateless dependencies may return themselves.
+	 *
+	 * @return the copied dependency
+	 */
+	default InstantiableDependency copy() {
+		return this;
+	}
+
+	/**
+	 * Links this dependency to the provider its identifier resolves to, ahead of the first
+	 * instantiation. Called when preparing an injector, once the identifier is known to resolve. <br>
+	 * <br>
+	 * Dependencies which do not link their provider need not do anything.
+	 *
+	 * @param root the root dependency repository
+	 */
+	default void link(DependencyRepository root) {}
+
 }
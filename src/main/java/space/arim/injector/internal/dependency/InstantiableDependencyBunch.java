@@ -21,6 +21,7 @@ package space.arim.injector.internal.dependency;
 import java.util.Arrays;
 
 import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 public class InstantiableDependencyBunch {
 
@@ -32,10 +33,54 @@ public class InstantiableDependencyBunch {
 
 	public Object[] instantiateDependencies(DependencyRepository repository) {
 		Object[] dependencies = new Object[instantiableDependencies.length];
+		instantiateDependencies(repository, dependencies, 0);
+		return dependencies;
+	}
+
+	/**
+	 * Instantiates dependencies into an existing array
+	 *
+	 * @param repository the dependency repository
+	 * @param into the array to fill
+	 * @param offset the index in the array at which to place the first dependency
+	 */
+	public void instantiateDependencies(DependencyRepository repository, Object[] into, int offset) {
 		for (int n = 0; n < instantiableDependencies.length; n++) {
-			dependencies[n] = instantiableDependencies[n].instantiate(repository);
+			into[offset + n] = instantiableDependencies[n].instantiate(repository);
 		}
-		return dependencies;
+	}
+
+	public void visitEach(DependencyVisitor visitor) {
+		for (InstantiableDependency dependency : instantiableDependencies) {
+			visitor.visitDependency(dependency);
+		}
+	}
+
+	/**
+	 * Copies each dependency, per {@link InstantiableDependency#copy()}
+	 *
+	 * @return a bunch of the copied dependencies
+	 */
+	public InstantiableDependencyBunch copy() {
+		InstantiableDependency[] copied = new InstantiableDependency[instantiableDependencies.length];
+		for (int n = 0; n < copied.length; n++) {
+			copied[n] = instantiableDependencies[n].copy();
+		}
+		return new InstantiableDependencyBunch(copied);
+	}
+
+	public int size() {
+		return instantiableDependencies.length;
+	}
+
+	/**
+	 * Gets a single dependency
+	 *
+	 * @param index the index of the dependency
+	 * @return the dependency
+	 */
+	public InstantiableDependency get(int index) {
+		return instantiableDependencies[index];
 	}
 
 	@Override
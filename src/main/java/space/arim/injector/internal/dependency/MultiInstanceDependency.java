@@ -38,6 +38,16 @@ public final class MultiInstanceDependency<T> implements InstantiableDependency
 		return repository.requestMultipleInstances(identifier);
 	}
 
+	@Override
+	public Identifier<T> identifier() {
+		return identifier;
+	}
+
+	@Override
+	public DependencyKind kind() {
+		return DependencyKind.MULTIPLE_INSTANCES;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -21,7 +21,6 @@ package space.arim.injector.internal.dependency;
 
 import space.arim.injector.Identifier;
 import space.arim.injector.internal.DependencyRepository;
-import space.arim.injector.internal.provider.ContextualProvider;
 
 import java.util.Objects;
 
@@ -29,16 +28,46 @@ public final class MultiProviderDependency<P> implements InstantiableDependency
 
 	private final ToSpecProvider<P> toSpecProvider;
 	private final Identifier<?> identifier;
+	private final ExternalizedProviderLink<P> externalizedLink;
 
 	public MultiProviderDependency(ToSpecProvider<P> toSpecProvider, Identifier<?> identifier) {
 		this.toSpecProvider = Objects.requireNonNull(toSpecProvider, "toSpecProvider");
 		this.identifier = Objects.requireNonNull(identifier, "identifier");
+		externalizedLink = new ExternalizedProviderLink<>(toSpecProvider, identifier, true);
 	}
 
 	@Override
 	public P instantiate(DependencyRepository repository) {
-		ContextualProvider<?> contextualProvider = repository.requestMultipleProviders(identifier);
-		return toSpecProvider.externalizeProvider(contextualProvider, repository);
+		return externalizedLink.externalizedFor(repository);
+	}
+
+	/**
+	 * The {@code Provider} class this dependency is injected as
+	 *
+	 * @return the provider class
+	 */
+	public Class<P> providerType() {
+		return toSpecProvider.providerType();
+	}
+
+	@Override
+	public void link(DependencyRepository root) {
+		externalizedLink.externalizedFor(root);
+	}
+
+	@Override
+	public InstantiableDependency copy() {
+		return new MultiProviderDependency<>(toSpecProvider, identifier);
+	}
+
+	@Override
+	public Identifier<?> identifier() {
+		return identifier;
+	}
+
+	@Override
+	public DependencyKind kind() {
+		return DependencyKind.MULTIPLE_PROVIDER;
 	}
 
 	@Override
@@ -38,6 +38,16 @@ public final class OptionalInstanceDependency<T> implements InstantiableDependen
 		return repository.requestInstanceOptionally(identifier);
 	}
 
+	@Override
+	public Identifier<T> identifier() {
+		return identifier;
+	}
+
+	@Override
+	public DependencyKind kind() {
+		return DependencyKind.OPTIONAL_INSTANCE;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -21,6 +21,7 @@ package space.arim.injector.internal.dependency;
 
 import space.arim.injector.Identifier;
 import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.ContextualProvider;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -29,16 +30,46 @@ public final class OptionalProviderDependency<P> implements InstantiableDependen
 
 	private final ToSpecProvider<P> toSpecProvider;
 	private final Identifier<?> identifier;
+	private final ExternalizedProviderLink<P> externalizedLink;
 
 	public OptionalProviderDependency(ToSpecProvider<P> toSpecProvider, Identifier<?> identifier) {
 		this.toSpecProvider = Objects.requireNonNull(toSpecProvider, "toSpecProvider");
 		this.identifier = Objects.requireNonNull(identifier, "identifier");
+		externalizedLink = new ExternalizedProviderLink<>(toSpecProvider, identifier, false);
 	}
 
 	@Override
 	public Optional<P> instantiate(DependencyRepository repository) {
-		return repository.requestProviderOptionally(identifier)
-				.map((contextualProvider) -> toSpecProvider.externalizeProvider(contextualProvider, repository));
+		Optional<? extends ContextualProvider<?>> contextualProvider = repository.requestProviderOptionally(identifier);
+		if (!contextualProvider.isPresent()) {
+			// Not cached, since the identifier may be bound later by creating its provider
+			return Optional.empty();
+		}
+		return Optional.of(externalizedLink.externalizedFor(repository, contextualProvider.get()));
+	}
+
+	/**
+	 * The {@code Provider} class this dependency is injected as
+	 *
+	 * @return the provider class
+	 */
+	public Class<P> providerType() {
+		return toSpecProvider.providerType();
+	}
+
+	@Override
+	public InstantiableDependency copy() {
+		return new OptionalProviderDependency<>(toSpecProvider, identifier);
+	}
+
+	@Override
+	public Identifier<?> identifier() {
+		return identifier;
+	}
+
+	@Override
+	public DependencyKind kind() {
+		return DependencyKind.OPTIONAL_PROVIDER;
 	}
 
 	@Override
@@ -0,0 +1,64 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.dependency;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.ContextualProvider;
+
+/**
+ * Remembers the provider an identifier resolves to, so that it need not be looked up
+ * again. Bindings never change once an injector is built, but a dependency may be used
+ * by several injectors; the link is therefore kept only for the most recent root
+ * repository.
+ *
+ * @param <T> the type of the identifier
+ */
+final class ProviderLink<T> {
+
+	private final Identifier<T> identifier;
+	private volatile Link<T> link;
+
+	ProviderLink(Identifier<T> identifier) {
+		this.identifier = identifier;
+	}
+
+	ContextualProvider<T> providerFor(DependencyRepository repository) {
+		DependencyRepository root = repository.getRoot();
+		Link<T> link = this.link;
+		if (link == null || link.root != root) {
+			link = new Link<>(root, repository.requestProvider(identifier));
+			this.link = link;
+		}
+		return link.provider;
+	}
+
+	private static final class Link<T> {
+
+		final DependencyRepository root;
+		final ContextualProvider<T> provider;
+
+		Link(DependencyRepository root, ContextualProvider<T> provider) {
+			this.root = root;
+			this.provider = provider;
+		}
+	}
+
+}
@@ -19,6 +19,7 @@
 
 package space.arim.injector.internal.dependency;
 
+import space.arim.injector.Identifier;
 import space.arim.injector.internal.DependencyRepository;
 import space.arim.injector.internal.provider.ContextlessProvider;
 import space.arim.injector.internal.provider.ContextualProvider;
@@ -40,8 +41,9 @@ public final class ToSpecProvider<P> {
 		return providerType;
 	}
 
-	public P externalizeProvider(ContextualProvider<?> contextualProvider, DependencyRepository repository) {
-		ContextlessProvider<?> contextlessProvider = contextualProvider.attachTo(repository.getRoot());
+	public P externalizeProvider(Identifier<?> identifier, ContextualProvider<?> contextualProvider,
+								 DependencyRepository repository) {
+		ContextlessProvider<?> contextlessProvider = repository.getRoot().attachProvider(identifier, contextualProvider);
 		return spec.externalize(contextlessProvider, providerType);
 	}
 
@@ -0,0 +1,59 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import space.arim.injector.Identifier;
+
+/**
+ * Emits Java Flight Recorder events. <br>
+ * <br>
+ * This implementation, used on Java 8, does nothing. On Java 11 and later, it is replaced
+ * by the implementation in {@code META-INF/versions/11} of the multi{@literal -}release jar.
+ * The methods of both must have the same signatures. An event begun is passed back
+ * to the corresponding end method, and is null if the event is not recorded.
+ *
+ */
+public final class InjectorEvents {
+
+	private InjectorEvents() {}
+
+	public static Object beginRequest() {
+		return null;
+	}
+
+	public static void endRequest(Object event, Identifier<?> identifier, int depth) {}
+
+	public static Object beginSingletonCreation() {
+		return null;
+	}
+
+	public static void endSingletonCreation(Object event, Object instance) {}
+
+	public static Object beginProviderCreation() {
+		return null;
+	}
+
+	public static void endProviderCreation(Object event, Class<?> type) {}
+
+	public static void circularDependency(String message) {}
+
+	public static void refreshFailed(Identifier<?> identifier, RuntimeException failure) {}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.generated;
+
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.error.InjectionInvocationException;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.generated.GeneratedFactory;
+import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.ExceptionContext;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+
+final class GeneratedFactoryContextualProvider<T> implements ContextualProvider<T> {
+
+	private final GeneratedFactory<T> factory;
+	private final InstantiableDependencyBunch dependencies;
+
+	GeneratedFactoryContextualProvider(GeneratedFactory<T> factory, InstantiableDependencyBunch dependencies) {
+		this.factory = factory;
+		this.dependencies = dependencies;
+	}
+
+	@Override
+	public T provideUsing(DependencyRepository repository) {
+		Object[] arguments;
+		try {
+			arguments = dependencies.instantiateDependencies(repository);
+		} catch (InjectorException ex) {
+			throw new ExceptionContext().rethrow(ex,
+					"Invoking generated factory " + factory.getClass().getName());
+		}
+		try {
+			return factory.create(arguments);
+		} catch (RuntimeException ex) {
+			throw new InjectionInvocationException(
+					"Failed to invoke generated factory " + factory.getClass().getName(), ex);
+		}
+	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.CONSTRUCTOR;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		dependencies.visitEach(visitor);
+	}
+
+	@Override
+	public String toString() {
+		return "GeneratedFactoryContextualProvider [factory=" + factory.getClass().getName()
+				+ ", dependencies=" + dependencies + "]";
+	}
+
+}
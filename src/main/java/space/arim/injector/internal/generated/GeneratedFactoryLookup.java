@@ -0,0 +1,102 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.generated;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.generated.GeneratedFactory;
+import space.arim.injector.internal.ScopeBindings;
+import space.arim.injector.internal.dependency.InstanceDependency;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.spec.SpecSupport;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+public final class GeneratedFactoryLookup {
+
+	private final SpecSupport spec;
+	private final ScopeBindings scopes;
+
+	public GeneratedFactoryLookup(SpecSupport spec, ScopeBindings scopes) {
+		this.spec = spec;
+		this.scopes = scopes;
+	}
+
+	/**
+	 * Creates a provider from the generated factory for a type, if there is a usable one
+	 *
+	 * @param type the concrete type
+	 * @param <U> the type
+	 * @return the provider, or {@code null} if the type must be scanned reflectively
+	 */
+	public <U> ContextualProvider<U> createProvider(Class<U> type) {
+		ClassLoader classLoader = type.getClassLoader();
+		if (classLoader == null) {
+			return null;
+		}
+		GeneratedFactory<U> factory;
+		List<Identifier<?>> dependencies;
+		try {
+			Class<?> factoryClass = Class.forName(
+					type.getName() + GeneratedFactory.CLASS_NAME_SUFFIX, true, classLoader);
+			if (!GeneratedFactory.class.isAssignableFrom(factoryClass)) {
+				return null;
+			}
+			@SuppressWarnings("unchecked")
+			GeneratedFactory<U> instance = (GeneratedFactory<U>) factoryClass.getConstructor().newInstance();
+			if (!instance.type().equals(type) || !isRecognised(instance)) {
+				return null;
+			}
+			factory = instance;
+			dependencies = factory.dependencies();
+		} catch (ReflectiveOperationException | LinkageError ex) {
+			// Absent, inaccessible, or referencing an annotation library not present at runtime
+			return null;
+		}
+		InstantiableDependency[] instantiableDependencies = new InstantiableDependency[dependencies.size()];
+		for (int n = 0; n < instantiableDependencies.length; n++) {
+			instantiableDependencies[n] = new InstanceDependency<>(dependencies.get(n));
+		}
+		ContextualProvider<U> provider = new GeneratedFactoryContextualProvider<>(
+				factory, new InstantiableDependencyBunch(instantiableDependencies));
+		return scopes.applyScope(Identifier.ofType(type), type, spec.hasSingletonAnnotation(type), provider);
+	}
+
+	/*
+	 * The factory is only valid if the injector would have understood the annotations
+	 * the same way the annotation processor did
+	 */
+	private boolean isRecognised(GeneratedFactory<?> factory) {
+		for (Class<? extends Annotation> injectAnnotation : factory.injectAnnotations()) {
+			if (!spec.isInjectAnnotation(injectAnnotation)) {
+				return false;
+			}
+		}
+		for (Class<? extends Annotation> qualifierAnnotation : factory.qualifierAnnotations()) {
+			if (!spec.isQualifier(qualifierAnnotation)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes a constructor or method. Instances are created once per member
+ *
+ */
+public interface ExecutableInvoker {
+
+	/**
+	 * Invokes the executable
+	 *
+	 * @param receiver the instance on which to invoke, ignored for constructors and static methods
+	 * @param arguments the arguments
+	 * @return the created instance or return value, {@code null} for void methods
+	 * @throws InvocationTargetException if the executable itself threw an exception
+	 * @throws ReflectiveOperationException if the executable could not be invoked
+	 */
+	Object invoke(Object receiver, Object[] arguments) throws ReflectiveOperationException;
+
+}
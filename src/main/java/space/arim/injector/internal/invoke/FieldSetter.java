@@ -0,0 +1,37 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+/**
+ * Sets the value of a field. Instances are created once per field
+ *
+ */
+public interface FieldSetter {
+
+	/**
+	 * Sets the field
+	 *
+	 * @param receiver the instance whose field to set, ignored for static fields
+	 * @param value the value
+	 * @throws ReflectiveOperationException if the field could not be set
+	 */
+	void set(Object receiver, Object value) throws ReflectiveOperationException;
+
+}
@@ -0,0 +1,210 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Fuses a constructor and subsequent field and method injections into a single method handle. <br>
+ * <br>
+ * The resulting invoker accepts one flat argument array: first the constructor arguments,
+ * then the arguments of each injection in the order in which they were added. It returns
+ * the fully injected instance. If any member throws, the invoker throws {@link FusedMemberFailure}
+ *
+ */
+public final class FusedInvokerBuilder {
+
+	private final MethodHandles.Lookup lookup;
+	/**
+	 * Of the type (Object[])Object
+	 */
+	private MethodHandle composite;
+	private int parameterCount;
+
+	private static final MethodHandle ARRAY_ELEMENT_GETTER = MethodHandles.arrayElementGetter(Object[].class);
+	private static final MethodHandle RETURN_RECEIVER = MethodHandles.dropArguments(
+			MethodHandles.identity(Object.class), 1, Object[].class);
+	private static final MethodHandle FAIL;
+
+	static {
+		try {
+			FAIL = MethodHandles.lookup().findStatic(FusedInvokerBuilder.class, "fail",
+					MethodType.methodType(Object.class, Member.class, Throwable.class));
+		} catch (NoSuchMethodException | IllegalAccessException ex) {
+			throw new ExceptionInInitializerError(ex);
+		}
+	}
+
+	FusedInvokerBuilder(MethodHandles.Lookup lookup) {
+		this.lookup = lookup;
+	}
+
+	private static Object fail(Member member, Throwable cause) throws FusedMemberFailure {
+		throw new FusedMemberFailure(member, cause);
+	}
+
+	/**
+	 * Attributes anything thrown by the handle to the given member
+	 *
+	 * @param handle the handle
+	 * @param member the member
+	 * @return the guarded handle
+	 */
+	private static MethodHandle guard(MethodHandle handle, Member member) {
+		MethodType type = handle.type();
+		MethodHandle handler = MethodHandles.insertArguments(FAIL, 0, member)
+				.asType(MethodType.methodType(type.returnType(), Throwable.class));
+		handler = MethodHandles.dropArguments(handler, 1, type.parameterList());
+		return MethodHandles.catchException(handle, Throwable.class, handler);
+	}
+
+	/**
+	 * Replaces the trailing {@code count} parameters with a single {@code Object[]}, from which
+	 * the arguments are read starting at the current parameter count
+	 *
+	 * @param handle the handle, whose parameters are all {@code Object}
+	 * @param leading the number of leading parameters to leave untouched
+	 * @param count the number of arguments to read from the array
+	 * @return the adapted handle
+	 */
+	private MethodHandle readArguments(MethodHandle handle, int leading, int count) {
+		MethodHandle[] getters = new MethodHandle[count];
+		for (int n = 0; n < count; n++) {
+			getters[n] = MethodHandles.insertArguments(ARRAY_ELEMENT_GETTER, 1, parameterCount + n);
+		}
+		parameterCount += count;
+		handle = MethodHandles.filterArguments(handle, leading, getters);
+
+		int[] reorder = new int[leading + count];
+		for (int n = 0; n < reorder.length; n++) {
+			reorder[n] = Math.min(n, leading);
+		}
+		MethodType newType = handle.type()
+				.dropParameterTypes(leading, leading + count)
+				.appendParameterTypes(Object[].class);
+		return MethodHandles.permuteArguments(handle, newType, reorder);
+	}
+
+	boolean begin(Constructor<?> constructor) {
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflectConstructor(constructor);
+		} catch (IllegalAccessException ex) {
+			return false;
+		}
+		int count = constructor.getParameterCount();
+		handle = guard(handle.asType(MethodType.genericMethodType(count)), constructor);
+		composite = readArguments(handle, 0, count);
+		return true;
+	}
+
+	/**
+	 * Adds a field to be set after construction
+	 *
+	 * @param field the instance field
+	 * @return false if the field cannot be fused, in which case this builder should be discarded
+	 */
+	public boolean addField(Field field) {
+		if (Modifier.isStatic(field.getModifiers())) {
+			return false;
+		}
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflectSetter(field);
+		} catch (IllegalAccessException ex) {
+			return false;
+		}
+		handle = guard(handle.asType(MethodType.methodType(void.class, Object.class, Object.class)), field);
+		appendStep(readArguments(handle, 1, 1));
+		return true;
+	}
+
+	/**
+	 * Adds a method to be called after construction
+	 *
+	 * @param method the instance method
+	 * @return false if the method cannot be fused, in which case this builder should be discarded
+	 */
+	public boolean addMethod(Method method) {
+		if (Modifier.isStatic(method.getModifiers())) {
+			return false;
+		}
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflect(method);
+		} catch (IllegalAccessException ex) {
+			return false;
+		}
+		int count = method.getParameterCount();
+		MethodType genericType = MethodType.genericMethodType(count + 1).changeReturnType(void.class);
+		handle = guard(handle.asType(genericType), method);
+		appendStep(readArguments(handle, 1, count));
+		return true;
+	}
+
+	/**
+	 * Runs the step after everything built so far
+	 *
+	 * @param step of the type (Object, Object[])void, receiving the instance and argument array
+	 */
+	private void appendStep(MethodHandle step) {
+		MethodHandle stepThenReturnReceiver = MethodHandles.foldArguments(RETURN_RECEIVER, step);
+		composite = MethodHandles.foldArguments(stepThenReturnReceiver, composite);
+	}
+
+	/**
+	 * Finishes building
+	 *
+	 * @return the invoker, which ignores its receiver and accepts all arguments
+	 */
+	public ExecutableInvoker build() {
+		return new FusedInvoker(composite);
+	}
+
+	private static final class FusedInvoker implements ExecutableInvoker {
+
+		private final MethodHandle composite;
+
+		FusedInvoker(MethodHandle composite) {
+			this.composite = composite;
+		}
+
+		@Override
+		public Object invoke(Object receiver, Object[] arguments) throws ReflectiveOperationException {
+			try {
+				return (Object) composite.invokeExact(arguments);
+			} catch (FusedMemberFailure ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw new InvocationTargetException(ex);
+			}
+		}
+
+	}
+
+}
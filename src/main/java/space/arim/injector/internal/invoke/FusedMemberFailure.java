@@ -0,0 +1,44 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+
+/**
+ * Thrown by fused invokers to identify which of the fused members failed
+ *
+ */
+public final class FusedMemberFailure extends InvocationTargetException {
+
+	private static final long serialVersionUID = -3514587233826150736L;
+
+	private transient final Member member;
+
+	FusedMemberFailure(Member member, Throwable target) {
+		super(target);
+		this.member = member;
+	}
+
+	public Member member() {
+		return member;
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Strategy for calling constructors and methods, and setting fields. <br>
+ * <br>
+ * Members passed to this interface must already have been checked for
+ * accessibility, either by virtue of being public or through {@code setAccessible}.
+ *
+ */
+public interface MemberInvokers {
+
+	ExecutableInvoker forConstructor(Constructor<?> constructor);
+
+	ExecutableInvoker forMethod(Method method);
+
+	FieldSetter forField(Field field);
+
+	/**
+	 * Begins fusing construction and member injection into a single invoker. Optional operation
+	 *
+	 * @param constructor the constructor
+	 * @return the fused invoker builder, or {@code null} if unsupported for the constructor
+	 */
+	default FusedInvokerBuilder fuse(Constructor<?> constructor) {
+		return null;
+	}
+
+}
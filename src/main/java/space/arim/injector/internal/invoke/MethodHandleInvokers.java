@@ -0,0 +1,171 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Converts members into method handles once, then invokes them with {@code invokeExact}. <br>
+ * <br>
+ * If a member cannot be unreflected, for example because its module is not open to
+ * this library, falls back to the provided invokers.
+ *
+ */
+public final class MethodHandleInvokers implements MemberInvokers {
+
+	private final MemberInvokers fallback;
+	private final boolean fusion;
+	private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+	public MethodHandleInvokers(MemberInvokers fallback, boolean fusion) {
+		this.fallback = fallback;
+		this.fusion = fusion;
+	}
+
+	public MethodHandleInvokers(boolean fusion) {
+		this(new ReflectionInvokers(), fusion);
+	}
+
+	/*
+	 * All executable handles are adapted to the type (Object, Object[])Object,
+	 * and all field setters to the type (Object, Object)void
+	 */
+
+	private static final MethodType EXECUTABLE_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static MethodHandle spreadArguments(MethodHandle handle, int parameterCount, boolean hasReceiver) {
+		int totalParameters = (hasReceiver) ? parameterCount + 1 : parameterCount;
+		handle = handle.asType(MethodType.genericMethodType(totalParameters))
+				.asSpreader(Object[].class, parameterCount);
+		if (!hasReceiver) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle;
+	}
+
+	@Override
+	public ExecutableInvoker forConstructor(Constructor<?> constructor) {
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflectConstructor(constructor);
+		} catch (IllegalAccessException ex) {
+			return fallback.forConstructor(constructor);
+		}
+		return new HandleExecutableInvoker(
+				spreadArguments(handle, constructor.getParameterCount(), false));
+	}
+
+	@Override
+	public ExecutableInvoker forMethod(Method method) {
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflect(method);
+		} catch (IllegalAccessException ex) {
+			return fallback.forMethod(method);
+		}
+		boolean hasReceiver = !Modifier.isStatic(method.getModifiers());
+		return new HandleExecutableInvoker(
+				spreadArguments(handle, method.getParameterCount(), hasReceiver));
+	}
+
+	@Override
+	public FieldSetter forField(Field field) {
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflectSetter(field);
+		} catch (IllegalAccessException ex) {
+			return fallback.forField(field);
+		}
+		if (Modifier.isStatic(field.getModifiers())) {
+			handle = MethodHandles.dropArguments(
+					handle.asType(MethodType.methodType(void.class, Object.class)), 0, Object.class);
+		}
+		return new HandleFieldSetter(handle.asType(SETTER_TYPE));
+	}
+
+	@Override
+	public FusedInvokerBuilder fuse(Constructor<?> constructor) {
+		if (!fusion) {
+			return null;
+		}
+		FusedInvokerBuilder builder = new FusedInvokerBuilder(lookup);
+		return (builder.begin(constructor)) ? builder : null;
+	}
+
+	@Override
+	public String toString() {
+		return "MethodHandleInvokers [fallback=" + fallback + ", fusion=" + fusion + "]";
+	}
+
+	private static final class HandleExecutableInvoker implements ExecutableInvoker {
+
+		private final MethodHandle handle;
+
+		HandleExecutableInvoker(MethodHandle handle) {
+			assert handle.type().equals(EXECUTABLE_TYPE) : handle;
+			this.handle = handle;
+		}
+
+		@Override
+		public Object invoke(Object receiver, Object[] arguments) throws ReflectiveOperationException {
+			try {
+				return (Object) handle.invokeExact(receiver, arguments);
+			} catch (Throwable ex) {
+				// Mirror core reflection, which wraps anything thrown by the member
+				throw new InvocationTargetException(ex);
+			}
+		}
+
+	}
+
+	private static final class HandleFieldSetter implements FieldSetter {
+
+		private final MethodHandle handle;
+
+		HandleFieldSetter(MethodHandle handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		public void set(Object receiver, Object value) throws ReflectiveOperationException {
+			try {
+				handle.invokeExact(receiver, value);
+			} catch (ClassCastException | NullPointerException ex) {
+				// Mirror core reflection; the setter itself cannot throw anything else
+				throw new IllegalArgumentException(ex);
+			} catch (RuntimeException | Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw new UndeclaredThrowableException(ex);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.invoke;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Uses core reflection. Works everywhere, but checks arguments and access on every call
+ *
+ */
+public final class ReflectionInvokers implements MemberInvokers {
+
+	@Override
+	public ExecutableInvoker forConstructor(Constructor<?> constructor) {
+		return (receiver, arguments) -> constructor.newInstance(arguments);
+	}
+
+	@Override
+	public ExecutableInvoker forMethod(Method method) {
+		return method::invoke;
+	}
+
+	@Override
+	public FieldSetter forField(Field field) {
+		return field::set;
+	}
+
+	@Override
+	public String toString() {
+		return "ReflectionInvokers";
+	}
+
+}
@@ -19,8 +19,11 @@
 
 package space.arim.injector.internal.provider;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.internal.DependencyRepository;
 
+import java.lang.annotation.Annotation;
+
 public interface ContextualProvider<T> {
 
 	T provideUsing(DependencyRepository repository);
@@ -40,4 +43,41 @@ public interface ContextualProvider<T> {
 		return false;
 	}
 
+	/**
+	 * Whether this provider always provides the same instance, once it has provided one
+	 *
+	 * @return true if the provided instance never changes
+	 */
+	default boolean providesSameInstance() {
+		return false;
+	}
+
+	/**
+	 * The annotation of the scope this provider applies, other than singleton, for
+	 * introspection. Decorators report the scope of their delegate.
+	 *
+	 * @return the scope annotation, or null if none
+	 */
+	default Class<? extends Annotation> scopeAnnotation() {
+		return null;
+	}
+
+	/**
+	 * How this provider provides, for provision listeners. Called before each provision
+	 * while a listener is installed.
+	 *
+	 * @return the provision kind
+	 */
+	default ProvisionKind provisionKind() {
+		return ProvisionKind.OTHER;
+	}
+
+	/**
+	 * Describes what this provider uses when it provides, for introspection. Not used
+	 * during provision.
+	 *
+	 * @param visitor the visitor
+	 */
+	default void visitDependencies(DependencyVisitor visitor) {}
+
 }
@@ -0,0 +1,44 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import space.arim.injector.internal.dependency.InstantiableDependency;
+
+/**
+ * Visits what a provider uses when it provides
+ *
+ */
+public interface DependencyVisitor {
+
+	/**
+	 * Visits a dependency which the provider resolves through the dependency repository
+	 *
+	 * @param dependency the dependency
+	 */
+	void visitDependency(InstantiableDependency dependency);
+
+	/**
+	 * Visits a provider which the provider calls directly, such as the delegate of a decorator
+	 *
+	 * @param provider the provider
+	 */
+	void visitProvider(ContextualProvider<?> provider);
+
+}
@@ -18,6 +18,7 @@
  */
 package space.arim.injector.internal.provider;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.internal.DependencyRepository;
 
 public class FixedContextualProvider<T> implements ContextualProvider<T> {
@@ -38,6 +39,16 @@ public class FixedContextualProvider<T> implements ContextualProvider<T> {
 		return new FixedContextlessProvider<>(instance);
 	}
 
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.BOUND_INSTANCE;
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return "FixedContextualProvider [instance=" + instance + "]";
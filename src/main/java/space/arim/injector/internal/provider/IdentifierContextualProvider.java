@@ -21,20 +21,28 @@ package space.arim.injector.internal.provider;
 
 import space.arim.injector.Identifier;
 import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.dependency.InstanceDependency;
 
 import java.util.Objects;
 
 public final class IdentifierContextualProvider<T> implements ContextualProvider<T> {
 
 	private final Identifier<? extends T> implementor;
+	private final InstanceDependency<? extends T> dependency;
 
 	public IdentifierContextualProvider(Identifier<? extends T> implementor) {
 		this.implementor = Objects.requireNonNull(implementor);
+		dependency = new InstanceDependency<>(implementor);
 	}
 
 	@Override
 	public T provideUsing(DependencyRepository repository) {
-		return repository.requestInstance(implementor);
+		return dependency.instantiate(repository);
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitDependency(dependency);
 	}
 
 	@Override
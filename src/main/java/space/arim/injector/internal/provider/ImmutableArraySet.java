@@ -0,0 +1,83 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact immutable set backed by an array of distinct elements. Membership is tested
+ * by linear search, which suits the small sets of multiple bindings.
+ *
+ * @param <E> the element type
+ */
+final class ImmutableArraySet<E> extends AbstractSet<E> {
+
+	private final Object[] elements;
+
+	/**
+	 * Creates from distinct elements
+	 *
+	 * @param elements the elements, none of which are equal
+	 */
+	ImmutableArraySet(Object[] elements) {
+		this.elements = elements;
+	}
+
+	@Override
+	public int size() {
+		return elements.length;
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		for (Object element : elements) {
+			if (element.equals(object)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < elements.length;
+			}
+
+			@Override
+			public E next() {
+				if (index == elements.length) {
+					throw new NoSuchElementException();
+				}
+				@SuppressWarnings("unchecked")
+				E element = (E) elements[index++];
+				return element;
+			}
+		};
+	}
+
+}
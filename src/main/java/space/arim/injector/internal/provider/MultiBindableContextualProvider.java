@@ -19,8 +19,11 @@
 
 package space.arim.injector.internal.provider;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.internal.DependencyRepository;
 
+import java.lang.annotation.Annotation;
+
 public final class MultiBindableContextualProvider<T> implements ContextualProvider<T> {
 
 	private final ContextualProvider<T> delegate;
@@ -43,4 +46,24 @@ public final class MultiBindableContextualProvider<T> implements ContextualProvi
 	public boolean permitsMultiBinding() {
 		return true;
 	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return delegate.provisionKind();
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return delegate.providesSameInstance();
+	}
+
+	@Override
+	public Class<? extends Annotation> scopeAnnotation() {
+		return delegate.scopeAnnotation();
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitProvider(delegate);
+	}
 }
@@ -29,11 +29,19 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public final class MultiBindingProviderMap implements ProviderMap {
 
 	private final Map<Identifier<?>, Object> providers;
+	/*
+	 * Providers of multiple bindings, reused so that each may share its set of instances.
+	 * Bindings are normally complete once configured; identifiers without bindings may still
+	 * gain a provider created on demand, so they are not cached.
+	 */
+	private final ConcurrentMap<Identifier<?>, ContextualProvider<?>> multipleProviders = new ConcurrentHashMap<>();
 
 	private MultiBindingProviderMap(Map<Identifier<?>, Object> providers) {
 		this.providers = providers;
@@ -80,6 +88,7 @@ public final class MultiBindingProviderMap implements ProviderMap {
 			}
 		}
 		// Success
+		multipleProviders.remove(identifier);
 		return null;
 	}
 
@@ -108,6 +117,22 @@ public final class MultiBindingProviderMap implements ProviderMap {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <U> ContextualProvider<Set<U>> requestMultipleProviders(Identifier<U> identifier) {
+		ContextualProvider<Set<U>> multipleProvider = (ContextualProvider<Set<U>>) multipleProviders.get(identifier);
+		if (multipleProvider == null) {
+			multipleProvider = createMultipleProvider(identifier);
+			if (multipleProvider instanceof MultiContextualProvider) {
+				ContextualProvider<Set<U>> existing = (ContextualProvider<Set<U>>) multipleProviders.putIfAbsent(
+						identifier, multipleProvider);
+				if (existing != null) {
+					multipleProvider = existing;
+				}
+			}
+		}
+		return multipleProvider;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <U> ContextualProvider<Set<U>> createMultipleProvider(Identifier<U> identifier) {
 		Object existingProviderOrMultiple = providers.get(identifier);
 		if (existingProviderOrMultiple == null) {
 			return (repository) -> Collections.emptySet();
@@ -140,6 +165,24 @@ public final class MultiBindingProviderMap implements ProviderMap {
 		return Optional.of(provider);
 	}
 
+	@Override
+	public boolean containsProvider(Identifier<?> identifier) {
+		return providers.containsKey(identifier);
+	}
+
+	@Override
+	public void forEachBinding(BiConsumer<Identifier<?>, ContextualProvider<?>> action) {
+		providers.forEach((identifier, providerOrMultiple) -> {
+			if (providerOrMultiple instanceof ContextualProvider[]) {
+				for (ContextualProvider<?> provider : (ContextualProvider<?>[]) providerOrMultiple) {
+					action.accept(identifier, provider);
+				}
+			} else {
+				action.accept(identifier, (ContextualProvider<?>) providerOrMultiple);
+			}
+		});
+	}
+
 	@Override
 	public ProviderMap makeConcurrent() {
 		return new MultiBindingProviderMap(new ConcurrentHashMap<>(providers));
@@ -19,26 +19,70 @@
 
 package space.arim.injector.internal.provider;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.internal.DependencyRepository;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Provides the instances of multiple bindings. If every binding always provides the
+ * same instance, the set of instances is built once and then shared.
+ *
+ * @param <T> the type of the elements
+ */
 public final class MultiContextualProvider<T> implements ContextualProvider<Set<T>> {
 
 	private final ContextualProvider<T>[] providers;
+	private final boolean providesSameInstances;
+	private volatile Set<T> sharedInstances;
 
 	public MultiContextualProvider(ContextualProvider<T>[] providers) {
 		this.providers = providers;
+		boolean providesSameInstances = true;
+		for (ContextualProvider<T> provider : providers) {
+			if (!provider.providesSameInstance()) {
+				providesSameInstances = false;
+				break;
+			}
+		}
+		this.providesSameInstances = providesSameInstances;
 	}
 
 	@Override
 	public Set<T> provideUsing(DependencyRepository repository) {
+		Set<T> sharedInstances = this.sharedInstances;
+		if (sharedInstances != null) {
+			return sharedInstances;
+		}
 		Set<T> values = new HashSet<>(providers.length, 1f);
 		for (ContextualProvider<T> provider : providers) {
 			values.add(provider.provideUsing(repository));
 		}
+		if (providesSameInstances) {
+			// Racing threads build equal sets
+			sharedInstances = new ImmutableArraySet<>(values.toArray());
+			this.sharedInstances = sharedInstances;
+			return sharedInstances;
+		}
 		return Collections.unmodifiableSet(values);
 	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.MULTIPLE;
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return providesSameInstances;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		for (ContextualProvider<T> provider : providers) {
+			visitor.visitProvider(provider);
+		}
+	}
 }
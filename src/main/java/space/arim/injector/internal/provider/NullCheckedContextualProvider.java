@@ -19,9 +19,12 @@
 
 package space.arim.injector.internal.provider;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.error.InjectionInvocationException;
 import space.arim.injector.internal.DependencyRepository;
 
+import java.lang.annotation.Annotation;
+
 public class NullCheckedContextualProvider<T> implements ContextualProvider<T> {
 
 	private final ContextualProvider<T> delegate;
@@ -44,6 +47,26 @@ public class NullCheckedContextualProvider<T> implements ContextualProvider<T> {
 		return delegate.permitsMultiBinding();
 	}
 
+	@Override
+	public ProvisionKind provisionKind() {
+		return delegate.provisionKind();
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return delegate.providesSameInstance();
+	}
+
+	@Override
+	public Class<? extends Annotation> scopeAnnotation() {
+		return delegate.scopeAnnotation();
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitProvider(delegate);
+	}
+
 	@Override
 	public String toString() {
 		return "NullCheckedContextualProvider [delegate=" + delegate + "]";
@@ -23,6 +23,7 @@ import space.arim.injector.Identifier;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public interface ProviderMap {
@@ -37,6 +38,22 @@ public interface ProviderMap {
 
 	<U> Optional<ContextualProvider<U>> requestProviderOptionally(Identifier<U> identifier);
 
+	/**
+	 * Whether any provider is installed or has been created for an identifier
+	 *
+	 * @param identifier the identifier
+	 * @return true if a provider exists
+	 */
+	boolean containsProvider(Identifier<?> identifier);
+
+	/**
+	 * Iterates over the providers installed or created so far. Multiple providers for
+	 * the same identifier are visited individually.
+	 *
+	 * @param action the action to perform
+	 */
+	void forEachBinding(BiConsumer<Identifier<?>, ContextualProvider<?>> action);
+
 	ProviderMap makeConcurrent();
 
 	boolean permitsMultiBindings();
@@ -0,0 +1,141 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.events.InjectorEvents;
+import space.arim.injector.scope.Refreshing;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Provides a single instance which expires after a period. <br>
+ * <br>
+ * The first instance is created as by {@link SingletonContextualProvider}. Afterwards, the
+ * first request to notice that the instance has expired submits its replacement to the
+ * refresh executor, and every request, including that one, receives the current instance
+ * without waiting. At most one replacement is created at a time. <br>
+ * <br>
+ * Replacements are requested from the root repository, as a new request on the executor's
+ * thread, so that circular dependencies are still detected. If creating a replacement fails,
+ * the failure is reported as a flight recorder event, and the expired instance is kept for
+ * another period before the next attempt.
+ *
+ */
+public final class RefreshingContextualProvider<T> extends SingletonContextualProvider<T> {
+
+	private final Identifier<T> identifier;
+	private final ContextualProvider<T> delegate;
+	private final long periodNanos;
+	private final Executor refreshExecutor;
+
+	private volatile Refreshable<T> current;
+	private volatile DependencyRepository root;
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	public RefreshingContextualProvider(Identifier<T> identifier, ContextualProvider<T> delegate,
+										long periodNanos, Executor refreshExecutor) {
+		super(delegate);
+		if (periodNanos <= 0L) {
+			throw new IllegalArgumentException("Refresh period must be positive");
+		}
+		this.identifier = identifier;
+		this.delegate = delegate;
+		this.periodNanos = periodNanos;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	@Override
+	T instance() {
+		Refreshable<T> current = this.current;
+		return (current == null) ? null : current.instance;
+	}
+
+	@Override
+	void publish(T instance) {
+		current = new Refreshable<>(instance, System.nanoTime() + periodNanos);
+	}
+
+	@Override
+	public T provideUsing(DependencyRepository repository) {
+		Refreshable<T> current = this.current;
+		if (current == null) {
+			// Set before the first instance is published, so it is visible to whoever refreshes
+			if (root == null) {
+				root = repository.getRoot();
+			}
+			return super.provideUsing(repository);
+		}
+		if (System.nanoTime() - current.expiresAt >= 0L) {
+			beginRefresh();
+		}
+		return current.instance;
+	}
+
+	private void beginRefresh() {
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(this::refresh);
+		} catch (RejectedExecutionException ex) {
+			// Keep the expired instance; a later request tries again
+			refreshing.set(false);
+		}
+	}
+
+	private void refresh() {
+		try {
+			publish(root.requestInstance(identifier, delegate));
+		} catch (RuntimeException ex) {
+			InjectorEvents.refreshFailed(identifier, ex);
+			// Keep the expired instance, and wait another period before trying again
+			publish(instance());
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return false;
+	}
+
+	@Override
+	public Class<? extends Annotation> scopeAnnotation() {
+		return Refreshing.class;
+	}
+
+	private static final class Refreshable<T> {
+
+		final T instance;
+		final long expiresAt;
+
+		Refreshable(T instance, long expiresAt) {
+			this.instance = instance;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public final class SimpleProviderMap implements ProviderMap {
@@ -79,6 +80,16 @@ public final class SimpleProviderMap implements ProviderMap {
 		return Optional.ofNullable(possibleProvider);
 	}
 
+	@Override
+	public boolean containsProvider(Identifier<?> identifier) {
+		return providers.containsKey(identifier);
+	}
+
+	@Override
+	public void forEachBinding(BiConsumer<Identifier<?>, ContextualProvider<?>> action) {
+		providers.forEach(action);
+	}
+
 	@Override
 	public ProviderMap makeConcurrent() {
 		return new SimpleProviderMap(new ConcurrentHashMap<>(providers));
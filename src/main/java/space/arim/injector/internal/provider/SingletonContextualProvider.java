@@ -19,36 +19,195 @@
 
 package space.arim.injector.internal.provider;
 
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.error.CircularDependencyException;
 import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.events.InjectorEvents;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Provides a single instance. <br>
+ * <br>
+ * No lock is held while the instance is created. The thread which creates it publishes
+ * its progress by CAS, and other threads wait for the result without holding a monitor,
+ * which keeps virtual threads unpinned. If creation fails, waiting threads retry. <br>
+ * <br>
+ * Because threads wait for each other, singletons which depend on each other (such as
+ * through {@code Provider#get} in a constructor) may be instantiated concurrently by threads
+ * each waiting for the other. Such a cycle of waiting threads is detected and reported as
+ * a circular dependency, rather than deadlocking. <br>
+ * <br>
+ * Subclasses may hold the instance differently, by overriding {@link #instance()} and
+ * {@link #publish(Object)}. Should the instance later be released, the next request
+ * creates it again, with the same guarantee that only one thread does so at a time.
+ *
+ */
 public class SingletonContextualProvider<T> implements ContextualProvider<T> {
 
 	private final ContextualProvider<T> delegate;
 	private volatile T instance;
+	private final AtomicReference<Initialization> initialization = new AtomicReference<>();
+
+	/**
+	 * The initialization each thread is waiting for, used to detect deadlocks
+	 */
+	private static final Map<Thread, Initialization> WAITING_THREADS = new ConcurrentHashMap<>();
 
 	public SingletonContextualProvider(ContextualProvider<T> delegate) {
 		this.delegate = delegate;
 	}
 
+	/**
+	 * Gets the current instance
+	 *
+	 * @return the instance, or null if not created or since released
+	 */
+	T instance() {
+		return instance;
+	}
+
+	/**
+	 * Publishes a newly created instance
+	 *
+	 * @param instance the instance
+	 */
+	void publish(T instance) {
+		this.instance = instance;
+	}
+
 	@Override
 	public T provideUsing(DependencyRepository repository) {
-		T instance = this.instance;
+		T instance = instance();
 		if (instance == null) {
-			synchronized (this) {
-				instance = this.instance;
-				if (instance == null) {
-					instance = delegate.provideUsing(repository);
-					this.instance = instance;
+			instance = initialize(repository);
+		}
+		return instance;
+	}
+
+	private T initialize(DependencyRepository repository) {
+		Thread currentThread = Thread.currentThread();
+		while (true) {
+			T instance = instance();
+			if (instance != null) {
+				return instance;
+			}
+			Initialization existing = initialization.get();
+			if (existing == null) {
+				Initialization ours = new Initialization(currentThread);
+				if (initialization.compareAndSet(null, ours)) {
+					return createInstance(repository, ours);
+				}
+				// Lost the race
+				continue;
+			}
+			if (existing == Initialization.COMPLETED) {
+				// Instance was published meanwhile, unless it has since been released
+				if (instance() == null) {
+					Initialization ours = new Initialization(currentThread);
+					if (initialization.compareAndSet(Initialization.COMPLETED, ours)) {
+						return createInstance(repository, ours);
+					}
 				}
+				continue;
+			}
+			if (existing.owner == currentThread) {
+				String message = "Singleton requested again while being instantiated on the same thread: " + delegate;
+				InjectorEvents.circularDependency(message);
+				throw new CircularDependencyException(message);
 			}
+			existing.await(currentThread);
+		}
+	}
+
+	private T createInstance(DependencyRepository repository, Initialization ours) {
+		T instance;
+		Object event = InjectorEvents.beginSingletonCreation();
+		try {
+			instance = delegate.provideUsing(repository);
+		} catch (RuntimeException | Error ex) {
+			// Let waiting threads retry
+			initialization.set(null);
+			ours.finish();
+			throw ex;
 		}
+		publish(instance);
+		initialization.set(Initialization.COMPLETED);
+		ours.finish();
+		InjectorEvents.endSingletonCreation(event, instance);
 		return instance;
 	}
 
+	private static final class Initialization {
+
+		static final Initialization COMPLETED = new Initialization(null);
+
+		volatile Thread owner;
+		private final CountDownLatch finished = new CountDownLatch(1);
+
+		Initialization(Thread owner) {
+			this.owner = owner;
+		}
+
+		void finish() {
+			owner = null;
+			finished.countDown();
+		}
+
+		void await(Thread currentThread) {
+			WAITING_THREADS.put(currentThread, this);
+			try {
+				detectDeadlock(currentThread);
+				boolean interrupted = false;
+				while (true) {
+					try {
+						finished.await();
+						break;
+					} catch (InterruptedException ex) {
+						interrupted = true;
+					}
+				}
+				if (interrupted) {
+					currentThread.interrupt();
+				}
+			} finally {
+				WAITING_THREADS.remove(currentThread);
+			}
+		}
+
+		/*
+		 * Follows the chain of threads waiting for each other. Each thread registers itself
+		 * before checking, so of two threads beginning to wait for each other, at least one
+		 * sees the other.
+		 */
+		private void detectDeadlock(Thread currentThread) {
+			Thread awaitedThread = this.owner;
+			Thread owner = awaitedThread;
+			int maxSteps = WAITING_THREADS.size() + 1;
+			for (int step = 0; owner != null && step < maxSteps; step++) {
+				if (owner == currentThread) {
+					String message = "Deadlock detected between threads instantiating singletons: thread " + currentThread.getName()
+							+ " would wait for thread " + awaitedThread.getName()
+							+ ", which is waiting, directly or indirectly, for thread " + currentThread.getName();
+					InjectorEvents.circularDependency(message);
+					throw new CircularDependencyException(message);
+				}
+				Initialization awaitedByOwner = WAITING_THREADS.get(owner);
+				if (awaitedByOwner == null) {
+					return;
+				}
+				owner = awaitedByOwner.owner;
+			}
+		}
+	}
+
 	@Override
 	public ContextlessProvider<T> attachTo(DependencyRepository repository) {
-		T instance = this.instance;
-		if (instance != null) {
+		T instance = instance();
+		if (instance != null && providesSameInstance()) {
 			// Instance already present, streamline using fixed provider
 			return new FixedContextlessProvider<>(instance);
 		}
@@ -60,9 +219,24 @@ public class SingletonContextualProvider<T> implements ContextualProvider<T> {
 		return delegate.permitsMultiBinding();
 	}
 
+	@Override
+	public ProvisionKind provisionKind() {
+		return (instance() != null) ? ProvisionKind.SINGLETON_HIT : delegate.provisionKind();
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return true;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitProvider(delegate);
+	}
+
 	@Override
 	public String toString() {
-		return "SingletonContextualProvider [delegate=" + delegate + ", instance=" + instance + "]";
+		return getClass().getSimpleName() + " [delegate=" + delegate + ", instance=" + instance() + "]";
 	}
 
 }
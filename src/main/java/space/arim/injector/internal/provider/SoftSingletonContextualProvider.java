@@ -0,0 +1,76 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import space.arim.injector.scope.SoftSingleton;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+
+/**
+ * Provides a single instance, held through a {@link SoftReference} so that the garbage
+ * collector may release it when memory runs low. A released instance is created again on
+ * the next request, by one thread at a time, as with {@link SingletonContextualProvider}. <br>
+ * <br>
+ * While the instance is present, requests read it without locking or allocating. Since the
+ * instance may change, it is never fixed in place of this provider.
+ *
+ */
+public final class SoftSingletonContextualProvider<T> extends SingletonContextualProvider<T> {
+
+	private volatile SoftReference<T> reference;
+
+	public SoftSingletonContextualProvider(ContextualProvider<T> delegate) {
+		super(delegate);
+	}
+
+	@Override
+	T instance() {
+		SoftReference<T> reference = this.reference;
+		return (reference == null) ? null : reference.get();
+	}
+
+	@Override
+	void publish(T instance) {
+		reference = new SoftReference<>(instance);
+	}
+
+	/**
+	 * Releases the instance, as the garbage collector would
+	 *
+	 */
+	void release() {
+		SoftReference<T> reference = this.reference;
+		if (reference != null) {
+			reference.clear();
+		}
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return false;
+	}
+
+	@Override
+	public Class<? extends Annotation> scopeAnnotation() {
+		return SoftSingleton.class;
+	}
+
+}
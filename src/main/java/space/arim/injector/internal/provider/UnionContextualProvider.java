@@ -0,0 +1,81 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.internal.DependencyRepository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Combines the multiple bindings of two providers. If both always provide the same set,
+ * the combined set is built once and then shared.
+ *
+ * @param <T> the type of the elements
+ */
+public final class UnionContextualProvider<T> implements ContextualProvider<Set<T>> {
+
+	private final ContextualProvider<Set<T>> first;
+	private final ContextualProvider<Set<T>> second;
+	private final boolean providesSameInstances;
+	private volatile Set<T> sharedInstances;
+
+	public UnionContextualProvider(ContextualProvider<Set<T>> first, ContextualProvider<Set<T>> second) {
+		this.first = first;
+		this.second = second;
+		providesSameInstances = first.providesSameInstance() && second.providesSameInstance();
+	}
+
+	@Override
+	public Set<T> provideUsing(DependencyRepository repository) {
+		Set<T> sharedInstances = this.sharedInstances;
+		if (sharedInstances != null) {
+			return sharedInstances;
+		}
+		Set<T> values = new HashSet<>(first.provideUsing(repository));
+		values.addAll(second.provideUsing(repository));
+		if (providesSameInstances) {
+			// Racing threads build equal sets
+			sharedInstances = new ImmutableArraySet<>(values.toArray());
+			this.sharedInstances = sharedInstances;
+			return sharedInstances;
+		}
+		return Collections.unmodifiableSet(values);
+	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.MULTIPLE;
+	}
+
+	@Override
+	public boolean providesSameInstance() {
+		return providesSameInstances;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitProvider(first);
+		visitor.visitProvider(second);
+	}
+
+}
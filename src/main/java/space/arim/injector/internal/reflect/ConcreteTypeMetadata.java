@@ -0,0 +1,134 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Objects;
+
+import space.arim.injector.internal.InjectionSettings;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.spec.SpecSupport;
+
+/**
+ * The results of scanning a concrete type: its injectable constructor, and the fields
+ * and methods to inject after construction
+ *
+ * @param <U> the type
+ */
+final class ConcreteTypeMetadata<U> {
+
+	final Constructor<U> constructor;
+	final InstantiableDependencyBunch constructorDependencies;
+	final List<InjectionPoint> injectionPoints;
+	final boolean singleton;
+
+	private ConcreteTypeMetadata(Constructor<U> constructor, InstantiableDependencyBunch constructorDependencies,
+								 List<InjectionPoint> injectionPoints, boolean singleton) {
+		this.constructor = constructor;
+		this.constructorDependencies = constructorDependencies;
+		this.injectionPoints = injectionPoints;
+		this.singleton = singleton;
+	}
+
+	static <U> ConcreteTypeMetadata<U> forType(InjectionSettings settings, Class<U> type) {
+		return ReflectionMetadataCache.metadataFor(type, new Key(settings), () -> scan(settings, type));
+	}
+
+	/**
+	 * Gets the metadata of a type only if it has already been scanned or preloaded
+	 *
+	 * @param <U> the type
+	 * @param settings the injection settings
+	 * @param type the type
+	 * @return the metadata, or null if absent
+	 */
+	static <U> ConcreteTypeMetadata<U> cached(InjectionSettings settings, Class<U> type) {
+		return ReflectionMetadataCache.cachedMetadata(type, new Key(settings));
+	}
+
+	/**
+	 * Caches the metadata of a type, such as that restored from a snapshot, so that the
+	 * type need not be scanned
+	 *
+	 * @param settings the injection settings
+	 * @param type the type
+	 * @param metadata the metadata
+	 */
+	static void preload(InjectionSettings settings, Class<?> type, ConcreteTypeMetadata<?> metadata) {
+		ReflectionMetadataCache.preload(type, new Key(settings), metadata);
+	}
+
+	static <U> ConcreteTypeMetadata<U> restore(Constructor<U> constructor, InstantiableDependencyBunch constructorDependencies,
+											  List<InjectionPoint> injectionPoints, boolean singleton) {
+		return new ConcreteTypeMetadata<>(constructor, constructorDependencies, injectionPoints, singleton);
+	}
+
+	private static <U> ConcreteTypeMetadata<U> scan(InjectionSettings settings, Class<U> type) {
+		Constructor<U> constructor = new ConstructorScan<>(settings, type).findInjectableConstructor();
+		constructor.setAccessible(true); // Check and/or set visibility
+		return new ConcreteTypeMetadata<>(
+				constructor,
+				new ExecutableDependencies(settings.spec(), constructor).collectDependencies(),
+				new InjectableMemberScan(type, settings).scanInjectionPoints(),
+				settings.spec().hasSingletonAnnotation(type));
+	}
+
+	/**
+	 * The settings which affect scanning
+	 *
+	 */
+	private static final class Key {
+
+		private final SpecSupport spec;
+		private final boolean privateInjection;
+		private final boolean staticInjection;
+
+		Key(InjectionSettings settings) {
+			spec = settings.spec();
+			privateInjection = settings.privateInjection();
+			staticInjection = settings.staticInjection();
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + spec.hashCode();
+			result = prime * result + (privateInjection ? 1231 : 1237);
+			result = prime * result + (staticInjection ? 1231 : 1237);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			}
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return spec.equals(other.spec)
+					&& privateInjection == other.privateInjection && staticInjection == other.staticInjection;
+		}
+	}
+
+}
@@ -19,34 +19,64 @@
 package space.arim.injector.internal.reflect;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.List;
 
+import space.arim.injector.Identifier;
 import space.arim.injector.internal.InjectionSettings;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.FusedInvokerBuilder;
 import space.arim.injector.internal.provider.ContextualProvider;
-import space.arim.injector.internal.provider.SingletonContextualProvider;
 
 public class ConstructorAsProvider<U> {
 
 	private final InjectionSettings settings;
+	private final ConcreteTypeMetadata<U> metadata;
 	private final Constructor<U> constructor;
 
-	public ConstructorAsProvider(InjectionSettings settings, Constructor<U> constructor) {
+	public ConstructorAsProvider(InjectionSettings settings, Class<U> type) {
 		this.settings = settings;
-		this.constructor = constructor;
+		metadata = ConcreteTypeMetadata.forType(settings, type);
+		constructor = metadata.constructor;
 	}
 
 	public ContextualProvider<U> createProvider() {
-		ContextualProvider<U> constructorProvider = injectFieldsAndMethodsProvider(createConstructorProvider());
+		// Metadata may be shared with other injectors, so take copies of dependencies
+		InstantiableDependencyBunch constructorDependencies = metadata.constructorDependencies.copy();
+		List<PostConstructorInjection> injections = new ArrayList<>(metadata.injectionPoints.size());
+		for (InjectionPoint injectionPoint : metadata.injectionPoints) {
+			injections.add(injectionPoint.createInjection(settings.invokers()));
+		}
+
+		ContextualProvider<U> constructorProvider = createFusedProvider(constructorDependencies, injections);
+		if (constructorProvider == null) {
+			constructorProvider = injectFieldsAndMethodsProvider(
+					createConstructorProvider(constructorDependencies), injections);
+		}
 
-		if (settings.spec().hasSingletonAnnotation(constructor.getDeclaringClass())) {
-			return new SingletonContextualProvider<>(constructorProvider);
+		return settings.scopes().applyScope(
+				Identifier.ofType(constructor.getDeclaringClass()), constructor.getDeclaringClass(),
+				metadata.singleton, constructorProvider);
+	}
+
+	private ContextualProvider<U> createFusedProvider(InstantiableDependencyBunch constructorDependencies,
+													  List<PostConstructorInjection> injections) {
+		FusedInvokerBuilder fusedInvoker = settings.invokers().fuse(constructor);
+		if (fusedInvoker == null) {
+			return null;
+		}
+		FusedProviderBuilder<U> fusedProvider = new FusedProviderBuilder<>(
+				constructor, constructorDependencies, fusedInvoker);
+		for (PostConstructorInjection injection : injections) {
+			if (!injection.fuseInto(fusedProvider)) {
+				return null;
+			}
 		}
-		return constructorProvider;
+		return fusedProvider.build();
 	}
 
-	private ContextualProvider<U> injectFieldsAndMethodsProvider(ContextualProvider<U> delegateProvider) {
-		InjectableMemberScan scan = new InjectableMemberScan(constructor.getDeclaringClass(), settings);
-		List<PostConstructorInjection> injections = scan.scanInjections();
+	private ContextualProvider<U> injectFieldsAndMethodsProvider(ContextualProvider<U> delegateProvider,
+																 List<PostConstructorInjection> injections) {
 		if (injections.isEmpty()) {
 			return delegateProvider;
 		}
@@ -54,9 +84,9 @@ public class ConstructorAsProvider<U> {
 		return new PostConstructorInjectionContextualProvider<>(delegateProvider, injectionsArray);
 	}
 
-	private ContextualProvider<U> createConstructorProvider() {
-		return new ConstructorContextualProvider<>(constructor,
-				new ExecutableDependencies(settings.spec(), constructor).collectDependencies());
+	private ContextualProvider<U> createConstructorProvider(InstantiableDependencyBunch constructorDependencies) {
+		return new ConstructorContextualProvider<>(constructor, settings.invokers().forConstructor(constructor),
+				constructorDependencies);
 	}
 	
 }
@@ -19,22 +19,27 @@
 package space.arim.injector.internal.reflect;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.error.InjectionInvocationException;
 import space.arim.injector.error.InjectorException;
 import space.arim.injector.internal.DependencyRepository;
 import space.arim.injector.internal.ExceptionContext;
 import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.ExecutableInvoker;
 import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 class ConstructorContextualProvider<T> implements ContextualProvider<T> {
 
 	private final Constructor<T> constructor;
+	private final ExecutableInvoker invoker;
 	private final InstantiableDependencyBunch parameterDependencies;
 
-	public ConstructorContextualProvider(Constructor<T> constructor, InstantiableDependencyBunch parameterDependencies) {
+	public ConstructorContextualProvider(Constructor<T> constructor, ExecutableInvoker invoker,
+										 InstantiableDependencyBunch parameterDependencies) {
 		this.constructor = constructor;
+		this.invoker = invoker;
 		this.parameterDependencies = parameterDependencies;
 	}
 
@@ -48,14 +53,25 @@ class ConstructorContextualProvider<T> implements ContextualProvider<T> {
 					"Invoking constructor " + QualifiedNames.forConstructor(constructor));
 		}
 		try {
-			return constructor.newInstance(arguments);
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| InstantiationException ex) {
+			@SuppressWarnings("unchecked")
+			T instance = (T) invoker.invoke(null, arguments);
+			return instance;
+		} catch (ReflectiveOperationException | IllegalArgumentException ex) {
 			throw new InjectionInvocationException(
 					"Failed to invoke constructor " + QualifiedNames.forConstructor(constructor), ex);
 		}
 	}
 
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.CONSTRUCTOR;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		parameterDependencies.visitEach(visitor);
+	}
+
 	@Override
 	public String toString() {
 		return "ConstructorContextualProvider [constructor=" + constructor + ", parameterDependencies="
@@ -25,14 +25,18 @@ import space.arim.injector.error.InjectorException;
 import space.arim.injector.internal.DependencyRepository;
 import space.arim.injector.internal.ExceptionContext;
 import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.invoke.FieldSetter;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 class FieldInjection implements PostConstructorInjection {
 
 	private final Field field;
+	private final FieldSetter setter;
 	private final InstantiableDependency dependency;
 
-	FieldInjection(Field field, InstantiableDependency dependency) {
+	FieldInjection(Field field, FieldSetter setter, InstantiableDependency dependency) {
 		this.field = field;
+		this.setter = setter;
 		this.dependency = dependency;
 	}
 
@@ -45,13 +49,23 @@ class FieldInjection implements PostConstructorInjection {
 			throw new ExceptionContext().rethrow(ex, "Injecting field " + QualifiedNames.forField(field));
 		}
 		try {
-			field.set(instance, value);
-		} catch (IllegalArgumentException | IllegalAccessException ex) {
+			setter.set(instance, value);
+		} catch (ReflectiveOperationException | IllegalArgumentException ex) {
 			throw new InjectionInvocationException(
 					"Unable to set field " + QualifiedNames.forField(field) + " on " + instance, ex);
 		}
 	}
 
+	@Override
+	public boolean fuseInto(FusedProviderBuilder<?> fusedProvider) {
+		return fusedProvider.addField(field, dependency);
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitDependency(dependency);
+	}
+
 	@Override
 	public String toString() {
 		return "FieldInjection [field=" + field + ", dependency=" + dependency + "]";
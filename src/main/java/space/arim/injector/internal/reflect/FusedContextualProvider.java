@@ -0,0 +1,124 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.error.InjectionInvocationException;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.ExceptionContext;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.ExecutableInvoker;
+import space.arim.injector.internal.invoke.FusedMemberFailure;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.util.Arrays;
+
+/**
+ * Constructs and injects an instance in one invocation. Replaces the combination of
+ * {@link ConstructorContextualProvider} and {@link PostConstructorInjectionContextualProvider}. <br>
+ * <br>
+ * Unlike the combination it replaces, all dependencies are resolved before the constructor is called.
+ *
+ * @param <T> the type
+ */
+class FusedContextualProvider<T> implements ContextualProvider<T> {
+
+	private final Constructor<T> constructor;
+	private final ExecutableInvoker invoker;
+	/**
+	 * The constructor and each injected member, parallel to {@code dependencies}
+	 */
+	private final Member[] members;
+	private final InstantiableDependencyBunch[] dependencies;
+	private final int argumentCount;
+
+	FusedContextualProvider(Constructor<T> constructor, ExecutableInvoker invoker,
+							Member[] members, InstantiableDependencyBunch[] dependencies) {
+		this.constructor = constructor;
+		this.invoker = invoker;
+		this.members = members;
+		this.dependencies = dependencies;
+		int argumentCount = 0;
+		for (InstantiableDependencyBunch bunch : dependencies) {
+			argumentCount += bunch.size();
+		}
+		this.argumentCount = argumentCount;
+	}
+
+	private static String describe(Member member) {
+		if (member instanceof Constructor) {
+			return "Invoking constructor " + QualifiedNames.forMember(member);
+		}
+		if (member instanceof Field) {
+			return "Injecting field " + QualifiedNames.forMember(member);
+		}
+		return "Injecting method " + QualifiedNames.forMember(member);
+	}
+
+	@Override
+	public T provideUsing(DependencyRepository repository) {
+		Object[] arguments = new Object[argumentCount];
+		int offset = 0;
+		for (int n = 0; n < dependencies.length; n++) {
+			InstantiableDependencyBunch bunch = dependencies[n];
+			try {
+				bunch.instantiateDependencies(repository, arguments, offset);
+			} catch (InjectorException ex) {
+				throw new ExceptionContext().rethrow(ex, describe(members[n]));
+			}
+			offset += bunch.size();
+		}
+		try {
+			@SuppressWarnings("unchecked")
+			T instance = (T) invoker.invoke(null, arguments);
+			return instance;
+		} catch (FusedMemberFailure ex) {
+			throw new InjectionInvocationException(
+					"Failed to invoke " + QualifiedNames.forMember(ex.member()), ex);
+		} catch (ReflectiveOperationException | IllegalArgumentException ex) {
+			throw new InjectionInvocationException(
+					"Failed to invoke fused provider for " + QualifiedNames.forConstructor(constructor), ex);
+		}
+	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.CONSTRUCTOR;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		for (InstantiableDependencyBunch bunch : dependencies) {
+			bunch.visitEach(visitor);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "FusedContextualProvider [constructor=" + constructor + ", members=" + Arrays.toString(members)
+				+ ", dependencies=" + Arrays.toString(dependencies) + "]";
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.FusedInvokerBuilder;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the constructor and injections of a concrete type into a single provider
+ *
+ * @param <T> the type
+ */
+final class FusedProviderBuilder<T> {
+
+	private final Constructor<T> constructor;
+	private final FusedInvokerBuilder invoker;
+	private final List<Member> members = new ArrayList<>();
+	private final List<InstantiableDependencyBunch> dependencies = new ArrayList<>();
+
+	FusedProviderBuilder(Constructor<T> constructor, InstantiableDependencyBunch constructorDependencies,
+						 FusedInvokerBuilder invoker) {
+		this.constructor = constructor;
+		this.invoker = invoker;
+		members.add(constructor);
+		dependencies.add(constructorDependencies);
+	}
+
+	boolean addField(Field field, InstantiableDependency dependency) {
+		if (!invoker.addField(field)) {
+			return false;
+		}
+		members.add(field);
+		dependencies.add(new InstantiableDependencyBunch(new InstantiableDependency[] {dependency}));
+		return true;
+	}
+
+	boolean addMethod(Method method, InstantiableDependencyBunch methodDependencies) {
+		if (!invoker.addMethod(method)) {
+			return false;
+		}
+		members.add(method);
+		dependencies.add(methodDependencies);
+		return true;
+	}
+
+	FusedContextualProvider<T> build() {
+		return new FusedContextualProvider<>(
+				constructor, invoker.build(),
+				members.toArray(new Member[] {}),
+				dependencies.toArray(new InstantiableDependencyBunch[] {}));
+	}
+
+}
@@ -63,13 +63,13 @@ class InjectableMemberScan {
 		return true;
 	}
 
-	final List<PostConstructorInjection> scanInjections() {
+	final List<InjectionPoint> scanInjectionPoints() {
 		/*
 		 * Spec requires fields and methods are injected in superclasses first.
 		 * Traverse hierarchy once, accumulating injections, then reverse resulting list
 		 */
 		Set<DistinctMethod> distinctInstanceMethods = new HashSet<>();
-		List<PostConstructorInjection> injections = new ArrayList<>();
+		List<InjectionPoint> injections = new ArrayList<>();
 		Class<?> clazz = subject;
 		while (!clazz.equals(Object.class)) {
 
@@ -82,7 +82,7 @@ class InjectableMemberScan {
 				if (!filter(method)) {
 					continue;
 				}
-				injections.add(wrapStaticInjections(method, injectionFor(method)));
+				injections.add(injectionPointFor(method));
 			}
 			for (Field field : clazz.getDeclaredFields()) {
 				if (!filter(field)) {
@@ -92,7 +92,7 @@ class InjectableMemberScan {
 					throw new MisannotatedInjecteeException(
 							"Cannot inject into final field " + QualifiedNames.forField(field));
 				}
-				injections.add(wrapStaticInjections(field, injectionFor(field)));
+				injections.add(injectionPointFor(field));
 			}
 
 			clazz = clazz.getSuperclass();
@@ -101,22 +101,15 @@ class InjectableMemberScan {
 		return injections;
 	}
 
-	private PostConstructorInjection wrapStaticInjections(Member member, PostConstructorInjection delegate) {
-		if (Modifier.isStatic(member.getModifiers())) {
-			return new StaticMemberInjection(member, delegate);
-		}
-		return delegate;
-	}
-
-	private PostConstructorInjection injectionFor(Method method) {
-		return new MethodInjection(method,
+	private InjectionPoint injectionPointFor(Method method) {
+		return InjectionPoint.forMethod(method,
 				new ExecutableDependencies(
 						settings.spec(), method
 				).collectDependencies());
 	}
 
-	private PostConstructorInjection injectionFor(Field field) {
-		return new FieldInjection(field,
+	private InjectionPoint injectionPointFor(Field field) {
+		return InjectionPoint.forField(field,
 				new AnnotatedTypeAsDependency(
 						settings.spec(), new GenericType(field.getAnnotatedType()), field.getAnnotations()
 				).createDependency());
@@ -0,0 +1,119 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.MemberInvokers;
+
+/**
+ * A field or method to be injected after construction, as found by scanning.
+ * Independent of any injector, and therefore cacheable.
+ *
+ */
+abstract class InjectionPoint {
+
+	final Member member;
+
+	private InjectionPoint(Member member) {
+		this.member = member;
+	}
+
+	static InjectionPoint forField(Field field, InstantiableDependency dependency) {
+		return new FieldPoint(field, dependency);
+	}
+
+	static InjectionPoint forMethod(Method method, InstantiableDependencyBunch dependencies) {
+		return new MethodPoint(method, dependencies);
+	}
+
+	/**
+	 * Creates the injection for use by a single injector
+	 *
+	 * @param invokers the invokers of the injector
+	 * @return the injection
+	 */
+	final PostConstructorInjection createInjection(MemberInvokers invokers) {
+		PostConstructorInjection injection = createInjection0(invokers);
+		if (Modifier.isStatic(member.getModifiers())) {
+			return new StaticMemberInjection(member, injection);
+		}
+		return injection;
+	}
+
+	abstract PostConstructorInjection createInjection0(MemberInvokers invokers);
+
+	/**
+	 * The dependencies injected into the member, in order
+	 *
+	 * @return the dependencies
+	 */
+	abstract InstantiableDependencyBunch dependencies();
+
+	private static final class FieldPoint extends InjectionPoint {
+
+		private final Field field;
+		private final InstantiableDependency dependency;
+
+		FieldPoint(Field field, InstantiableDependency dependency) {
+			super(field);
+			this.field = field;
+			this.dependency = dependency;
+		}
+
+		@Override
+		PostConstructorInjection createInjection0(MemberInvokers invokers) {
+			return new FieldInjection(field, invokers.forField(field), dependency.copy());
+		}
+
+		@Override
+		InstantiableDependencyBunch dependencies() {
+			return new InstantiableDependencyBunch(new InstantiableDependency[] {dependency});
+		}
+	}
+
+	private static final class MethodPoint extends InjectionPoint {
+
+		private final Method method;
+		private final InstantiableDependencyBunch dependencies;
+
+		MethodPoint(Method method, InstantiableDependencyBunch dependencies) {
+			super(method);
+			this.method = method;
+			this.dependencies = dependencies;
+		}
+
+		@Override
+		PostConstructorInjection createInjection0(MemberInvokers invokers) {
+			return new MethodInjection(method, invokers.forMethod(method), dependencies.copy());
+		}
+
+		@Override
+		InstantiableDependencyBunch dependencies() {
+			return dependencies;
+		}
+	}
+
+}
@@ -0,0 +1,501 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.InjectionSettings;
+import space.arim.injector.internal.dependency.DependencyKind;
+import space.arim.injector.internal.dependency.InstanceDependency;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.dependency.MultiInstanceDependency;
+import space.arim.injector.internal.dependency.MultiProviderDependency;
+import space.arim.injector.internal.dependency.OptionalInstanceDependency;
+import space.arim.injector.internal.dependency.OptionalProviderDependency;
+import space.arim.injector.internal.dependency.ProviderDependency;
+import space.arim.injector.internal.dependency.ToSpecProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes and reads the scanned metadata of concrete types, so that a later process need
+ * not scan them again. <br>
+ * <br>
+ * For each type, the snapshot records its injectable constructor, its injection points,
+ * and the dependencies of each, along with a stamp of the class files of the type and its
+ * superclasses. The stamp is taken from the location, modification time and size of each
+ * class file, or of the jar containing it, so that checking it does not require reading any
+ * class file. A type whose stamp no longer matches, or whose members can no longer be found,
+ * is skipped and therefore scanned as usual. A snapshot written with other settings affecting
+ * scanning is ignored entirely. <br>
+ * <br>
+ * Malformed snapshot data is rejected with an {@code IOException}.
+ *
+ */
+public final class MetadataSnapshot {
+
+	private static final int MAGIC = 0x534a4d53;
+	private static final int VERSION = 2;
+
+	private static final byte FIELD = 0;
+	private static final byte METHOD = 1;
+
+	private static final byte UNQUALIFIED = 0;
+	private static final byte QUALIFIER_ANNOTATION = 1;
+	private static final byte QUALIFIER_NAME = 2;
+
+	private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+	static {
+		for (Class<?> primitive : new Class<?>[] {
+				boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class}) {
+			PRIMITIVES.put(primitive.getName(), primitive);
+		}
+	}
+
+	private final InjectionSettings settings;
+
+	public MetadataSnapshot(InjectionSettings settings) {
+		this.settings = settings;
+	}
+
+	// Writing
+
+	/**
+	 * Writes the metadata of the given types. Types which have not been scanned are omitted
+	 *
+	 * @param types the concrete types
+	 * @param output the output to write to
+	 * @return the number of types written
+	 * @throws IOException if writing failed
+	 */
+	public int write(Collection<Class<?>> types, OutputStream output) throws IOException {
+		List<Class<?>> sortedTypes = new ArrayList<>(types);
+		sortedTypes.sort(Comparator.comparing(Class::getName));
+
+		List<byte[]> entries = new ArrayList<>(sortedTypes.size());
+		Map<String, Long> jarStamps = new HashMap<>();
+		for (Class<?> type : sortedTypes) {
+			ConcreteTypeMetadata<?> metadata = ConcreteTypeMetadata.cached(settings, type);
+			if (metadata == null) {
+				continue;
+			}
+			long classStamp;
+			try {
+				classStamp = classStamp(type, jarStamps);
+			} catch (IOException ex) {
+				// Without its class files, the type could never be restored
+				continue;
+			}
+			ByteArrayOutputStream entry = new ByteArrayOutputStream();
+			writeEntry(type, classStamp, metadata, new DataOutputStream(entry));
+			entries.add(entry.toByteArray());
+		}
+		DataOutputStream dataOutput = new DataOutputStream(output);
+		writeHeader(dataOutput);
+		dataOutput.writeInt(entries.size());
+		for (byte[] entry : entries) {
+			dataOutput.writeInt(entry.length);
+			dataOutput.write(entry);
+		}
+		dataOutput.flush();
+		return entries.size();
+	}
+
+	private void writeHeader(DataOutputStream output) throws IOException {
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeUTF(settings.spec().getClass().getName());
+		output.writeBoolean(settings.privateInjection());
+		output.writeBoolean(settings.staticInjection());
+	}
+
+	private static void writeEntry(Class<?> type, long classStamp, ConcreteTypeMetadata<?> metadata,
+								   DataOutputStream output) throws IOException {
+		output.writeUTF(type.getName());
+		output.writeLong(classStamp);
+		output.writeBoolean(metadata.singleton);
+		writeParameterTypes(metadata.constructor, output);
+		writeDependencies(metadata.constructorDependencies, output);
+		output.writeInt(metadata.injectionPoints.size());
+		for (InjectionPoint injectionPoint : metadata.injectionPoints) {
+			Member member = injectionPoint.member;
+			output.writeByte((member instanceof Field) ? FIELD : METHOD);
+			output.writeUTF(member.getDeclaringClass().getName());
+			output.writeUTF(member.getName());
+			if (member instanceof Method) {
+				writeParameterTypes((Method) member, output);
+			}
+			writeDependencies(injectionPoint.dependencies(), output);
+		}
+	}
+
+	private static void writeParameterTypes(Executable executable, DataOutputStream output) throws IOException {
+		Class<?>[] parameterTypes = executable.getParameterTypes();
+		output.writeInt(parameterTypes.length);
+		for (Class<?> parameterType : parameterTypes) {
+			output.writeUTF(parameterType.getName());
+		}
+	}
+
+	private static void writeDependencies(InstantiableDependencyBunch dependencies,
+										  DataOutputStream output) throws IOException {
+		output.writeInt(dependencies.size());
+		for (int n = 0; n < dependencies.size(); n++) {
+			InstantiableDependency dependency = dependencies.get(n);
+			output.writeByte(dependency.kind().ordinal());
+			writeIdentifier(dependency.identifier(), output);
+			switch (dependency.kind()) {
+			case PROVIDER:
+				output.writeUTF(((ProviderDependency<?>) dependency).providerType().getName());
+				break;
+			case MULTIPLE_PROVIDER:
+				output.writeUTF(((MultiProviderDependency<?>) dependency).providerType().getName());
+				break;
+			case OPTIONAL_PROVIDER:
+				output.writeUTF(((OptionalProviderDependency<?>) dependency).providerType().getName());
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	private static void writeIdentifier(Identifier<?> identifier, DataOutputStream output) throws IOException {
+		output.writeUTF(identifier.getType().getName());
+		Class<? extends Annotation> qualifierAnnotation = identifier.getQualifierAnnotation();
+		String qualifierName = identifier.getQualifierName();
+		if (qualifierAnnotation != null) {
+			output.writeByte(QUALIFIER_ANNOTATION);
+			output.writeUTF(qualifierAnnotation.getName());
+		} else if (qualifierName != null) {
+			output.writeByte(QUALIFIER_NAME);
+			output.writeUTF(qualifierName);
+		} else {
+			output.writeByte(UNQUALIFIED);
+		}
+	}
+
+	// Reading
+
+	/**
+	 * Reads a snapshot, caching the metadata of each type which is still up to date
+	 *
+	 * @param classLoader the class loader with which to load types
+	 * @param input the input to read from
+	 * @return the types whose metadata was restored
+	 * @throws IOException if reading failed, or the input is not a valid snapshot
+	 */
+	public Set<Class<?>> read(ClassLoader classLoader, InputStream input) throws IOException {
+		// Reading everything up front bounds every length against the bytes actually present
+		DataInputStream dataInput = new DataInputStream(new ByteArrayInputStream(readAll(input)));
+		if (dataInput.readInt() != MAGIC) {
+			throw new IOException("Not a SolidInjector snapshot");
+		}
+		if (dataInput.readInt() != VERSION
+				|| !dataInput.readUTF().equals(settings.spec().getClass().getName())
+				|| dataInput.readBoolean() != settings.privateInjection()
+				|| dataInput.readBoolean() != settings.staticInjection()) {
+			return new HashSet<>();
+		}
+		int entryCount = readLength(dataInput, Integer.BYTES);
+		Set<Class<?>> restored = new HashSet<>();
+		Map<String, Long> jarStamps = new HashMap<>();
+		for (int n = 0; n < entryCount; n++) {
+			byte[] entry = new byte[readLength(dataInput, 1)];
+			dataInput.readFully(entry);
+
+			Class<?> type = readEntry(classLoader, new DataInputStream(new ByteArrayInputStream(entry)), jarStamps);
+			if (type != null) {
+				restored.add(type);
+			}
+		}
+		return restored;
+	}
+
+	private static byte[] readAll(InputStream input) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = input.read(buffer)) != -1) {
+			output.write(buffer, 0, read);
+		}
+		return output.toByteArray();
+	}
+
+	/*
+	 * Reads a length, ensuring enough bytes remain for that many elements of the given minimum size
+	 */
+	private static int readLength(DataInputStream input, int minimumElementSize) throws IOException {
+		int length = input.readInt();
+		if (length < 0 || (long) length * minimumElementSize > input.available()) {
+			throw new IOException("Corrupt snapshot: invalid length " + length);
+		}
+		return length;
+	}
+
+	/*
+	 * Returns the restored type, or null if the entry is stale
+	 */
+	private Class<?> readEntry(ClassLoader classLoader, DataInputStream input,
+							   Map<String, Long> jarStamps) throws IOException {
+		try {
+			Class<?> type = loadClass(input.readUTF(), classLoader);
+			long classStamp = input.readLong();
+			try {
+				if (classStamp != classStamp(type, jarStamps)) {
+					return null;
+				}
+			} catch (IOException ex) {
+				// Class files no longer locatable
+				return null;
+			}
+			ConcreteTypeMetadata<?> metadata = readMetadata(type, classLoader, input);
+			if (metadata == null) {
+				return null;
+			}
+			ConcreteTypeMetadata.preload(settings, type, metadata);
+			return type;
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+			// Classes or members missing or inaccessible
+			return null;
+		}
+	}
+
+	private <U> ConcreteTypeMetadata<U> readMetadata(Class<U> type, ClassLoader classLoader, DataInputStream input)
+			throws IOException, ReflectiveOperationException {
+		boolean singleton = input.readBoolean();
+		Constructor<U> constructor = type.getDeclaredConstructor(readParameterTypes(classLoader, input));
+		InstantiableDependencyBunch constructorDependencies = readDependencies(classLoader, input);
+		if (constructorDependencies == null) {
+			return null;
+		}
+		// Member kind, declaring class, name, and dependency count
+		int injectionPointCount = readLength(input, 1 + 2 + 2 + Integer.BYTES);
+		List<InjectionPoint> injectionPoints = new ArrayList<>(injectionPointCount);
+		for (int n = 0; n < injectionPointCount; n++) {
+			byte memberKind = input.readByte();
+			if (memberKind != FIELD && memberKind != METHOD) {
+				throw new IOException("Corrupt snapshot: unknown member kind " + memberKind);
+			}
+			Class<?> declaringClass = loadClass(input.readUTF(), classLoader);
+			if (!declaringClass.isAssignableFrom(type)) {
+				return null;
+			}
+			String name = input.readUTF();
+			InjectionPoint injectionPoint;
+			if (memberKind == FIELD) {
+				Field field = declaringClass.getDeclaredField(name);
+				InstantiableDependencyBunch dependencies = readDependencies(classLoader, input);
+				if (dependencies == null || dependencies.size() != 1) {
+					return null;
+				}
+				field.setAccessible(true);
+				injectionPoint = InjectionPoint.forField(field, dependencies.get(0));
+			} else {
+				Method method = declaringClass.getDeclaredMethod(name, readParameterTypes(classLoader, input));
+				InstantiableDependencyBunch dependencies = readDependencies(classLoader, input);
+				if (dependencies == null) {
+					return null;
+				}
+				method.setAccessible(true);
+				injectionPoint = InjectionPoint.forMethod(method, dependencies);
+			}
+			injectionPoints.add(injectionPoint);
+		}
+		constructor.setAccessible(true);
+		return ConcreteTypeMetadata.restore(constructor, constructorDependencies, injectionPoints, singleton);
+	}
+
+	private static Class<?>[] readParameterTypes(ClassLoader classLoader, DataInputStream input)
+			throws IOException, ClassNotFoundException {
+		// Each type name takes at least its length
+		Class<?>[] parameterTypes = new Class<?>[readLength(input, 2)];
+		for (int n = 0; n < parameterTypes.length; n++) {
+			parameterTypes[n] = loadClass(input.readUTF(), classLoader);
+		}
+		return parameterTypes;
+	}
+
+	/*
+	 * Returns null if a Provider class is no longer recognised by the specification
+	 */
+	private InstantiableDependencyBunch readDependencies(ClassLoader classLoader, DataInputStream input)
+			throws IOException, ClassNotFoundException {
+		// Kind, identifier type name, and qualifier marker
+		InstantiableDependency[] dependencies = new InstantiableDependency[readLength(input, 1 + 2 + 1)];
+		DependencyKind[] kinds = DependencyKind.values();
+		for (int n = 0; n < dependencies.length; n++) {
+			int ordinal = input.readByte();
+			if (ordinal < 0 || ordinal >= kinds.length) {
+				throw new IOException("Corrupt snapshot: unknown dependency kind " + ordinal);
+			}
+			DependencyKind kind = kinds[ordinal];
+			Identifier<?> identifier = readIdentifier(classLoader, input);
+			switch (kind) {
+			case INSTANCE:
+				dependencies[n] = new InstanceDependency<>(identifier);
+				break;
+			case MULTIPLE_INSTANCES:
+				dependencies[n] = new MultiInstanceDependency<>(identifier);
+				break;
+			case OPTIONAL_INSTANCE:
+				dependencies[n] = new OptionalInstanceDependency<>(identifier);
+				break;
+			default:
+				Class<?> providerType = loadClass(input.readUTF(), classLoader);
+				if (!settings.spec().isAnyProvider(providerType)) {
+					return null;
+				}
+				dependencies[n] = createProviderDependency(kind, new ToSpecProvider<>(settings.spec(), providerType), identifier);
+				break;
+			}
+		}
+		return new InstantiableDependencyBunch(dependencies);
+	}
+
+	private static <P> InstantiableDependency createProviderDependency(DependencyKind kind, ToSpecProvider<P> toSpecProvider,
+																	   Identifier<?> identifier) {
+		switch (kind) {
+		case PROVIDER:
+			return new ProviderDependency<>(toSpecProvider, identifier);
+		case MULTIPLE_PROVIDER:
+			return new MultiProviderDependency<>(toSpecProvider, identifier);
+		case OPTIONAL_PROVIDER:
+			return new OptionalProviderDependency<>(toSpecProvider, identifier);
+		default:
+			throw new IllegalArgumentException("Not a provider dependency: " + kind);
+		}
+	}
+
+	private static Identifier<?> readIdentifier(ClassLoader classLoader, DataInputStream input)
+			throws IOException, ClassNotFoundException {
+		Class<?> type = loadClass(input.readUTF(), classLoader);
+		switch (input.readByte()) {
+		case UNQUALIFIED:
+			return Identifier.ofType(type);
+		case QUALIFIER_ANNOTATION:
+			return Identifier.ofTypeAndQualifier(type,
+					loadClass(input.readUTF(), classLoader).asSubclass(Annotation.class));
+		case QUALIFIER_NAME:
+			return Identifier.ofTypeAndNamed(type, input.readUTF());
+		default:
+			throw new IOException("Corrupt snapshot: unknown qualifier");
+		}
+	}
+
+	private static Class<?> loadClass(String name, ClassLoader classLoader) throws ClassNotFoundException {
+		Class<?> primitive = PRIMITIVES.get(name);
+		if (primitive != null) {
+			return primitive;
+		}
+		return Class.forName(name, false, classLoader);
+	}
+
+	/**
+	 * Stamps the class files of a type and its superclasses, which determine its metadata. The
+	 * stamp combines the location of each class file with the modification time and size of
+	 * either the class file itself or the jar containing it, and is cheap to recompute. <br>
+	 * <br>
+	 * Classes loaded from the runtime image are stamped with the Java version.
+	 *
+	 * @param type the type
+	 * @param jarStamps stamps of jar files already examined, by path
+	 * @return the stamp
+	 * @throws IOException if a class file could not be located
+	 */
+	static long classStamp(Class<?> type, Map<String, Long> jarStamps) throws IOException {
+		long stamp = 1L;
+		for (Class<?> clazz = type; clazz != null && !clazz.equals(Object.class); clazz = clazz.getSuperclass()) {
+			String resource = '/' + clazz.getName().replace('.', '/') + ".class";
+			URL location = clazz.getResource(resource);
+			if (location == null) {
+				throw new IOException("Class file " + resource + " not found");
+			}
+			stamp = 31L * stamp + location.toExternalForm().hashCode();
+			stamp = 31L * stamp + locationStamp(location, jarStamps);
+		}
+		return stamp;
+	}
+
+	private static long locationStamp(URL location, Map<String, Long> jarStamps) throws IOException {
+		switch (location.getProtocol()) {
+		case "file":
+			return fileStamp(toFile(location));
+		case "jar":
+			URL jarLocation = ((JarURLConnection) location.openConnection()).getJarFileURL();
+			if (!jarLocation.getProtocol().equals("file")) {
+				throw new IOException("Jar file " + jarLocation + " is not local");
+			}
+			File jarFile = toFile(jarLocation);
+			Long jarStamp = jarStamps.get(jarFile.getPath());
+			if (jarStamp == null) {
+				jarStamp = fileStamp(jarFile);
+				jarStamps.put(jarFile.getPath(), jarStamp);
+			}
+			return jarStamp;
+		case "jrt":
+			return System.getProperty("java.version").hashCode();
+		default:
+			throw new IOException("Unsupported class file location " + location);
+		}
+	}
+
+	private static File toFile(URL location) throws IOException {
+		try {
+			return new File(location.toURI());
+		} catch (URISyntaxException | IllegalArgumentException ex) {
+			throw new IOException("Invalid file location " + location, ex);
+		}
+	}
+
+	private static long fileStamp(File file) throws IOException {
+		long lastModified = file.lastModified();
+		if (lastModified == 0L) {
+			throw new IOException("File " + file + " not found");
+		}
+		return 31L * lastModified + file.length();
+	}
+
+}
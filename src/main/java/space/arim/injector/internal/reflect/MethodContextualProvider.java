@@ -18,25 +18,30 @@
  */
 package space.arim.injector.internal.reflect;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.error.InjectionInvocationException;
 import space.arim.injector.error.InjectorException;
 import space.arim.injector.internal.DependencyRepository;
 import space.arim.injector.internal.ExceptionContext;
 import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.ExecutableInvoker;
 import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 public class MethodContextualProvider<T> implements ContextualProvider<T> {
 
 	private final Object bindModule;
 	private final Method method;
+	private final ExecutableInvoker invoker;
 	private final InstantiableDependencyBunch parameterDependencies;
 
-	public MethodContextualProvider(Object bindModule, Method method, InstantiableDependencyBunch parameterDependencies) {
+	public MethodContextualProvider(Object bindModule, Method method, ExecutableInvoker invoker,
+									InstantiableDependencyBunch parameterDependencies) {
 		this.bindModule = bindModule;
 		this.method = method;
+		this.invoker = invoker;
 		this.parameterDependencies = parameterDependencies;
 	}
 
@@ -51,13 +56,23 @@ public class MethodContextualProvider<T> implements ContextualProvider<T> {
 		}
 		try {
 			@SuppressWarnings("unchecked")
-			T instance = (T) method.invoke(bindModule, arguments);
+			T instance = (T) invoker.invoke(bindModule, arguments);
 			return instance;
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+		} catch (ReflectiveOperationException | IllegalArgumentException ex) {
 			throw new InjectionInvocationException("Failed to invoke method " + QualifiedNames.forMethod(method), ex);
 		}
 	}
 
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.BIND_METHOD;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		parameterDependencies.visitEach(visitor);
+	}
+
 	@Override
 	public String toString() {
 		return "MethodContextualProvider [bindModule=" + bindModule + ", method=" + method + ", parameterDependencies="
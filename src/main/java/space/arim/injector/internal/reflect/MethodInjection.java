@@ -18,7 +18,6 @@
  */
 package space.arim.injector.internal.reflect;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import space.arim.injector.error.InjectionInvocationException;
@@ -26,14 +25,18 @@ import space.arim.injector.error.InjectorException;
 import space.arim.injector.internal.DependencyRepository;
 import space.arim.injector.internal.ExceptionContext;
 import space.arim.injector.internal.dependency.InstantiableDependencyBunch;
+import space.arim.injector.internal.invoke.ExecutableInvoker;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 class MethodInjection implements PostConstructorInjection {
 
 	private final Method method;
+	private final ExecutableInvoker invoker;
 	private final InstantiableDependencyBunch dependencies;
 
-	MethodInjection(Method method, InstantiableDependencyBunch dependencies) {
+	MethodInjection(Method method, ExecutableInvoker invoker, InstantiableDependencyBunch dependencies) {
 		this.method = method;
+		this.invoker = invoker;
 		this.dependencies = dependencies;
 	}
 
@@ -46,13 +49,23 @@ class MethodInjection implements PostConstructorInjection {
 			throw new ExceptionContext().rethrow(ex, "Injecting method " + QualifiedNames.forMethod(method));
 		}
 		try {
-			method.invoke(instance, arguments);
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+			invoker.invoke(instance, arguments);
+		} catch (ReflectiveOperationException | IllegalArgumentException ex) {
 			throw new InjectionInvocationException(
 					"Unable to invoke " + QualifiedNames.forMethod(method) + " on " + instance, ex);
 		}
 	}
 
+	@Override
+	public boolean fuseInto(FusedProviderBuilder<?> fusedProvider) {
+		return fusedProvider.addMethod(method, dependencies);
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		dependencies.visitEach(visitor);
+	}
+
 	@Override
 	public String toString() {
 		return "MethodInjection [method=" + method + ", dependencies=" + dependencies + "]";
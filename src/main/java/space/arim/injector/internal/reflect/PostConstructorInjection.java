@@ -19,9 +19,25 @@
 package space.arim.injector.internal.reflect;
 
 import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 interface PostConstructorInjection {
 
 	void injectInto(Object instance, DependencyRepository repository);
 
+	/**
+	 * Adds this injection to a fused provider
+	 *
+	 * @param fusedProvider the fused provider builder
+	 * @return false if this injection cannot be fused
+	 */
+	boolean fuseInto(FusedProviderBuilder<?> fusedProvider);
+
+	/**
+	 * Visits the dependencies of this injection
+	 *
+	 * @param visitor the visitor
+	 */
+	void visitDependencies(DependencyVisitor visitor);
+
 }
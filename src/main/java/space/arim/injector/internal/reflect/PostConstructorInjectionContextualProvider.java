@@ -18,8 +18,10 @@
  */
 package space.arim.injector.internal.reflect;
 
+import space.arim.injector.ProvisionKind;
 import space.arim.injector.internal.DependencyRepository;
 import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 class PostConstructorInjectionContextualProvider<T> implements ContextualProvider<T> {
 
@@ -39,4 +41,17 @@ class PostConstructorInjectionContextualProvider<T> implements ContextualProvide
 		}
 		return instance;
 	}
+
+	@Override
+	public ProvisionKind provisionKind() {
+		return ProvisionKind.CONSTRUCTOR;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		visitor.visitProvider(delegate);
+		for (PostConstructorInjection injection : injections) {
+			injection.visitDependencies(visitor);
+		}
+	}
 }
@@ -0,0 +1,181 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import space.arim.injector.generated.GeneratedFactory;
+import space.arim.injector.internal.InjectionSettings;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Collects the classes and members an injector accesses reflectively, in the format of
+ * the {@code reflect-config.json} file read by GraalVM native image. <br>
+ * <br>
+ * Scanning enumerates the declared constructors, methods, and fields of concrete types
+ * and their superclasses, and the public methods of bind modules. These are registered
+ * for querying, while the constructors and methods actually invoked are registered
+ * individually. Fields are registered in full, since they cannot be enumerated otherwise.
+ *
+ */
+public final class ReflectionConfiguration {
+
+	private final InjectionSettings settings;
+	private final Map<String, ClassEntry> classes = new TreeMap<>();
+
+	public ReflectionConfiguration(InjectionSettings settings) {
+		this.settings = settings;
+	}
+
+	private ClassEntry entry(Class<?> clazz) {
+		return classes.computeIfAbsent(clazz.getName(), ClassEntry::new);
+	}
+
+	/**
+	 * Adds a concrete type scanned by the injector, or its generated factory
+	 *
+	 * @param type the concrete type
+	 */
+	public void addConcreteType(Class<?> type) {
+		ConcreteTypeMetadata<?> metadata = ConcreteTypeMetadata.cached(settings, type);
+		if (metadata == null) {
+			if (settings.generatedFactories()) {
+				addGeneratedFactory(type);
+			}
+			return;
+		}
+		ClassEntry typeEntry = entry(type);
+		typeEntry.queryAllDeclaredConstructors = true;
+		typeEntry.addExecutable(metadata.constructor);
+		for (Class<?> clazz = type; !clazz.equals(Object.class); clazz = clazz.getSuperclass()) {
+			ClassEntry entry = entry(clazz);
+			entry.queryAllDeclaredMethods = true;
+			entry.allDeclaredFields = true;
+		}
+		for (InjectionPoint injectionPoint : metadata.injectionPoints) {
+			Member member = injectionPoint.member;
+			if (member instanceof Method) {
+				entry(member.getDeclaringClass()).addExecutable((Method) member);
+			}
+		}
+	}
+
+	private void addGeneratedFactory(Class<?> type) {
+		if (type.getClassLoader() == null) {
+			return;
+		}
+		Class<?> factoryClass;
+		try {
+			factoryClass = Class.forName(
+					type.getName() + GeneratedFactory.CLASS_NAME_SUFFIX, false, type.getClassLoader());
+		} catch (ClassNotFoundException ex) {
+			return;
+		}
+		ClassEntry entry = entry(factoryClass);
+		entry.methods.add(methodJson("<init>", new Class<?>[0]));
+	}
+
+	/**
+	 * Adds a bind module class and the bind methods found on it
+	 *
+	 * @param bindModuleClass the bind module class
+	 * @param bindMethods the bind methods
+	 */
+	public void addBindModule(Class<?> bindModuleClass, Collection<Method> bindMethods) {
+		entry(bindModuleClass).queryAllPublicMethods = true;
+		// Bind methods overriding those of Object are excluded by comparison with Object's methods
+		entry(Object.class).queryAllDeclaredMethods = true;
+		for (Method bindMethod : bindMethods) {
+			entry(bindMethod.getDeclaringClass()).addExecutable(bindMethod);
+		}
+	}
+
+	/**
+	 * Exports the collected classes as the contents of {@code reflect-config.json}
+	 *
+	 * @return the JSON representation
+	 */
+	public String toJson() {
+		// Class and member names need no escaping, since they cannot contain quotes or backslashes
+		StringBuilder builder = new StringBuilder("[\n");
+		boolean first = true;
+		for (ClassEntry entry : classes.values()) {
+			if (!first) {
+				builder.append(",\n");
+			}
+			first = false;
+			builder.append("  {\n    \"name\": \"").append(entry.name).append('"');
+			appendFlag(builder, "queryAllDeclaredConstructors", entry.queryAllDeclaredConstructors);
+			appendFlag(builder, "queryAllDeclaredMethods", entry.queryAllDeclaredMethods);
+			appendFlag(builder, "queryAllPublicMethods", entry.queryAllPublicMethods);
+			appendFlag(builder, "allDeclaredFields", entry.allDeclaredFields);
+			if (!entry.methods.isEmpty()) {
+				builder.append(",\n    \"methods\": [\n      ")
+						.append(String.join(",\n      ", entry.methods))
+						.append("\n    ]");
+			}
+			builder.append("\n  }");
+		}
+		return builder.append("\n]\n").toString();
+	}
+
+	private static void appendFlag(StringBuilder builder, String flag, boolean value) {
+		if (value) {
+			builder.append(",\n    \"").append(flag).append("\": true");
+		}
+	}
+
+	private static String methodJson(String name, Class<?>[] parameterTypes) {
+		StringBuilder builder = new StringBuilder("{\"name\": \"").append(name).append("\", \"parameterTypes\": [");
+		for (int n = 0; n < parameterTypes.length; n++) {
+			if (n != 0) {
+				builder.append(", ");
+			}
+			builder.append('"').append(parameterTypes[n].getTypeName()).append('"');
+		}
+		return builder.append("]}").toString();
+	}
+
+	private static final class ClassEntry {
+
+		final String name;
+		boolean queryAllDeclaredConstructors;
+		boolean queryAllDeclaredMethods;
+		boolean queryAllPublicMethods;
+		boolean allDeclaredFields;
+		final Set<String> methods = new TreeSet<>();
+
+		ClassEntry(String name) {
+			this.name = name;
+		}
+
+		void addExecutable(Executable executable) {
+			String name = (executable instanceof Method) ? executable.getName() : "<init>";
+			methods.add(methodJson(name, executable.getParameterTypes()));
+		}
+	}
+
+}
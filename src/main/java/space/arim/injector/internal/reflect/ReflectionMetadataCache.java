@@ -0,0 +1,151 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of the results of scanning classes, shared by all injectors. <br>
+ * <br>
+ * Metadata is kept per class in a {@link ClassValue}, so it is stored alongside the class
+ * itself and does not prevent the class, nor its class loader, from being unloaded. Keys
+ * must therefore not hold strong references to other class loaders. <br>
+ * <br>
+ * Since metadata refers to classes of this library, it is only stored alongside classes
+ * whose loader already sees this library, namely this library's own class loader and its
+ * descendants. Storing it alongside a class of a parent loader would otherwise keep this
+ * library loaded as long as that class. Metadata of classes from ancestor loaders is instead
+ * kept by this class itself, while that of classes from unrelated loaders is only weakly
+ * held and may need to be scanned again.
+ *
+ */
+public final class ReflectionMetadataCache {
+
+	private static final ClassLoader LIBRARY_LOADER = ReflectionMetadataCache.class.getClassLoader();
+
+	/*
+	 * Metadata of classes from ancestor loaders, which outlive this library in any event
+	 */
+	private static final ConcurrentMap<Class<?>, ConcurrentMap<Object, Object>> ANCESTOR_METADATA = new ConcurrentHashMap<>();
+
+	/*
+	 * Values are either the metadata map itself, or a weak reference to it. Only the former
+	 * may strongly refer to classes of this library
+	 */
+	private static final ClassValue<Object> METADATA = new ClassValue<Object>() {
+		@Override
+		protected Object computeValue(Class<?> type) {
+			ClassLoader typeLoader = type.getClassLoader();
+			if (isAncestorOrSelf(LIBRARY_LOADER, typeLoader)) {
+				return new ConcurrentHashMap<>();
+			}
+			if (isAncestorOrSelf(typeLoader, LIBRARY_LOADER)) {
+				return new WeakReference<>(ANCESTOR_METADATA.computeIfAbsent(type, (t) -> new ConcurrentHashMap<>()));
+			}
+			return new WeakReference<>(new ConcurrentHashMap<>());
+		}
+	};
+
+	private ReflectionMetadataCache() {}
+
+	private static boolean isAncestorOrSelf(ClassLoader ancestor, ClassLoader loader) {
+		if (ancestor == null) {
+			// The bootstrap loader
+			return true;
+		}
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static ConcurrentMap<Object, Object> metadataForType(Class<?> type) {
+		while (true) {
+			Object value = METADATA.get(type);
+			if (!(value instanceof WeakReference)) {
+				@SuppressWarnings("unchecked")
+				ConcurrentMap<Object, Object> metadataForType = (ConcurrentMap<Object, Object>) value;
+				return metadataForType;
+			}
+			@SuppressWarnings("unchecked")
+			ConcurrentMap<Object, Object> metadataForType = ((WeakReference<ConcurrentMap<Object, Object>>) value).get();
+			if (metadataForType != null) {
+				return metadataForType;
+			}
+			// Cleared since nothing else held it
+			METADATA.remove(type);
+		}
+	}
+
+	/**
+	 * Gets cached metadata, or scans and caches it. If scanning fails, nothing is cached
+	 *
+	 * @param <V> the type of the metadata
+	 * @param type the class the metadata is about
+	 * @param key the key identifying the metadata, including the settings it depends on
+	 * @param scanner scans the metadata if it is absent
+	 * @return the metadata
+	 */
+	public static <V> V metadataFor(Class<?> type, Object key, Supplier<V> scanner) {
+		ConcurrentMap<Object, Object> metadataForType = metadataForType(type);
+		Object metadata = metadataForType.get(key);
+		if (metadata == null) {
+			metadata = scanner.get();
+			Object existing = metadataForType.putIfAbsent(key, metadata);
+			if (existing != null) {
+				metadata = existing;
+			}
+		}
+		@SuppressWarnings("unchecked")
+		V casted = (V) metadata;
+		return casted;
+	}
+
+	/**
+	 * Gets cached metadata without scanning
+	 *
+	 * @param <V> the type of the metadata
+	 * @param type the class the metadata is about
+	 * @param key the key identifying the metadata
+	 * @return the metadata, or null if it is not cached
+	 */
+	public static <V> V cachedMetadata(Class<?> type, Object key) {
+		@SuppressWarnings("unchecked")
+		V casted = (V) metadataForType(type).get(key);
+		return casted;
+	}
+
+	/**
+	 * Caches metadata obtained otherwise than by scanning. Existing metadata is kept
+	 *
+	 * @param type the class the metadata is about
+	 * @param key the key identifying the metadata
+	 * @param metadata the metadata
+	 */
+	public static void preload(Class<?> type, Object key, Object metadata) {
+		metadataForType(type).putIfAbsent(key, metadata);
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.DependencyVisitor;
 
 /**
  * Static injection wrapper which ensures static methods and fields are injected at most once
@@ -49,6 +50,17 @@ class StaticMemberInjection implements PostConstructorInjection {
 		delegate.injectInto(instance, repository);
 	}
 
+	@Override
+	public boolean fuseInto(FusedProviderBuilder<?> fusedProvider) {
+		// Fused providers cannot express injecting at most once
+		return false;
+	}
+
+	@Override
+	public void visitDependencies(DependencyVisitor visitor) {
+		delegate.visitDependencies(visitor);
+	}
+
 	@Override
 	public String toString() {
 		return "StaticMemberInjection [member=" + member + ", delegate=" + delegate + "]";
@@ -33,6 +33,11 @@ public class CombinedSpecSupport implements SpecSupport {
 		return jakarta.hasInjectAnnotation(element) || javax.hasInjectAnnotation(element);
 	}
 
+	@Override
+	public boolean isInjectAnnotation(Class<? extends Annotation> annotation) {
+		return jakarta.isInjectAnnotation(annotation) || javax.isInjectAnnotation(annotation);
+	}
+
 	@Override
 	public boolean hasSingletonAnnotation(AnnotatedElement element) {
 		return jakarta.hasSingletonAnnotation(element) || javax.hasSingletonAnnotation(element);
@@ -60,4 +65,18 @@ public class CombinedSpecSupport implements SpecSupport {
 				jakarta.externalize(provider, extProviderClass) : javax.externalize(provider, extProviderClass);
 	}
 
+	/*
+	 * Stateless, so instances of the same class are interchangeable
+	 */
+
+	@Override
+	public int hashCode() {
+		return getClass().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		return this == object || object != null && getClass() == object.getClass();
+	}
+
 }
@@ -34,6 +34,11 @@ abstract class SingleSpecSupport<P> implements SpecSupport {
 		return element.getAnnotation(getInjectAnnotationClass()) != null;
 	}
 
+	@Override
+	public final boolean isInjectAnnotation(Class<? extends Annotation> annotation) {
+		return annotation.equals(getInjectAnnotationClass());
+	}
+
 	@Override
 	public final boolean hasSingletonAnnotation(AnnotatedElement element) {
 		return element.getAnnotation(getSingletonAnnotationClass()) != null;
@@ -65,4 +70,18 @@ abstract class SingleSpecSupport<P> implements SpecSupport {
 		return annotation.isAnnotationPresent(getQualifierClass());
 	}
 
+	/*
+	 * Stateless, so instances of the same class are interchangeable
+	 */
+
+	@Override
+	public int hashCode() {
+		return getClass().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		return this == object || object != null && getClass() == object.getClass();
+	}
+
 }
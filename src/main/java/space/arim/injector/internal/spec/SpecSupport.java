@@ -33,6 +33,14 @@ public interface SpecSupport {
 	 */
 	boolean hasInjectAnnotation(AnnotatedElement element);
 
+	/**
+	 * Determines whether the specified annotation is a recognised {@literal @Inject}
+	 *
+	 * @param annotation the annotation class
+	 * @return true if the annotation is an inject annotation
+	 */
+	boolean isInjectAnnotation(Class<? extends Annotation> annotation);
+
 	/**
 	 * Determines whether {@literal @Singleton} is present
 	 * 
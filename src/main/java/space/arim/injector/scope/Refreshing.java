@@ -0,0 +1,66 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Identifies a concrete type or bind method whose single instance expires after a period,
+ * and is then replaced. <br>
+ * <br>
+ * Only the first creation is waited for. Once the instance has expired, the next request
+ * starts creating a replacement in the background, and requests continue to receive the
+ * expired instance until the replacement is ready. If creating the replacement fails, the
+ * failure is reported as a flight recorder event, and the expired instance is kept for
+ * another period before the next attempt. <br>
+ * <br>
+ * Suitable for configuration snapshots and credentials which are periodically reloaded.
+ * Dependents which keep a reference to the instance do not see replacements; inject a
+ * {@code Provider} to obtain the current instance. A type or bind method may not be both
+ * refreshing and otherwise scoped.
+ *
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface Refreshing {
+
+	/**
+	 * The period after which an instance expires, which must be positive
+	 *
+	 * @return the period, in terms of {@link #unit()}
+	 */
+	long value();
+
+	/**
+	 * The unit of the period
+	 *
+	 * @return the time unit
+	 */
+	TimeUnit unit();
+
+}
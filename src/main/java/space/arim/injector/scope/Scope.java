@@ -0,0 +1,53 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import space.arim.injector.Identifier;
+
+import java.util.function.Supplier;
+
+/**
+ * Determines how the instances of a binding are reused. A scope is registered with
+ * {@code InjectorBuilder.bindScope} against a scope annotation. Concrete types and bind
+ * methods bearing that annotation are then provided through the scope. <br>
+ * <br>
+ * A scope may not be combined with {@code Singleton} or with another scope on the same
+ * type or bind method.
+ *
+ */
+public interface Scope {
+
+	/**
+	 * Scopes a binding. Called once for each scoped binding, when the injector creates
+	 * its provider. The returned supplier is called for every request of the binding, and
+	 * should therefore be cheap when it reuses an instance. <br>
+	 * <br>
+	 * The unscoped supplier creates a new instance each time, resolving its dependencies
+	 * within the request in progress on the calling thread, if any. It may also be called
+	 * outside of a request, including from another thread.
+	 *
+	 * @param <T> the type of the binding
+	 * @param identifier the identifier of the binding
+	 * @param unscoped creates new instances
+	 * @return the scoped supplier of instances
+	 */
+	<T> Supplier<T> scope(Identifier<T> identifier, Supplier<T> unscoped);
+
+}
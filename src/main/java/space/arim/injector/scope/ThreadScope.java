@@ -0,0 +1,48 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import space.arim.injector.Identifier;
+
+import java.util.function.Supplier;
+
+/**
+ * Provides one instance per thread for each binding. <br>
+ * <br>
+ * Each binding keeps its instances in its own {@link ThreadLocal}, so that once a thread
+ * has its instance, requests neither allocate nor lock. Instances live as long as their
+ * thread, or the injector, whichever is shorter. With thread pools, instances are therefore
+ * reused across tasks, and should not retain state from one task to the next.
+ *
+ */
+public final class ThreadScope implements Scope {
+
+	@Override
+	public <T> Supplier<T> scope(Identifier<T> identifier, Supplier<T> unscoped) {
+		ThreadLocal<T> instances = ThreadLocal.withInitial(unscoped);
+		return instances::get;
+	}
+
+	@Override
+	public String toString() {
+		return "ThreadScope";
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An open unit of work, holding the instances of the bindings scoped to it. Obtained from
+ * {@code Injector.openScope()} or {@link UnitOfWorkScope#open()}. Not thread safe. <br>
+ * <br>
+ * Use with try{@literal -}with{@literal -}resources, on the thread which opened it:
+ * <pre>
+ * {@code
+ * try (UnitOfWork unitOfWork = injector.openScope()) {
+ *     injector.request(RecordProcessor.class).process(record);
+ * }
+ * }
+ * </pre>
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+	private final UnitOfWorkScope scope;
+	private final UnitOfWork previous;
+	private final Map<Object, Object> instances = new IdentityHashMap<>();
+	private boolean closed;
+
+	UnitOfWork(UnitOfWorkScope scope, UnitOfWork previous) {
+		this.scope = scope;
+		this.previous = previous;
+	}
+
+	<T> T instance(Object binding, Supplier<T> unscoped) {
+		@SuppressWarnings("unchecked")
+		T instance = (T) instances.get(binding);
+		if (instance == null) {
+			instance = unscoped.get();
+			instances.put(binding, instance);
+		}
+		return instance;
+	}
+
+	/**
+	 * Whether this unit of work has been closed
+	 *
+	 * @return true if closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Closes this unit of work, discarding its instances, and restores the unit of work
+	 * which was open before it, if any. Has no effect if already closed.
+	 *
+	 * @throws IllegalStateException if called from another thread, or before closing the
+	 * units of work opened after this one
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		scope.close(this, previous);
+		closed = true;
+		instances.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "UnitOfWork [closed=" + closed + "]";
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.error.ScopeNotActiveException;
+
+import java.util.function.Supplier;
+
+/**
+ * Provides one instance per {@link UnitOfWork} for each binding. <br>
+ * <br>
+ * Each unit of work keeps its instances in an identity map keyed by the scoped binding, so
+ * that it only holds entries for the bindings requested within it, however many bindings
+ * have been scoped over time. Closing the unit of work discards the map as a whole. A unit
+ * of work is bound to the thread which opened it, so its instances are neither locked nor
+ * shared with other threads.
+ *
+ */
+public final class UnitOfWorkScope implements Scope {
+
+	private final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+	/**
+	 * Opens a unit of work on the current thread, which lasts until closed. If another unit
+	 * of work is already open, it is restored when the new one is closed.
+	 *
+	 * @return the unit of work
+	 */
+	public UnitOfWork open() {
+		UnitOfWork unitOfWork = new UnitOfWork(this, current.get());
+		current.set(unitOfWork);
+		return unitOfWork;
+	}
+
+	void close(UnitOfWork unitOfWork, UnitOfWork previous) {
+		if (current.get() != unitOfWork) {
+			throw new IllegalStateException(
+					"Unit of work must be closed by the thread which opened it, after those opened since");
+		}
+		if (previous == null) {
+			current.remove();
+		} else {
+			current.set(previous);
+		}
+	}
+
+	@Override
+	public <T> Supplier<T> scope(Identifier<T> identifier, Supplier<T> unscoped) {
+		return new Supplier<T>() {
+			@Override
+			public T get() {
+				UnitOfWork unitOfWork = current.get();
+				if (unitOfWork == null) {
+					throw new ScopeNotActiveException(
+							"No unit of work is open on this thread, as required by " + identifier);
+				}
+				// This supplier identifies the binding
+				return unitOfWork.instance(this, unscoped);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return "UnitOfWorkScope";
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("space.arim.injector.CircularDependencyDetected")
+@Label("Circular Dependency Detected")
+@Description("A circular dependency was detected, and an exception is about to be thrown")
+@Category("SolidInjector")
+final class CircularDependencyDetectedEvent extends Event {
+
+	private static final CircularDependencyDetectedEvent ENABLED_CHECK = new CircularDependencyDetectedEvent();
+
+	@Label("Message")
+	String message;
+
+	static void commitIfEnabled(String message) {
+		if (!ENABLED_CHECK.isEnabled()) {
+			return;
+		}
+		CircularDependencyDetectedEvent event = new CircularDependencyDetectedEvent();
+		event.message = message;
+		event.commit();
+	}
+
+}
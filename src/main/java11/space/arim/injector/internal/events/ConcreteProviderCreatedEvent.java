@@ -0,0 +1,56 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("space.arim.injector.ConcreteProviderCreated")
+@Label("Concrete Provider Created")
+@Description("Creation of the provider for a concrete type, including scanning its constructor and members")
+@Category("SolidInjector")
+final class ConcreteProviderCreatedEvent extends Event {
+
+	private static final ConcreteProviderCreatedEvent ENABLED_CHECK = new ConcreteProviderCreatedEvent();
+
+	@Label("Type")
+	Class<?> type;
+
+	static ConcreteProviderCreatedEvent beginIfEnabled() {
+		if (!ENABLED_CHECK.isEnabled()) {
+			return null;
+		}
+		ConcreteProviderCreatedEvent event = new ConcreteProviderCreatedEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(Class<?> type) {
+		end();
+		if (shouldCommit()) {
+			this.type = type;
+			commit();
+		}
+	}
+
+}
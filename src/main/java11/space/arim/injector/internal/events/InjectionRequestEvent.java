@@ -0,0 +1,71 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import space.arim.injector.Identifier;
+
+@Name("space.arim.injector.InjectionRequest")
+@Label("Injection Request")
+@Description("Provision of an instance, including the provision of its dependencies")
+@Category("SolidInjector")
+@StackTrace(false)
+final class InjectionRequestEvent extends Event {
+
+	/*
+	 * Whether an event is enabled does not depend on the instance
+	 */
+	private static final InjectionRequestEvent ENABLED_CHECK = new InjectionRequestEvent();
+
+	@Label("Identifier")
+	String identifier;
+
+	@Label("Type")
+	Class<?> type;
+
+	@Label("Depth")
+	@Description("The number of requests in progress on the thread, including this one")
+	int depth;
+
+	static InjectionRequestEvent beginIfEnabled() {
+		if (!ENABLED_CHECK.isEnabled()) {
+			return null;
+		}
+		InjectionRequestEvent event = new InjectionRequestEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(Identifier<?> identifier, int depth) {
+		end();
+		if (shouldCommit()) {
+			this.identifier = identifier.toString();
+			this.type = identifier.getType();
+			this.depth = depth;
+			commit();
+		}
+	}
+
+}
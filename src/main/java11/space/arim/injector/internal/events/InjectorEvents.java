@@ -0,0 +1,80 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import space.arim.injector.Identifier;
+
+/**
+ * Emits Java Flight Recorder events. Replaces the implementation used on Java 8. <br>
+ * <br>
+ * The event classes are loaded only if the {@code jdk.jfr} module is present, so that this
+ * library continues to work on runtimes without it. Events not enabled in any recording
+ * are not allocated.
+ *
+ */
+public final class InjectorEvents {
+
+	private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+	private InjectorEvents() {}
+
+	public static Object beginRequest() {
+		return (AVAILABLE) ? InjectionRequestEvent.beginIfEnabled() : null;
+	}
+
+	public static void endRequest(Object event, Identifier<?> identifier, int depth) {
+		if (event != null) {
+			((InjectionRequestEvent) event).end(identifier, depth);
+		}
+	}
+
+	public static Object beginSingletonCreation() {
+		return (AVAILABLE) ? SingletonCreatedEvent.beginIfEnabled() : null;
+	}
+
+	public static void endSingletonCreation(Object event, Object instance) {
+		if (event != null) {
+			((SingletonCreatedEvent) event).end(instance);
+		}
+	}
+
+	public static Object beginProviderCreation() {
+		return (AVAILABLE) ? ConcreteProviderCreatedEvent.beginIfEnabled() : null;
+	}
+
+	public static void endProviderCreation(Object event, Class<?> type) {
+		if (event != null) {
+			((ConcreteProviderCreatedEvent) event).end(type);
+		}
+	}
+
+	public static void circularDependency(String message) {
+		if (AVAILABLE) {
+			CircularDependencyDetectedEvent.commitIfEnabled(message);
+		}
+	}
+
+	public static void refreshFailed(Identifier<?> identifier, RuntimeException failure) {
+		if (AVAILABLE) {
+			RefreshFailedEvent.commitIfEnabled(identifier, failure);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import space.arim.injector.Identifier;
+
+@Name("space.arim.injector.RefreshFailed")
+@Label("Refresh Failed")
+@Description("Creating the replacement of a refreshing instance failed, and the expired instance is kept")
+@Category("SolidInjector")
+final class RefreshFailedEvent extends Event {
+
+	private static final RefreshFailedEvent ENABLED_CHECK = new RefreshFailedEvent();
+
+	@Label("Identifier")
+	String identifier;
+
+	@Label("Failure")
+	String failure;
+
+	static void commitIfEnabled(Identifier<?> identifier, RuntimeException failure) {
+		if (!ENABLED_CHECK.isEnabled()) {
+			return;
+		}
+		RefreshFailedEvent event = new RefreshFailedEvent();
+		event.identifier = identifier.toString();
+		event.failure = failure.toString();
+		event.commit();
+	}
+
+}
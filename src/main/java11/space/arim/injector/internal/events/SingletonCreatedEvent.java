@@ -0,0 +1,56 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("space.arim.injector.SingletonCreated")
+@Label("Singleton Created")
+@Description("Instantiation of a singleton, including the provision of its dependencies")
+@Category("SolidInjector")
+final class SingletonCreatedEvent extends Event {
+
+	private static final SingletonCreatedEvent ENABLED_CHECK = new SingletonCreatedEvent();
+
+	@Label("Instance Type")
+	Class<?> instanceType;
+
+	static SingletonCreatedEvent beginIfEnabled() {
+		if (!ENABLED_CHECK.isEnabled()) {
+			return null;
+		}
+		SingletonCreatedEvent event = new SingletonCreatedEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(Object instance) {
+		end();
+		if (shouldCommit()) {
+			this.instanceType = instance.getClass();
+			commit();
+		}
+	}
+
+}
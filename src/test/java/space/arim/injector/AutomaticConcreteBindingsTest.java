@@ -18,15 +18,23 @@
  */
 package space.arim.injector;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
 import jakarta.inject.Named;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import space.arim.injector.error.MisannotatedInjecteeException;
 import space.arim.injector.error.MisconfiguredBindingsException;
 
 public class AutomaticConcreteBindingsTest {
@@ -56,10 +64,73 @@ public class AutomaticConcreteBindingsTest {
 		assertNotNull(injector.request(Identifier.ofTypeAndNamed(ConcreteType.class, NAMED_VALUE)));
 	}
 
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	public void testRepeatedFailure(boolean cacheFailedBindings) {
+		Injector injector = new InjectorBuilder().cacheFailedBindings(cacheFailedBindings).build();
+
+		MisannotatedInjecteeException first = assertThrows(MisannotatedInjecteeException.class,
+				() -> injector.request(UninjectableType.class));
+		MisannotatedInjecteeException second = assertThrows(MisannotatedInjecteeException.class,
+				() -> injector.request(UninjectableType.class));
+		assertNotSame(first, second);
+		assertEquals(first.getMessage(), second.getMessage());
+		assertFalse(thrownByFailedBindings(first));
+		assertEquals(cacheFailedBindings, thrownByFailedBindings(second),
+				"The second failure should be recreated from the cache if and only if it is enabled");
+		assertNotNull(injector.request(ConcreteType.class));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	public void testRepeatedFailureOfDependency(boolean cacheFailedBindings) {
+		Injector injector = new InjectorBuilder().cacheFailedBindings(cacheFailedBindings).build();
+
+		MisannotatedInjecteeException first = assertThrows(MisannotatedInjecteeException.class,
+				() -> injector.request(DependsOnMisannotated.class));
+		MisannotatedInjecteeException second = assertThrows(MisannotatedInjecteeException.class,
+				() -> injector.request(DependsOnMisannotated.class));
+		assertEquals(cacheFailedBindings, thrownByFailedBindings(second));
+		assertEquals(first.getMessage(), second.getMessage(), "Context should not be repeated");
+	}
+
+	private static boolean thrownByFailedBindings(Exception ex) {
+		for (StackTraceElement element : ex.getStackTrace()) {
+			if (element.getClassName().equals("space.arim.injector.internal.FailedBindings")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static class ConcreteType {
 
 	}
 
+	public static class UninjectableType {
+
+		public UninjectableType(String argument) {}
+	}
+
+	public static class MisannotatedParameter {
+
+		@javax.inject.Inject
+		@jakarta.inject.Inject
+		public MisannotatedParameter(@Named(NAMED_VALUE) @javax.inject.Named(NAMED_VALUE) @SecondQualifier String doublyQualified) {}
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@javax.inject.Qualifier
+	@jakarta.inject.Qualifier
+	public @interface SecondQualifier {}
+
+	public static class DependsOnMisannotated {
+
+		@javax.inject.Inject
+		@jakarta.inject.Inject
+		public DependsOnMisannotated(MisannotatedParameter dependency) {}
+	}
+
 	private static final String NAMED_VALUE = "qualification";
 
 	public static class BinderOfQualifier {
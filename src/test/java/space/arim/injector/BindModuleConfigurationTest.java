@@ -0,0 +1,129 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.error.MisconfiguredBindingsException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class BindModuleConfigurationTest {
+
+	private static List<Object> numberModules() {
+		List<Object> bindModules = new ArrayList<>();
+		for (int n = 0; n < 32; n++) {
+			bindModules.add(new NumberModule(n));
+		}
+		return bindModules;
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testManyModules(SpecificationSupport specification) {
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.multiBindings(true)
+				.addBindModules(numberModules())
+				.build();
+
+		Set<Integer> expected = new HashSet<>();
+		for (int n = 0; n < 32; n++) {
+			expected.add(n);
+		}
+		assertEquals(expected, injector.requestMultipleInstances(Integer.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testConflictReportedInModuleOrder(SpecificationSupport specification) {
+		List<Object> bindModules = numberModules();
+		bindModules.add(new ConflictingModule());
+		for (int attempt = 0; attempt < 5; attempt++) {
+			InjectorBuilder builder = new InjectorBuilder()
+					.specification(specification)
+					.multiBindings(true)
+					.addBindModules(bindModules);
+
+			MisconfiguredBindingsException ex = assertThrows(MisconfiguredBindingsException.class, builder::build);
+			assertTrue(ex.getMessage().contains(ConflictingModule.class.getName()), ex.getMessage());
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testObjectMethodsAreNotBindMethods(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification, new ModuleOverridingObjectMethods());
+
+		assertEquals(5L, injector.request(Long.class));
+	}
+
+	public static class NumberModule {
+
+		private final int number;
+
+		NumberModule(int number) {
+			this.number = number;
+		}
+
+		@MultiBinding
+		public Integer number() {
+			return number;
+		}
+	}
+
+	public static class ConflictingModule {
+
+		public Integer conflicting() {
+			return -1;
+		}
+	}
+
+	public static class ModuleOverridingObjectMethods {
+
+		public Long number() {
+			return 5L;
+		}
+
+		@Override
+		public String toString() {
+			return "ModuleOverridingObjectMethods";
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return this == object;
+		}
+
+		@Override
+		public int hashCode() {
+			return 1;
+		}
+	}
+
+}
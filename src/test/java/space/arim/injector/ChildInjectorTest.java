@@ -0,0 +1,302 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.error.CircularDependencyException;
+import space.arim.injector.error.MisconfiguredBindingsException;
+
+public class ChildInjectorTest {
+
+	@ParameterizedTest
+	@EnumSource
+	public void testParentBindingsAndSingletonsShared(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+		Injector child = parent.createChild();
+
+		assertSame(parent.request(Repository.class), child.request(Repository.class));
+		assertEquals(DatabaseImpl.class, child.request(Database.class).getClass());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testChildBindings(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+		RequestContext context = new RequestContext();
+		Injector child = parent.childBuilder().bindInstance(RequestContext.class, context).build();
+
+		assertSame(context, child.request(RequestContext.class));
+		assertNotSame(context, parent.request(RequestContext.class), "Parent must not see child bindings");
+		assertThrows(MisconfiguredBindingsException.class, () -> parent.request(Session.class));
+		assertEquals(SessionImpl.class, parent.createChild(new ChildModule()).request(Session.class).getClass());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testTypesDependingOnChildBindingsCreatedByChild(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+		RequestContext firstContext = new RequestContext();
+		RequestContext secondContext = new RequestContext();
+		Injector firstChild = parent.childBuilder().bindInstance(RequestContext.class, firstContext).build();
+		Injector secondChild = parent.childBuilder().bindInstance(RequestContext.class, secondContext).build();
+
+		RequestHandler firstHandler = firstChild.request(RequestHandler.class);
+		assertSame(firstContext, firstHandler.context);
+		assertSame(firstHandler, firstChild.request(RequestHandler.class));
+		assertSame(secondContext, secondChild.request(RequestHandler.class).context);
+		assertSame(parent.request(Repository.class), firstHandler.repository);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testRebindingParentBindingFails(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+
+		assertThrows(MisconfiguredBindingsException.class,
+				() -> parent.childBuilder().bindInstance(Database.class, new DatabaseImpl()).build());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testGrandchild(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+		RequestContext context = new RequestContext();
+		Injector child = parent.childBuilder().bindInstance(RequestContext.class, context).build();
+		Injector grandchild = child.createChild(new ChildModule());
+
+		assertSame(context, grandchild.request(RequestHandler.class).context);
+		assertSame(parent.request(Repository.class), grandchild.request(Repository.class));
+		assertEquals(SessionImpl.class, grandchild.request(Session.class).getClass());
+	}
+
+	@Test
+	public void testMultipleBindingsCombined() {
+		Injector parent = new InjectorBuilder().multiBindings(true).addBindModules(new ParentPluginModule()).build();
+		Injector child = parent.createChild(new ChildPluginModule());
+
+		assertEquals(Set.of(ParentPlugin.class), classesOf(parent.requestMultipleInstances(Plugin.class)));
+		assertEquals(Set.of(ParentPlugin.class, ChildPlugin.class), classesOf(child.requestMultipleInstances(Plugin.class)));
+	}
+
+	@Test
+	public void testMultipleBindingsProviderReused() {
+		Injector parent = new InjectorBuilder().multiBindings(true).addBindModules(new SingletonPluginModule()).build();
+		Injector child = parent.createChild(new ChildSingletonPluginModule());
+		Identifier<Plugin> identifier = Identifier.ofType(Plugin.class);
+
+		assertSame(child.impl().requestMultipleProviders(identifier), child.impl().requestMultipleProviders(identifier));
+		Set<Plugin> plugins = child.requestMultipleInstances(Plugin.class);
+		assertEquals(Set.of(ParentPlugin.class, ChildPlugin.class), classesOf(plugins));
+		assertSame(plugins, child.requestMultipleInstances(Plugin.class), "Set of singletons should be shared");
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testDelegationDecidedFromParentProviders(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+		Injector firstChild = parent.childBuilder().bindInstance(RequestContext.class, new RequestContext()).build();
+
+		Service service = firstChild.request(Service.class);
+		assertSame(parent.request(Repository.class), service.dao.repository);
+		assertEquals(Set.of(Identifier.ofType(RequestContext.class), Identifier.ofType(Service.class)),
+				identifiersOf(firstChild), "Only the requested type should be resolved by the child");
+		int parentProviders = identifiersOf(parent).size();
+
+		Injector secondChild = parent.childBuilder().bindInstance(RequestContext.class, new RequestContext()).build();
+		assertNotSame(service, secondChild.request(Service.class));
+		assertEquals(parentProviders, identifiersOf(parent).size(), "Parent's providers should be reused");
+		assertEquals(Set.of(Identifier.ofType(RequestContext.class), Identifier.ofType(Service.class)),
+				identifiersOf(secondChild));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testChildTypesNotResolvedByParent(SpecificationSupport specification) {
+		Injector parent = InjectorCreator.newInjector(specification, new ParentModule());
+		Injector child = parent.childBuilder().bindInstance(RequestContext.class, new RequestContext()).build();
+
+		child.request(RequestHandler.class);
+		Set<Identifier<?>> parentIdentifiers = identifiersOf(parent);
+		assertTrue(parentIdentifiers.contains(Identifier.ofType(Repository.class)), parentIdentifiers::toString);
+		assertFalse(parentIdentifiers.contains(Identifier.ofType(RequestHandler.class)), parentIdentifiers::toString);
+		assertFalse(parentIdentifiers.contains(Identifier.ofType(RequestContext.class)), parentIdentifiers::toString);
+		assertFalse(parent.dependencyGraph().toJson().contains(RequestHandler.class.getName()));
+	}
+
+	private static Set<Identifier<?>> identifiersOf(Injector injector) {
+		Set<Identifier<?>> identifiers = new HashSet<>();
+		injector.impl().forEachProvider((identifier, provider) -> identifiers.add(identifier));
+		return identifiers;
+	}
+
+	private static Set<Class<?>> classesOf(Set<?> instances) {
+		return Set.of(instances.stream().map(Object::getClass).toArray(Class<?>[]::new));
+	}
+
+	@Test // Javax support will not recognise jakarta.inject.Provider
+	public void testCircularDependencyInParentDetectedFromChild() {
+		Injector parent = Injector.newInjector();
+		Injector child = parent.createChild();
+
+		assertThrows(CircularDependencyException.class, () -> child.request(CircularLeft.class));
+	}
+
+	public interface Database {}
+
+	public static class DatabaseImpl implements Database {}
+
+	@javax.inject.Singleton
+	@Singleton
+	public static class Repository {
+
+		@javax.inject.Inject
+		@Inject
+		public Repository(Database database) {}
+	}
+
+	public static class RequestContext {}
+
+	@javax.inject.Singleton
+	@Singleton
+	public static class RequestHandler {
+
+		final RequestContext context;
+		final Repository repository;
+
+		@javax.inject.Inject
+		@Inject
+		public RequestHandler(RequestContext context, Repository repository) {
+			this.context = context;
+			this.repository = repository;
+		}
+	}
+
+	public interface Session {}
+
+	public static class SessionImpl implements Session {}
+
+	public static class ParentModule {
+
+		public Database database(DatabaseImpl database) {
+			return database;
+		}
+	}
+
+	public static class ChildModule {
+
+		public Session session(SessionImpl session) {
+			return session;
+		}
+	}
+
+	public interface Plugin {}
+
+	public static class ParentPlugin implements Plugin {}
+
+	public static class ChildPlugin implements Plugin {}
+
+	public static class ParentPluginModule {
+
+		@MultiBinding
+		public Plugin plugin(ParentPlugin plugin) {
+			return plugin;
+		}
+	}
+
+	public static class ChildPluginModule {
+
+		@MultiBinding
+		public Plugin plugin(ChildPlugin plugin) {
+			return plugin;
+		}
+	}
+
+	public static class Dao {
+
+		final Repository repository;
+
+		@javax.inject.Inject
+		@Inject
+		public Dao(Repository repository) {
+			this.repository = repository;
+		}
+	}
+
+	public static class Service {
+
+		final Dao dao;
+
+		@javax.inject.Inject
+		@Inject
+		public Service(Dao dao) {
+			this.dao = dao;
+		}
+	}
+
+	public static class SingletonPluginModule {
+
+		@MultiBinding
+		@javax.inject.Singleton
+		@Singleton
+		public Plugin plugin(ParentPlugin plugin) {
+			return plugin;
+		}
+	}
+
+	public static class ChildSingletonPluginModule {
+
+		@MultiBinding
+		@javax.inject.Singleton
+		@Singleton
+		public Plugin plugin(ChildPlugin plugin) {
+			return plugin;
+		}
+	}
+
+	public static class CircularLeft {
+
+		@Inject
+		public CircularLeft(CircularRight right) {}
+	}
+
+	public static class CircularRight {
+
+		@Inject
+		public CircularRight(CircularLeft left) {}
+	}
+
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
 import space.arim.injector.error.CircularDependencyException;
+import space.arim.injector.example.Plane;
 
 public class CircularDependencyTest {
 
@@ -40,6 +41,16 @@ public class CircularDependencyTest {
 		assertThrows(CircularDependencyException.class, () -> injector.request(Dependent.class));
 	}
 
+	@ParameterizedTest
+	@EnumSource
+	public void testRequestsUnaffectedAfterCircularDependency(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification, new CircularBinder());
+
+		assertThrows(CircularDependencyException.class, () -> injector.request(Dependent.class));
+		assertNotNull(injector.request(Plane.class));
+		assertThrows(CircularDependencyException.class, () -> injector.request(Dependency.class));
+	}
+
 	@Test // No use testing Javax - Javax support will not recognise jakarta.inject.Provider
 	public void testBreakWithProviders() {
 		Injector injector = Injector.newInjector(new CircleBreakingBinder());
@@ -0,0 +1,205 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.error.CircularDependencyException;
+
+public class ConcurrentSingletonTest {
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	public void shutdownExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+		SlowSingleton.instantiations.set(0);
+		FailingOnceSingleton.attempts.set(0);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testConcurrentRequestsShareInstance(SpecificationSupport specification) throws Exception {
+		Injector injector = InjectorCreator.newInjector(specification);
+
+		List<Future<SlowSingleton>> futures = new ArrayList<>();
+		for (int n = 0; n < 4; n++) {
+			futures.add(executor.submit(() -> injector.request(SlowSingleton.class)));
+		}
+		SlowSingleton instance = futures.get(0).get(10L, TimeUnit.SECONDS);
+		for (Future<SlowSingleton> future : futures) {
+			assertSame(instance, future.get(10L, TimeUnit.SECONDS));
+		}
+		assertEquals(1, SlowSingleton.instantiations.get());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testRetryAfterFailure(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+
+		assertThrows(RuntimeException.class, () -> injector.request(FailingOnceSingleton.class));
+		FailingOnceSingleton instance = injector.request(FailingOnceSingleton.class);
+		assertNotNull(instance);
+		assertSame(instance, injector.request(FailingOnceSingleton.class));
+		assertEquals(2, FailingOnceSingleton.attempts.get());
+	}
+
+	@Test // Javax support will not recognise jakarta.inject.Provider
+	public void testSameThreadReentry() {
+		Injector injector = Injector.newInjector();
+
+		RuntimeException ex = assertThrows(RuntimeException.class, () -> injector.request(ReentrantSingleton.class));
+		assertTrue(hasCircularDependencyCause(ex), "Expected a CircularDependencyException");
+	}
+
+	@Test // Javax support will not recognise jakarta.inject.Provider
+	public void testCrossThreadDeadlockDetected() throws InterruptedException {
+		Injector injector = Injector.newInjector();
+		BothStarted.latch = new CountDownLatch(2);
+
+		Future<?> first = executor.submit(() -> injector.request(First.class));
+		Future<?> second = executor.submit(() -> injector.request(Second.class));
+		boolean detected = false;
+		for (Future<?> future : new Future<?>[] {first, second}) {
+			try {
+				future.get(10L, TimeUnit.SECONDS);
+			} catch (ExecutionException ex) {
+				detected |= hasCircularDependencyCause(ex);
+			} catch (TimeoutException ex) {
+				throw new AssertionError("Deadlock was not detected", ex);
+			}
+		}
+		assertTrue(detected, "Expected a CircularDependencyException");
+	}
+
+	private static boolean hasCircularDependencyCause(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof CircularDependencyException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@javax.inject.Singleton
+	@Singleton
+	public static class SlowSingleton {
+
+		static final AtomicInteger instantiations = new AtomicInteger();
+
+		@javax.inject.Inject
+		@Inject
+		public SlowSingleton() throws InterruptedException {
+			instantiations.incrementAndGet();
+			Thread.sleep(100L);
+		}
+	}
+
+	@javax.inject.Singleton
+	@Singleton
+	public static class FailingOnceSingleton {
+
+		static final AtomicInteger attempts = new AtomicInteger();
+
+		@javax.inject.Inject
+		@Inject
+		public FailingOnceSingleton() {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("First attempt fails");
+			}
+		}
+	}
+
+	@Singleton
+	public static class ReentrantSingleton {
+
+		@Inject
+		public ReentrantSingleton(Provider<ReentrantSingleton> self) {
+			self.get();
+		}
+	}
+
+	static final class BothStarted {
+
+		static CountDownLatch latch;
+
+		static void awaitOther() {
+			latch.countDown();
+			try {
+				latch.await(10L, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	@Singleton
+	public static class First {
+
+		@Inject
+		public First(Provider<Second> second) {
+			BothStarted.awaitOther();
+			second.get();
+		}
+	}
+
+	@Singleton
+	public static class Second {
+
+		@Inject
+		public Second(Provider<First> first) {
+			BothStarted.awaitOther();
+			first.get();
+		}
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.DependencyGraph.Dependency;
+import space.arim.injector.DependencyGraph.Node;
+import space.arim.injector.DependencyGraph.Scope;
+import space.arim.injector.example.AirportModule;
+import space.arim.injector.example.NoOpTrafficControl;
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.TrafficControl;
+import space.arim.injector.example.Wing;
+import space.arim.injector.scope.Refreshing;
+import space.arim.injector.scope.SoftSingleton;
+import space.arim.injector.scope.ThreadScoped;
+import space.arim.injector.scope.UnitOfWork;
+import space.arim.injector.scope.UnitOfWorkScoped;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class DependencyGraphTest {
+
+	private static final Identifier<String> AIRLINE = Identifier.ofTypeAndNamed(String.class, "airline");
+
+	private static Node node(DependencyGraph graph, Class<?> type) {
+		return node(graph, Identifier.ofType(type));
+	}
+
+	private static Node node(DependencyGraph graph, Identifier<?> identifier) {
+		for (Node node : graph.nodes()) {
+			if (node.identifier().equals(identifier)) {
+				return node;
+			}
+		}
+		throw new AssertionError("No node for " + identifier + " in " + graph);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testNodes(SpecificationSupport specification) {
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.addBindModules(new AirportModule())
+				.bindInstance(AIRLINE, "Lufthansa")
+				.build();
+		injector.request(Hangar.class);
+		DependencyGraph graph = injector.dependencyGraph();
+
+		Node hangar = node(graph, Hangar.class);
+		assertEquals(Scope.SINGLETON, hangar.scope());
+		assertEquals(ProvisionKind.CONSTRUCTOR, hangar.kind());
+		assertEquals(Identifier.ofType(Plane.class), hangar.dependencies().get(0).identifier());
+		assertEquals(-1L, hangar.provisions());
+
+		Node plane = node(graph, Plane.class);
+		assertEquals(Scope.UNSCOPED, plane.scope());
+		assertEquals(Identifier.ofType(Wing.class), plane.dependencies().get(0).identifier());
+
+		Node trafficControl = node(graph, TrafficControl.class);
+		assertEquals(ProvisionKind.BIND_METHOD, trafficControl.kind());
+		assertEquals(Identifier.ofType(NoOpTrafficControl.class), trafficControl.dependencies().get(0).identifier());
+
+		Node airline = node(graph, AIRLINE);
+		assertEquals(Scope.FIXED, airline.scope());
+		assertEquals(ProvisionKind.BOUND_INSTANCE, airline.kind());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testStatistics(SpecificationSupport specification) {
+		ProvisionStatistics statistics = new ProvisionStatistics();
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.provisionListener(statistics)
+				.build();
+		injector.request(Hangar.class);
+		injector.request(Hangar.class);
+		DependencyGraph graph = injector.dependencyGraph(statistics);
+
+		Node hangar = node(graph, Hangar.class);
+		assertEquals(2L, hangar.provisions());
+		assertTrue(hangar.elapsedNanos() >= node(graph, Plane.class).elapsedNanos());
+		assertEquals(1L, node(graph, Wing.class).provisions());
+	}
+
+	@Test // No use testing Javax - Javax support will not recognise jakarta.inject.Provider
+	public void testDeferredDependency() {
+		Injector injector = Injector.newInjector();
+		injector.request(Tower.class);
+		List<Dependency> dependencies = node(injector.dependencyGraph(), Tower.class).dependencies();
+
+		assertEquals(1, dependencies.size());
+		assertTrue(dependencies.get(0).deferred());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testExport(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		injector.request(Hangar.class);
+		DependencyGraph graph = injector.dependencyGraph();
+
+		String hangar = Identifier.ofType(Hangar.class).toString();
+		String plane = Identifier.ofType(Plane.class).toString();
+		String dot = graph.toDot();
+		assertTrue(dot.startsWith("digraph dependencies {"), dot);
+		assertTrue(dot.contains('"' + hangar + "\" [shape=box"), dot);
+		assertTrue(dot.contains('"' + hangar + "\" -> \"" + plane + '"'), dot);
+
+		String json = graph.toJson();
+		assertTrue(json.startsWith("{\"nodes\":[{"), json);
+		assertTrue(json.contains("{\"identifier\":\"" + hangar + "\",\"type\":\""
+				+ Hangar.class.getName() + "\",\"scope\":\"SINGLETON\",\"kind\":\"CONSTRUCTOR\""), json);
+		assertTrue(json.contains("\"dependencies\":[{\"identifier\":\"" + plane + "\",\"deferred\":false"), json);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testCustomScopes(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		try (UnitOfWork unitOfWork = injector.openScope()) {
+			injector.request(Workshop.class);
+			injector.request(Runway.class);
+		}
+		injector.request(Cache.class);
+		injector.request(Timetable.class);
+		injector.request(Plane.class);
+		DependencyGraph graph = injector.dependencyGraph();
+
+		Map<Class<?>, Class<? extends Annotation>> scopeAnnotations = Map.of(
+				Workshop.class, ThreadScoped.class,
+				Runway.class, UnitOfWorkScoped.class,
+				Cache.class, SoftSingleton.class,
+				Timetable.class, Refreshing.class);
+		scopeAnnotations.forEach((type, scopeAnnotation) -> {
+			Node node = node(graph, type);
+			assertEquals(Scope.CUSTOM, node.scope());
+			assertEquals(scopeAnnotation, node.scopeAnnotation());
+		});
+		assertNull(node(graph, Plane.class).scopeAnnotation());
+
+		String workshop = Identifier.ofType(Workshop.class).toString();
+		String dot = graph.toDot();
+		assertTrue(dot.contains('"' + workshop + "\" [shape=hexagon, label=\"" + workshop + "\\n@ThreadScoped"), dot);
+		String json = graph.toJson();
+		assertTrue(json.contains("\"scope\":\"CUSTOM\",\"scopeAnnotation\":\"" + ThreadScoped.class.getName() + '"'), json);
+	}
+
+	@Singleton
+	@javax.inject.Singleton
+	public static class Hangar {
+
+		@javax.inject.Inject
+		@Inject
+		public Hangar(Plane plane) {}
+	}
+
+	@ThreadScoped
+	public static class Workshop {}
+
+	@UnitOfWorkScoped
+	public static class Runway {}
+
+	@SoftSingleton
+	public static class Cache {}
+
+	@Refreshing(value = 1, unit = TimeUnit.MINUTES)
+	public static class Timetable {}
+
+	public static class Tower {
+
+		@Inject
+		public Tower(Provider<Plane> plane) {}
+	}
+
+}
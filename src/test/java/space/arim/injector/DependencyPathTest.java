@@ -0,0 +1,83 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.error.InjectionInvocationException;
+import space.arim.injector.error.InjectorException;
+
+import java.util.Arrays;
+
+public class DependencyPathTest {
+
+	@ParameterizedTest
+	@EnumSource
+	public void testDependencyPath(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+
+		InjectorException ex = assertThrows(InjectionInvocationException.class, () -> injector.request(Terminal.class));
+		assertEquals(
+				Arrays.asList(Identifier.ofType(Terminal.class), Identifier.ofType(Gate.class), Identifier.ofType(Runway.class)),
+				ex.getDependencyPath());
+		assertTrue(ex.getMessage().contains(Identifier.ofType(Runway.class).toString()), ex.getMessage());
+	}
+
+	@ParameterizedTest
+	@EnumSource(InvocationEngine.class)
+	public void testSingleException(InvocationEngine invocationEngine) {
+		Injector injector = new InjectorBuilder().invocationEngine(invocationEngine).build();
+
+		InjectorException ex = assertThrows(InjectionInvocationException.class, () -> injector.request(Terminal.class));
+		for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+			assertFalse(cause instanceof InjectorException, "Exception should not be wrapped");
+		}
+		assertEquals(3, ex.getDependencyPath().size());
+	}
+
+	public static class Terminal {
+		@javax.inject.Inject
+		@Inject
+		public Terminal(Gate gate) {}
+	}
+
+	public static class Gate {
+		@javax.inject.Inject
+		@Inject
+		public Gate(Runway runway) {}
+	}
+
+	public static class Runway {
+		@javax.inject.Inject
+		@Inject
+		public Runway() {
+			throw new IllegalStateException("Runway closed");
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+import space.arim.injector.error.CircularDependencyException;
+import space.arim.injector.error.InjectorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class EagerSingletonsTest {
+
+	private static InjectorBuilder eagerBuilder(Object...bindModules) {
+		return new InjectorBuilder()
+				.specification(SpecificationSupport.JAKARTA)
+				.eagerSingletons(true)
+				.addBindModules(bindModules);
+	}
+
+	@Test
+	public void instantiateDependenciesFirst() {
+		ConnectionModule module = new ConnectionModule();
+		AtomicReference<Duration> duration = new AtomicReference<>();
+		Injector injector = eagerBuilder(module).eagerSingletonsCallback(duration::set).build();
+
+		assertEquals(List.of("config", "pool", "cache"), module.constructed);
+		assertNotNull(duration.get());
+		assertTrue(!duration.get().isNegative());
+
+		Service service = injector.request(Service.class);
+		assertSame(injector.request(Cache.class), service.cache);
+		assertEquals(List.of("config", "pool", "cache", "service"), module.constructed);
+	}
+
+	@Test
+	public void lazyByDefault() {
+		ConnectionModule module = new ConnectionModule();
+		Injector injector = new InjectorBuilder()
+				.specification(SpecificationSupport.JAKARTA)
+				.addBindModules(module)
+				.build();
+		assertEquals(List.of(), module.constructed);
+		injector.request(Cache.class);
+		assertEquals(List.of("config", "pool", "cache"), module.constructed);
+	}
+
+	@Test
+	public void independentSingletonsInParallel() {
+		assumeTrue(ForkJoinPool.getCommonPoolParallelism() >= 2, "Requires parallelism");
+		// Each singleton waits for the other to begin
+		eagerBuilder(new ParallelModule()).build();
+	}
+
+	@Test
+	public void failureReportedAtBuild() {
+		assertThrows(InjectorException.class, () -> eagerBuilder(new FailingModule()).build());
+	}
+
+	@Test
+	public void circularDependencyReportedAtBuild() {
+		assertThrows(CircularDependencyException.class, () -> eagerBuilder(new CircularModule()).build());
+	}
+
+	@Test
+	public void circleBrokenByProvider() {
+		Injector injector = eagerBuilder(new ProviderModule()).build();
+		assertSame(injector.request(Left.class), injector.request(Right.class).left);
+	}
+
+	public static class Config {}
+	public static class Pool {}
+	public static class Cache {}
+	public static class Service {
+		final Cache cache;
+
+		Service(Cache cache) {
+			this.cache = cache;
+		}
+	}
+
+	public static class ConnectionModule {
+
+		final List<String> constructed = new CopyOnWriteArrayList<>();
+
+		@Singleton
+		public Cache cache(Pool pool) {
+			constructed.add("cache");
+			return new Cache();
+		}
+
+		@Singleton
+		public Pool pool(Config config) {
+			constructed.add("pool");
+			return new Pool();
+		}
+
+		@Singleton
+		public Config config() {
+			constructed.add("config");
+			return new Config();
+		}
+
+		public Service service(Cache cache) {
+			constructed.add("service");
+			return new Service(cache);
+		}
+	}
+
+	public static class ParallelModule {
+
+		private final CountDownLatch latch = new CountDownLatch(2);
+
+		private void awaitOther() {
+			latch.countDown();
+			try {
+				assertTrue(latch.await(10L, TimeUnit.SECONDS), "Singletons were not instantiated in parallel");
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		@Singleton
+		public Config config() {
+			awaitOther();
+			return new Config();
+		}
+
+		@Singleton
+		public Pool pool() {
+			awaitOther();
+			return new Pool();
+		}
+	}
+
+	public static class FailingModule {
+
+		@Singleton
+		public Config config() {
+			throw new IllegalStateException("Misconfigured");
+		}
+	}
+
+	public static class CircularModule {
+
+		@Singleton
+		public Config config(Pool pool) {
+			return new Config();
+		}
+
+		@Singleton
+		public Pool pool(Config config) {
+			return new Pool();
+		}
+	}
+
+	@Singleton
+	public static class Left {
+		@Inject
+		public Left(Provider<Right> right) {}
+	}
+
+	@Singleton
+	public static class Right {
+		final Left left;
+
+		@Inject
+		public Right(Left left) {
+			this.left = left;
+		}
+	}
+
+	public static class ProviderModule {
+
+		public Config config(Right right) {
+			return new Config();
+		}
+	}
+
+}
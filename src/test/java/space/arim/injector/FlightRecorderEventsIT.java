@@ -0,0 +1,140 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import space.arim.injector.error.CircularDependencyException;
+import space.arim.injector.example.Plane;
+import space.arim.injector.scope.Refreshing;
+
+/**
+ * Runs against the multi-release jar, whose Java 11 classes emit flight recorder events
+ *
+ */
+public class FlightRecorderEventsIT {
+
+	private static final String SINGLETON_CREATED = "space.arim.injector.SingletonCreated";
+	private static final String CIRCULAR_DEPENDENCY = "space.arim.injector.CircularDependencyDetected";
+	private static final String REFRESH_FAILED = "space.arim.injector.RefreshFailed";
+
+	@TempDir
+	public Path tempDir;
+
+	private List<RecordedEvent> record(Runnable action) throws IOException {
+		Path dump = tempDir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(SINGLETON_CREATED).withoutThreshold();
+			recording.enable(CIRCULAR_DEPENDENCY);
+			recording.enable(REFRESH_FAILED);
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(dump);
+		}
+		return RecordingFile.readAllEvents(dump);
+	}
+
+	private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+		return events.stream()
+				.filter((event) -> event.getEventType().getName().equals(name))
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testSingletonCreated() throws IOException {
+		Injector injector = Injector.newInjector();
+		List<RecordedEvent> events = eventsNamed(record(() -> {
+			injector.request(Tower.class);
+			injector.request(Tower.class);
+		}), SINGLETON_CREATED);
+
+		assertEquals(1, events.size(), () -> "Events " + events);
+		assertEquals(Tower.class.getName(), events.get(0).getClass("instanceType").getName());
+	}
+
+	@Test
+	public void testCircularDependencyDetected() throws IOException {
+		Injector injector = Injector.newInjector(new CircularDependencyTest.CircularBinder());
+		List<RecordedEvent> events = eventsNamed(record(() -> {
+			assertThrows(CircularDependencyException.class,
+					() -> injector.request(CircularDependencyTest.Dependent.class));
+		}), CIRCULAR_DEPENDENCY);
+
+		assertEquals(1, events.size(), () -> "Events " + events);
+		String message = events.get(0).getString("message");
+		assertTrue(message.contains(CircularDependencyTest.Dependent.class.getName()), message);
+	}
+
+	@Test
+	public void testRefreshFailed() throws IOException, InterruptedException {
+		Injector injector = new InjectorBuilder().refreshExecutor(Runnable::run).build();
+		injector.request(Beacon.class);
+		TimeUnit.MILLISECONDS.sleep(2L);
+		List<RecordedEvent> events = eventsNamed(record(() -> {
+			injector.request(Beacon.class);
+		}), REFRESH_FAILED);
+
+		assertEquals(1, events.size(), () -> "Events " + events);
+		assertTrue(events.get(0).getString("identifier").contains(Beacon.class.getName()));
+		String failure = events.get(0).getString("failure");
+		assertTrue(failure.contains(Beacon.class.getName()), failure);
+	}
+
+	@Singleton
+	public static class Tower {
+
+		@Inject
+		public Tower(Plane plane) {}
+	}
+
+	@Refreshing(value = 1, unit = TimeUnit.MILLISECONDS)
+	public static class Beacon {
+
+		private static final AtomicInteger CREATIONS = new AtomicInteger();
+
+		public Beacon() {
+			if (CREATIONS.getAndIncrement() > 0) {
+				throw new IllegalStateException("Beacon offline");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import space.arim.injector.error.InjectionInvocationException;
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.Wing;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvocationEngineTest {
+
+	private static Injector newInjector(InvocationEngine invocationEngine, Object...bindModules) {
+		return new InjectorBuilder()
+				.invocationEngine(invocationEngine)
+				.privateInjection(true)
+				.addBindModules(bindModules)
+				.build();
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void injectConstructorFieldsAndMethods(InvocationEngine invocationEngine) {
+		Injector injector = newInjector(invocationEngine);
+
+		AllKinds allKinds = injector.request(AllKinds.class);
+		assertNotNull(allKinds.plane);
+		assertNotNull(allKinds.publicWing);
+		assertNotNull(allKinds.privateWing);
+		assertNotNull(allKinds.methodWing);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void bindMethodsIncludingPrimitives(InvocationEngine invocationEngine) {
+		Injector injector = newInjector(invocationEngine, new PrimitiveModule());
+
+		assertEquals(3, injector.request(int.class));
+		assertEquals("3", injector.request(String.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void exceptionsWrappedLikeReflection(InvocationEngine invocationEngine) {
+		Injector injector = newInjector(invocationEngine);
+
+		InjectionInvocationException ex = assertThrows(InjectionInvocationException.class,
+				() -> injector.request(ThrowingConstructor.class));
+		assertTrue(ex.getCause() instanceof InvocationTargetException);
+		assertEquals(IllegalStateException.class, ex.getCause().getCause().getClass());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void exceptionsAttributedToMember(InvocationEngine invocationEngine) {
+		Injector injector = newInjector(invocationEngine);
+
+		InjectionInvocationException ex = assertThrows(InjectionInvocationException.class,
+				() -> injector.request(ThrowingMethod.class));
+		assertTrue(ex.getMessage().contains(ThrowingMethod.class.getName() + "#inject"), ex.getMessage());
+		assertEquals(IllegalStateException.class, ex.getCause().getCause().getClass());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void superclassMembersFirst(InvocationEngine invocationEngine) {
+		Injector injector = newInjector(invocationEngine);
+
+		Subclass subclass = injector.request(Subclass.class);
+		assertNotNull(subclass.superclassWing);
+		assertNotNull(subclass.subclassWing);
+		assertTrue(subclass.superclassInjectedFirst);
+	}
+
+	public static class AllKinds {
+
+		final Plane plane;
+		@Inject
+		@javax.inject.Inject
+		public Wing publicWing;
+		@Inject
+		@javax.inject.Inject
+		private Wing privateWing;
+		Wing methodWing;
+
+		@Inject
+		@javax.inject.Inject
+		AllKinds(Plane plane) {
+			this.plane = plane;
+		}
+
+		@Inject
+		@javax.inject.Inject
+		private void injectWing(Wing methodWing) {
+			this.methodWing = methodWing;
+		}
+	}
+
+	public static class PrimitiveModule {
+
+		public int number() {
+			return 3;
+		}
+
+		public String string(int number) {
+			return Integer.toString(number);
+		}
+	}
+
+	public static class ThrowingMethod {
+
+		@Inject
+		@javax.inject.Inject
+		public void inject(Wing wing) {
+			throw new IllegalStateException("Thrown on purpose");
+		}
+	}
+
+	public static class Superclass {
+
+		@Inject
+		@javax.inject.Inject
+		public Wing superclassWing;
+	}
+
+	public static class Subclass extends Superclass {
+
+		Wing subclassWing;
+		boolean superclassInjectedFirst;
+
+		@Inject
+		@javax.inject.Inject
+		public void inject(Wing subclassWing) {
+			this.subclassWing = subclassWing;
+			superclassInjectedFirst = superclassWing != null;
+		}
+	}
+
+	public static class ThrowingConstructor {
+
+		public ThrowingConstructor() {
+			throw new IllegalStateException("Thrown on purpose");
+		}
+	}
+
+}
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,6 +36,9 @@ import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.ElementType.TYPE_USE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MultiBindingTest {
@@ -102,6 +106,28 @@ public class MultiBindingTest {
 		assertEquals(Set.of(), injector.requestMultipleInstances(alienIdentifier));
 	}
 
+	@Test
+	public void setsRebuiltWhenBindingsVary() {
+		assertNotSame(impls, injector.requestMultipleInstances(MyService.class));
+	}
+
+	@Test
+	public void setSharedWhenBindingsSingleton() {
+		Injector injector = new InjectorBuilder()
+				.addBindModules(new SingletonBindModule())
+				.multiBindings(true)
+				.build();
+		Set<MyService> singletons = injector.requestMultipleInstances(MyService.class);
+
+		assertEquals(
+				Set.of(Impl1.class, Impl2.class),
+				singletons.stream().map(Object::getClass).collect(Collectors.toUnmodifiableSet()));
+		assertSame(singletons, injector.requestMultipleInstances(MyService.class));
+		assertSame(singletons, injector.request(ConstructorRequest.class).myServices);
+		assertEquals(singletons, new HashSet<>(singletons));
+		assertThrows(UnsupportedOperationException.class, () -> singletons.add(new Impl3()));
+	}
+
 	public static class ConstructorRequest {
 
 		private final Set<MyService> myServices;
@@ -191,6 +217,23 @@ public class MultiBindingTest {
 		}
 	}
 
+	public static class SingletonBindModule {
+
+		@MultiBinding
+		@Singleton
+		@javax.inject.Singleton
+		public MyService impl1(Impl1 impl1) {
+			return impl1;
+		}
+
+		@MultiBinding
+		@Singleton
+		@javax.inject.Singleton
+		public MyService impl2(Impl2 impl2) {
+			return impl2;
+		}
+	}
+
 	public interface MyService {}
 	@Singleton
 	public static final class Impl1 implements MyService {}
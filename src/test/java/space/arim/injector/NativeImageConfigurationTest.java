@@ -0,0 +1,127 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.example.AirportModule;
+import space.arim.injector.example.NoOpTrafficControl;
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.Wing;
+
+public class NativeImageConfigurationTest {
+
+	@TempDir
+	public Path tempDir;
+
+	private static String generate(SpecificationSupport specification, Class<?>... roots) {
+		return NativeImageConfiguration.generate(
+				new InjectorBuilder().specification(specification).addBindModules(new AirportModule()), roots
+		).reflectConfig();
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testBindModule(SpecificationSupport specification) {
+		String reflectConfig = generate(specification);
+
+		assertTrue(reflectConfig.contains("\"name\": \"" + AirportModule.class.getName() + "\",\n    \"queryAllPublicMethods\": true"),
+				reflectConfig);
+		assertTrue(reflectConfig.contains("{\"name\": \"trafficControl\", \"parameterTypes\": [\""
+				+ NoOpTrafficControl.class.getName() + "\"]}"), reflectConfig);
+		// Dependencies of bind methods are scanned
+		assertTrue(reflectConfig.contains("\"name\": \"" + NoOpTrafficControl.class.getName() + "\""), reflectConfig);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testRootsAndDependencies(SpecificationSupport specification) {
+		String reflectConfig = generate(specification, Plane.class);
+
+		assertTrue(reflectConfig.contains("{\"name\": \"<init>\", \"parameterTypes\": [\""
+				+ Wing.class.getName() + "\"]}"), reflectConfig);
+		assertTrue(reflectConfig.contains("\"name\": \"" + Wing.class.getName() + "\",\n    \"queryAllDeclaredConstructors\": true"),
+				reflectConfig);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testInjectedMembers(SpecificationSupport specification) {
+		String reflectConfig = NativeImageConfiguration.generate(
+				new InjectorBuilder().specification(specification), Injected.class).reflectConfig();
+
+		assertTrue(reflectConfig.contains("{\"name\": \"setWing\", \"parameterTypes\": [\""
+				+ Wing.class.getName() + "\"]}"), reflectConfig);
+		// Superclass members are scanned, and fields registered in full
+		assertTrue(reflectConfig.contains("\"name\": \"" + InjectedBase.class.getName() + "\",\n"
+				+ "    \"queryAllDeclaredMethods\": true,\n    \"allDeclaredFields\": true"), reflectConfig);
+		assertFalse(reflectConfig.contains(AirportModule.class.getName()), reflectConfig);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testWriteTo(SpecificationSupport specification) throws IOException {
+		NativeImageConfiguration configuration = NativeImageConfiguration.generate(
+				new InjectorBuilder().specification(specification), Plane.class);
+		Path file = configuration.writeTo(tempDir.resolve("META-INF/native-image"));
+
+		assertEquals("reflect-config.json", file.getFileName().toString());
+		assertEquals(configuration.reflectConfig(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testBuilderUnchanged(SpecificationSupport specification) {
+		InjectorBuilder builder = new InjectorBuilder().specification(specification);
+		NativeImageConfiguration.generate(builder, Plane.class);
+
+		// Neither validated nor given the roots, so nothing has been resolved
+		Injector injector = builder.build();
+		assertTrue(injector.dependencyGraph().nodes().isEmpty(), () -> injector.dependencyGraph().toString());
+	}
+
+	public static class InjectedBase {
+
+		@javax.inject.Inject
+		@Inject
+		public Wing wing;
+	}
+
+	public static class Injected extends InjectedBase {
+
+		@javax.inject.Inject
+		@Inject
+		public void setWing(Wing wing) {}
+	}
+
+}
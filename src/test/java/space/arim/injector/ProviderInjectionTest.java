@@ -0,0 +1,119 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Optional;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.Test;
+
+import space.arim.injector.example.Plane;
+
+public class ProviderInjectionTest {
+
+	@Test
+	public void testProviderReusedAcrossInjections() {
+		Injector injector = Injector.newInjector();
+
+		ProviderHolder first = injector.request(ProviderHolder.class);
+		ProviderHolder second = injector.request(ProviderHolder.class);
+		assertNotSame(first, second);
+		assertSame(first.planeProvider, second.planeProvider);
+		assertNotSame(first.planeProvider.get(), first.planeProvider.get(), "Provider must still create instances");
+		assertSame(first.hangarProvider, second.hangarProvider);
+		assertSame(first.hangarProvider.get(), second.hangarProvider.get());
+	}
+
+	@Test
+	public void testProviderNotSharedBetweenInjectors() {
+		ProviderHolder first = Injector.newInjector().request(ProviderHolder.class);
+		ProviderHolder second = Injector.newInjector().request(ProviderHolder.class);
+
+		assertNotSame(first.hangarProvider, second.hangarProvider);
+		assertNotSame(first.hangarProvider.get(), second.hangarProvider.get());
+	}
+
+	@Test
+	public void testMultipleAndOptionalProvidersReused() {
+		Injector injector = new InjectorBuilder()
+				.multiBindings(true).optionalBindings(true)
+				.addBindModules(new PlaneModule())
+				.build();
+
+		MultipleAndOptionalHolder first = injector.request(MultipleAndOptionalHolder.class);
+		MultipleAndOptionalHolder second = injector.request(MultipleAndOptionalHolder.class);
+		assertSame(first.vehiclesProvider, second.vehiclesProvider);
+		assertEquals(1, first.vehiclesProvider.get().size());
+		assertSame(first.optionalStorageProvider.orElseThrow(), second.optionalStorageProvider.orElseThrow());
+	}
+
+	@Singleton
+	public static class Hangar {}
+
+	public static class ProviderHolder {
+
+		final Provider<Plane> planeProvider;
+		final Provider<Hangar> hangarProvider;
+
+		@Inject
+		public ProviderHolder(Provider<Plane> planeProvider, Provider<Hangar> hangarProvider) {
+			this.planeProvider = planeProvider;
+			this.hangarProvider = hangarProvider;
+		}
+	}
+
+	public interface Vehicle {}
+
+	public interface Storage {}
+
+	public static class PlaneModule {
+
+		@MultiBinding
+		public Vehicle vehicle(Plane plane) {
+			return new Vehicle() {};
+		}
+
+		public Storage storage(Hangar hangar) {
+			return new Storage() {};
+		}
+	}
+
+	public static class MultipleAndOptionalHolder {
+
+		final Provider<Set<Vehicle>> vehiclesProvider;
+		final Optional<Provider<Storage>> optionalStorageProvider;
+
+		@Inject
+		public MultipleAndOptionalHolder(@MultiBinding Provider<Set<Vehicle>> vehiclesProvider,
+										 Optional<Provider<Storage>> optionalStorageProvider) {
+			this.vehiclesProvider = vehiclesProvider;
+			this.optionalStorageProvider = optionalStorageProvider;
+		}
+	}
+
+}
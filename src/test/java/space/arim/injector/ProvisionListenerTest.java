@@ -0,0 +1,162 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.example.AirportModule;
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.TrafficControl;
+import space.arim.injector.example.Wing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ProvisionListenerTest {
+
+	private final List<Provision> provisions = new ArrayList<>();
+
+	private Injector newInjector(SpecificationSupport specification) {
+		return new InjectorBuilder()
+				.specification(specification)
+				.addBindModules(new AirportModule())
+				.bindInstance(Identifier.ofTypeAndNamed(String.class, "airline"), "Lufthansa")
+				.provisionListener((identifier, kind, elapsedNanos) -> {
+					assertTrue(elapsedNanos >= 0);
+					provisions.add(new Provision(identifier, kind));
+				})
+				.build();
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testConstructorsAndSingletonHit(SpecificationSupport specification) {
+		Injector injector = newInjector(specification);
+
+		injector.request(Hangar.class);
+		assertEquals(Arrays.asList(
+				new Provision(Wing.class, ProvisionKind.CONSTRUCTOR),
+				new Provision(Plane.class, ProvisionKind.CONSTRUCTOR),
+				new Provision(Hangar.class, ProvisionKind.CONSTRUCTOR)
+		), provisions);
+		provisions.clear();
+
+		injector.request(Hangar.class);
+		assertEquals(Arrays.asList(new Provision(Hangar.class, ProvisionKind.SINGLETON_HIT)), provisions);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testBindMethodAndBoundInstance(SpecificationSupport specification) {
+		Injector injector = newInjector(specification);
+
+		injector.request(TrafficControl.class);
+		assertEquals(ProvisionKind.BIND_METHOD, provisions.get(provisions.size() - 1).kind);
+		provisions.clear();
+
+		injector.request(Identifier.ofTypeAndNamed(String.class, "airline"));
+		assertEquals(Arrays.asList(
+				new Provision(Identifier.ofTypeAndNamed(String.class, "airline"), ProvisionKind.BOUND_INSTANCE)
+		), provisions);
+	}
+
+	@Test // No use testing Javax - Javax support will not recognise jakarta.inject.Provider
+	public void testProviderGet() {
+		Injector injector = newInjector(SpecificationSupport.JAKARTA);
+		Tower tower = injector.request(Tower.class);
+		provisions.clear();
+
+		tower.hangar.get();
+		tower.hangar.get();
+		assertEquals(Arrays.asList(
+				new Provision(Wing.class, ProvisionKind.CONSTRUCTOR),
+				new Provision(Plane.class, ProvisionKind.CONSTRUCTOR),
+				new Provision(Hangar.class, ProvisionKind.CONSTRUCTOR),
+				new Provision(Hangar.class, ProvisionKind.SINGLETON_HIT)
+		), provisions);
+	}
+
+	@Singleton
+	@javax.inject.Singleton
+	public static class Hangar {
+
+		@javax.inject.Inject
+		@Inject
+		public Hangar(Plane plane) {}
+	}
+
+	public static class Tower {
+
+		final Provider<Hangar> hangar;
+
+		@Inject
+		public Tower(Provider<Hangar> hangar) {
+			this.hangar = hangar;
+		}
+	}
+
+	private static final class Provision {
+
+		final Identifier<?> identifier;
+		final ProvisionKind kind;
+
+		Provision(Identifier<?> identifier, ProvisionKind kind) {
+			this.identifier = identifier;
+			this.kind = kind;
+		}
+
+		Provision(Class<?> type, ProvisionKind kind) {
+			this(Identifier.ofType(type), kind);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			}
+			if (!(object instanceof Provision)) {
+				return false;
+			}
+			Provision other = (Provision) object;
+			return identifier.equals(other.identifier) && kind == other.kind;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * identifier.hashCode() + kind.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return identifier + " by " + kind;
+		}
+	}
+
+}
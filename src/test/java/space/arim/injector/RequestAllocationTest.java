@@ -0,0 +1,169 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import com.sun.management.ThreadMXBean;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import space.arim.injector.example.Plane;
+import space.arim.injector.scope.ThreadScoped;
+import space.arim.injector.scope.UnitOfWork;
+import space.arim.injector.scope.UnitOfWorkScope;
+import space.arim.injector.scope.UnitOfWorkScoped;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Requests served by an existing instance should allocate nothing, including
+ * for circular dependency tracking
+ */
+public class RequestAllocationTest {
+
+	private static final int ITERATIONS = 100_000;
+
+	private ThreadMXBean threadBean;
+
+	@BeforeEach
+	public void setThreadBean() {
+		java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		assumeTrue(threadBean instanceof ThreadMXBean, "Thread allocation counters unavailable");
+		this.threadBean = (ThreadMXBean) threadBean;
+		assumeTrue(this.threadBean.isThreadAllocatedMemorySupported() && this.threadBean.isThreadAllocatedMemoryEnabled(),
+				"Thread allocation counters unavailable");
+	}
+
+	private long allocatedBytesPerRequest(Injector injector, Identifier<?> identifier) {
+		// Warm up, creating the provider and any per-thread state
+		for (int n = 0; n < ITERATIONS; n++) {
+			assertNotNull(injector.request(identifier));
+		}
+		long threadId = Thread.currentThread().getId();
+		long baselineBefore = threadBean.getThreadAllocatedBytes(threadId);
+		long baselineAfter = threadBean.getThreadAllocatedBytes(threadId);
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int n = 0; n < ITERATIONS; n++) {
+			injector.request(identifier);
+		}
+		long after = threadBean.getThreadAllocatedBytes(threadId);
+		return ((after - before) - (baselineAfter - baselineBefore)) / ITERATIONS;
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = InvocationEngine.class, names = {"REFLECTION", "FUSED_METHOD_HANDLES"})
+	public void requestSingleton(InvocationEngine invocationEngine) {
+		Injector injector = new InjectorBuilder().invocationEngine(invocationEngine).build();
+		long allocated = allocatedBytesPerRequest(injector, Identifier.ofType(Hangar.class));
+		assertTrue(allocated == 0, "Allocated " + allocated + " bytes per request");
+	}
+
+	@Test
+	public void requestSingletonWithProvisionListener() {
+		long[] provisions = new long[1];
+		Injector injector = new InjectorBuilder()
+				.provisionListener((identifier, kind, elapsedNanos) -> provisions[0]++)
+				.build();
+		long allocated = allocatedBytesPerRequest(injector, Identifier.ofType(Hangar.class));
+		assertTrue(allocated == 0, "Allocated " + allocated + " bytes per request");
+		assertTrue(provisions[0] >= ITERATIONS);
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SpecificationSupport.class, names = {"JAVAX", "JAKARTA"})
+	public void requestBoundInstance(SpecificationSupport specification) {
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.bindInstance(Identifier.ofTypeAndNamed(String.class, "name"), "value")
+				.build();
+		long allocated = allocatedBytesPerRequest(injector, Identifier.ofTypeAndNamed(String.class, "name"));
+		assertTrue(allocated == 0, "Allocated " + allocated + " bytes per request");
+	}
+
+	@Test
+	public void requestThreadScoped() {
+		Injector injector = new InjectorBuilder().build();
+		long allocated = allocatedBytesPerRequest(injector, Identifier.ofType(Workshop.class));
+		assertTrue(allocated == 0, "Allocated " + allocated + " bytes per request");
+	}
+
+	@Test
+	public void requestUnitOfWorkScoped() {
+		Injector injector = new InjectorBuilder().build();
+		try (UnitOfWork unitOfWork = injector.openScope()) {
+			long allocated = allocatedBytesPerRequest(injector, Identifier.ofType(Runway.class));
+			assertTrue(allocated == 0, "Allocated " + allocated + " bytes per request");
+		}
+	}
+
+	@Test
+	public void openScopeAfterManyBindings() {
+		UnitOfWorkScope scope = new UnitOfWorkScope();
+		for (int n = 0; n < 10_000; n++) {
+			scope.scope(Identifier.ofType(Object.class), Object::new);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int n = 0; n < ITERATIONS; n++) {
+			scope.open().close();
+		}
+		long allocated = (threadBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+		// Opening a unit of work should not depend on the number of bindings ever scoped
+		assertTrue(allocated < 1024, "Allocated " + allocated + " bytes per unit of work");
+	}
+
+	@Singleton
+	@javax.inject.Singleton
+	public static class Hangar {
+
+		@javax.inject.Inject
+		@Inject
+		public Hangar(Plane plane) {
+			assertNotNull(plane);
+		}
+	}
+
+	@ThreadScoped
+	public static class Workshop {
+
+		@javax.inject.Inject
+		@Inject
+		public Workshop(Plane plane) {
+			assertNotNull(plane);
+		}
+	}
+
+	@UnitOfWorkScoped
+	public static class Runway {
+
+		@javax.inject.Inject
+		@Inject
+		public Runway(Plane plane) {
+			assertNotNull(plane);
+		}
+	}
+
+}
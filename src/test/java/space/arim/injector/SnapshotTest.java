@@ -0,0 +1,76 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.example.AirportModule;
+import space.arim.injector.example.Plane;
+
+public class SnapshotTest {
+
+	@TempDir
+	public Path tempDir;
+
+	@ParameterizedTest
+	@EnumSource
+	public void testWriteAndLoad(SpecificationSupport specification) throws IOException {
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.addBindModules(new AirportModule())
+				.validateAndPrepare(true)
+				.addValidationRoots(Plane.class)
+				.build();
+		Path snapshot = tempDir.resolve("injector.snapshot");
+		try (OutputStream output = Files.newOutputStream(snapshot)) {
+			injector.writeSnapshot(output);
+		}
+		assertTrue(Files.size(snapshot) > 0);
+
+		Injector restored = new InjectorBuilder()
+				.specification(specification)
+				.addBindModules(new AirportModule())
+				.snapshot(snapshot)
+				.build();
+		assertNotNull(restored.request(Plane.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testMissingSnapshot(SpecificationSupport specification) {
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.addBindModules(new AirportModule())
+				.snapshot(tempDir.resolve("absent.snapshot"))
+				.build();
+		assertNotNull(injector.request(Plane.class));
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.error.MisannotatedInjecteeException;
+import space.arim.injector.error.MisconfiguredBindingsException;
+import space.arim.injector.error.MultiBindingRelatedException;
+import space.arim.injector.error.OptionalBindingRelatedException;
+import space.arim.injector.example.AirportModule;
+import space.arim.injector.example.Plane;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+public class ValidateAndPrepareTest {
+
+	private static InjectorBuilder builder(SpecificationSupport specification, Object...bindModules) {
+		return new InjectorBuilder().specification(specification).addBindModules(bindModules).validateAndPrepare(true);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testValidGraph(SpecificationSupport specification) {
+		Injector injector = builder(specification, new AirportModule()).addValidationRoots(Plane.class).build();
+
+		assertNotNull(injector.request(Plane.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testInvalidGraphIsLazyWithoutValidation(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification, new MissingBindingModule());
+
+		assertThrows(MisconfiguredBindingsException.class, () -> injector.request(Service.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testSingleFailure(SpecificationSupport specification) {
+		InjectorBuilder builder = builder(specification, new MissingBindingModule());
+
+		InjectorException ex = assertThrows(MisconfiguredBindingsException.class, builder::build);
+		assertEquals(
+				Arrays.asList(Identifier.ofType(Service.class), Identifier.ofType(Repository.class)),
+				ex.getDependencyPath());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testAllFailuresReported(SpecificationSupport specification) {
+		InjectorBuilder builder = builder(specification, new MissingBindingModule())
+				.addValidationRoots(Endpoint.class);
+
+		InjectorException ex = assertThrows(InjectorException.class, builder::build);
+		assertEquals(2, ex.getSuppressed().length);
+		Set<Class<?>> failureTypes = new HashSet<>();
+		for (Throwable suppressed : ex.getSuppressed()) {
+			failureTypes.add(suppressed.getClass());
+		}
+		assertEquals(Set.of(MisconfiguredBindingsException.class, MisannotatedInjecteeException.class), failureTypes);
+		assertTrue(ex.getMessage().contains(Identifier.ofType(Repository.class).toString()), ex.getMessage());
+		assertTrue(ex.getMessage().contains(Identifier.ofType(Uninjectable.class).toString()), ex.getMessage());
+	}
+
+	@Test // No use testing Javax - Javax support will not recognise jakarta.inject.Provider
+	public void testDeferredDependenciesValidated() {
+		InjectorBuilder builder = new InjectorBuilder().validateAndPrepare(true).addValidationRoots(DeferredEndpoint.class);
+
+		InjectorException ex = assertThrows(MisannotatedInjecteeException.class, builder::build);
+		assertEquals(
+				Arrays.asList(Identifier.ofType(DeferredEndpoint.class), Identifier.ofType(Uninjectable.class)),
+				ex.getDependencyPath());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testMultipleBindingFailureReported(SpecificationSupport specification) {
+		// Multiple bindings are not enabled
+		InjectorBuilder builder = builder(specification).addValidationRoots(MultipleEndpoint.class, Endpoint.class);
+
+		InjectorException ex = assertThrows(InjectorException.class, builder::build);
+		assertEquals(2, ex.getSuppressed().length);
+		Set<Class<?>> failureTypes = new HashSet<>();
+		for (Throwable suppressed : ex.getSuppressed()) {
+			failureTypes.add(suppressed.getClass());
+		}
+		assertEquals(Set.of(MultiBindingRelatedException.class, MisannotatedInjecteeException.class), failureTypes);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testOptionalBindingFailureReported(SpecificationSupport specification) {
+		// Optional bindings are not enabled
+		InjectorBuilder builder = builder(specification).addValidationRoots(OptionalEndpoint.class);
+
+		InjectorException ex = assertThrows(OptionalBindingRelatedException.class, builder::build);
+		assertEquals(
+				Arrays.asList(Identifier.ofType(OptionalEndpoint.class), Identifier.ofType(Service.class)),
+				ex.getDependencyPath());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testOptionalBindingValidated(SpecificationSupport specification) {
+		Injector injector = builder(specification).optionalBindings(true).addValidationRoots(OptionalEndpoint.class).build();
+
+		assertNotNull(injector.request(OptionalEndpoint.class));
+	}
+
+	public interface Service {}
+
+	public interface Repository {}
+
+	public static class ServiceImpl implements Service {
+		@javax.inject.Inject
+		@Inject
+		public ServiceImpl(Repository repository) {}
+	}
+
+	public static class MissingBindingModule {
+		public Service service(Repository repository) {
+			return new ServiceImpl(repository);
+		}
+	}
+
+	public static class Endpoint {
+		@javax.inject.Inject
+		@Inject
+		public Endpoint(Uninjectable uninjectable) {}
+	}
+
+	public static class DeferredEndpoint {
+		@Inject
+		public DeferredEndpoint(Provider<Uninjectable> uninjectable) {}
+	}
+
+	public static class MultipleEndpoint {
+		@javax.inject.Inject
+		@Inject
+		public MultipleEndpoint(@MultiBinding Set<Plane> planes) {}
+	}
+
+	public static class OptionalEndpoint {
+		@javax.inject.Inject
+		@Inject
+		public OptionalEndpoint(Optional<Service> service) {}
+	}
+
+	public static class Uninjectable {
+		public Uninjectable(String argument) {}
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.generated;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+import space.arim.injector.SpecificationSupport;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeneratedFactoryTest {
+
+	private static void assertFullyInjected(Hangar hangar) {
+		assertNotNull(hangar.plane());
+		assertNotNull(hangar.spareWing);
+		assertNotNull(hangar.otherWing());
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SpecificationSupport.class, names = {"COMBINED", "AUTO_DETECT"})
+	public void useGeneratedFactory(SpecificationSupport specification) {
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.generatedFactories(true)
+				.build();
+		Hangar hangar = injector.request(Hangar.class);
+		assertFullyInjected(hangar);
+		assertTrue(hangar.fromFactory, "Generated factory should be used");
+	}
+
+	@Test
+	public void generatedFactoriesDisabled() {
+		Injector injector = new InjectorBuilder()
+				.specification(SpecificationSupport.COMBINED)
+				.build();
+		Hangar hangar = injector.request(Hangar.class);
+		assertFullyInjected(hangar);
+		assertFalse(hangar.fromFactory, "Generated factories are disabled by default");
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SpecificationSupport.class, names = {"JAVAX", "JAKARTA"})
+	public void fallbackWhenAnnotationsUnrecognised(SpecificationSupport specification) {
+		// The factory relied upon both javax.inject.Inject and jakarta.inject.Inject
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.generatedFactories(true)
+				.build();
+		Hangar hangar = injector.request(Hangar.class);
+		assertFullyInjected(hangar);
+		assertFalse(hangar.fromFactory, "Reflection should be used instead");
+	}
+
+}
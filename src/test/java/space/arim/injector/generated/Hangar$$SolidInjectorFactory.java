@@ -0,0 +1,64 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.generated;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.Wing;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Written by hand in the same shape as the annotation processor's output
+ */
+public final class Hangar$$SolidInjectorFactory implements GeneratedFactory<Hangar> {
+
+	@Override
+	public Class<Hangar> type() {
+		return Hangar.class;
+	}
+
+	@Override
+	public List<Class<? extends Annotation>> injectAnnotations() {
+		return Arrays.asList(javax.inject.Inject.class, jakarta.inject.Inject.class);
+	}
+
+	@Override
+	public List<Class<? extends Annotation>> qualifierAnnotations() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<Identifier<?>> dependencies() {
+		return Arrays.asList(Identifier.ofType(Plane.class), Identifier.ofType(Wing.class), Identifier.ofType(Wing.class));
+	}
+
+	@Override
+	public Hangar create(Object[] dependencies) {
+		Hangar instance = new Hangar((Plane) dependencies[0]);
+		instance.spareWing = (Wing) dependencies[1];
+		instance.setOtherWing((Wing) dependencies[2]);
+		instance.fromFactory = true;
+		return instance;
+	}
+}
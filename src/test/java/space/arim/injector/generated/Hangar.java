@@ -0,0 +1,54 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.generated;
+
+import jakarta.inject.Inject;
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.Wing;
+
+public class Hangar {
+
+	private final Plane plane;
+	@javax.inject.Inject
+	@Inject
+	public Wing spareWing;
+	private Wing otherWing;
+	boolean fromFactory;
+
+	@javax.inject.Inject
+	@Inject
+	public Hangar(Plane plane) {
+		this.plane = plane;
+	}
+
+	@javax.inject.Inject
+	@Inject
+	public void setOtherWing(Wing otherWing) {
+		this.otherWing = otherWing;
+	}
+
+	public Plane plane() {
+		return plane;
+	}
+
+	public Wing otherWing() {
+		return otherWing;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.error.InjectorException;
+import space.arim.injector.error.MisannotatedInjecteeException;
+
+public class FailedBindingsTest {
+
+	private final FailedBindings failedBindings = new FailedBindings();
+	private final Identifier<Object> identifier = Identifier.ofType(Object.class);
+
+	@Test
+	public void testRecreatedWithoutPropagatedContext() {
+		MisannotatedInjecteeException original = new MisannotatedInjecteeException("Failure");
+		ExceptionContext.addContext(original, "While scanning");
+		ExceptionContext.recordDependencyPath(original, new Identifier<?>[] {identifier});
+		failedBindings.recordFailure(identifier, original);
+
+		InjectorException recreated = assertThrows(MisannotatedInjecteeException.class,
+				() -> failedBindings.checkFailure(identifier));
+		assertEquals("Failure", ExceptionContext.getMessageWithoutContext(recreated));
+		assertEquals(Collections.singletonList("While scanning"), ExceptionContext.getContext(recreated));
+		assertTrue(recreated.getDependencyPath().isEmpty());
+
+		// As the recreated exception propagates, the path is added only once
+		ExceptionContext.recordDependencyPath(recreated, new Identifier<?>[] {identifier});
+		assertEquals(original.getMessage(), recreated.getMessage());
+	}
+
+	@Test
+	public void testOtherFailuresNotRecorded() {
+		failedBindings.recordFailure(identifier, new InjectorException("Transient"));
+		failedBindings.checkFailure(identifier);
+	}
+
+}
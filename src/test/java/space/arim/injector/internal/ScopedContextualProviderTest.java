@@ -0,0 +1,70 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.scope.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+@ExtendWith(MockitoExtension.class)
+public class ScopedContextualProviderTest {
+
+	@Test
+	public void testUsesRepositoryOfEachCall(@Mock DependencyRepository first, @Mock DependencyRepository second) {
+		when(first.getRoot()).thenReturn(first);
+		when(second.getRoot()).thenReturn(second);
+		List<DependencyRepository> repositories = new ArrayList<>();
+		ContextualProvider<Object> delegate = (repository) -> {
+			repositories.add(repository);
+			return new Object();
+		};
+		// Creates an instance on every call
+		Scope scope = new Scope() {
+			@Override
+			public <T> Supplier<T> scope(Identifier<T> identifier, Supplier<T> unscoped) {
+				return unscoped;
+			}
+		};
+		ScopedContextualProvider<Object> provider = new ScopedContextualProvider<>(
+				Identifier.ofType(Object.class), delegate, scope, PerCall.class);
+
+		provider.provideUsing(first);
+		provider.provideUsing(second);
+		assertEquals(2, repositories.size());
+		assertSame(first, repositories.get(0));
+		assertSame(second, repositories.get(1));
+	}
+
+	@interface PerCall {}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.dependency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.DependencyRepository;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.FixedContextualProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InstanceDependencyTest {
+
+	private final Identifier<String> identifier = Identifier.ofType(String.class);
+	private final ContextualProvider<String> provider = new FixedContextualProvider<>("value");
+
+	@Test
+	public void linkProviderOnce(@Mock DependencyRepository root) {
+		when(root.getRoot()).thenReturn(root);
+		when(root.requestProvider(identifier)).thenReturn(provider);
+		when(root.requestInstance(identifier, provider)).thenReturn("value");
+
+		InstanceDependency<String> dependency = new InstanceDependency<>(identifier);
+		assertEquals("value", dependency.instantiate(root));
+		assertEquals("value", dependency.instantiate(root));
+		verify(root, times(1)).requestProvider(identifier);
+		verify(root, times(2)).requestInstance(identifier, provider);
+	}
+
+	@Test
+	public void relinkForAnotherRoot(@Mock DependencyRepository root, @Mock DependencyRepository otherRoot) {
+		when(root.getRoot()).thenReturn(root);
+		when(root.requestProvider(identifier)).thenReturn(provider);
+		when(otherRoot.getRoot()).thenReturn(otherRoot);
+		ContextualProvider<String> otherProvider = new FixedContextualProvider<>("other value");
+		when(otherRoot.requestProvider(identifier)).thenReturn(otherProvider);
+
+		InstanceDependency<String> dependency = new InstanceDependency<>(identifier);
+		dependency.instantiate(root);
+		dependency.instantiate(otherRoot);
+		verify(root).requestInstance(identifier, provider);
+		verify(otherRoot).requestInstance(identifier, otherProvider);
+	}
+
+	@Test
+	public void linkAheadOfInstantiation(@Mock DependencyRepository root) {
+		when(root.getRoot()).thenReturn(root);
+		when(root.requestProvider(identifier)).thenReturn(provider);
+		when(root.requestInstance(identifier, provider)).thenReturn("value");
+
+		InstanceDependency<String> dependency = new InstanceDependency<>(identifier);
+		dependency.link(root);
+		verify(root).requestProvider(identifier);
+		assertEquals("value", dependency.instantiate(root));
+		verify(root, times(1)).requestProvider(identifier);
+	}
+
+}
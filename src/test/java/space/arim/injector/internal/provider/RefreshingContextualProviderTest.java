@@ -0,0 +1,160 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.injector.Identifier;
+import space.arim.injector.internal.DependencyRepository;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshingContextualProviderTest {
+
+	private final Identifier<MyService> identifier = Identifier.ofType(MyService.class);
+	private final AtomicInteger creations = new AtomicInteger();
+	private volatile boolean failing;
+	private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+	@Mock
+	private DependencyRepository repository;
+
+	@BeforeEach
+	public void setRepository() {
+		lenient().when(repository.getRoot()).thenReturn(repository);
+		lenient().when(repository.requestInstance(eq(identifier), any())).thenAnswer((invocation) -> {
+			ContextualProvider<?> provider = invocation.getArgument(1);
+			return provider.provideUsing(repository);
+		});
+	}
+
+	private MyService create(DependencyRepository repository) {
+		creations.incrementAndGet();
+		if (failing) {
+			throw new IllegalStateException("Failing");
+		}
+		return new MyService.Impl();
+	}
+
+	private RefreshingContextualProvider<MyService> newProvider(long periodNanos) {
+		return new RefreshingContextualProvider<>(identifier, this::create, periodNanos, refreshes::add);
+	}
+
+	@Test
+	public void sameInstanceUntilExpired() {
+		RefreshingContextualProvider<MyService> provider = newProvider(TimeUnit.HOURS.toNanos(1L));
+		MyService instance = provider.provideUsing(repository);
+		assertSame(instance, provider.provideUsing(repository));
+		assertSame(instance, provider.attachTo(repository).provide());
+		assertFalse(provider.providesSameInstance());
+		assertEquals(1, creations.get());
+		assertEquals(0, refreshes.size());
+	}
+
+	@Test
+	public void refreshedInBackground() {
+		RefreshingContextualProvider<MyService> provider = newProvider(1L);
+		MyService instance = provider.provideUsing(repository);
+		assertEquals(1, creations.get());
+
+		// Expired instance is returned, and only one refresh is submitted
+		assertSame(instance, provider.provideUsing(repository));
+		assertSame(instance, provider.provideUsing(repository));
+		assertEquals(1, refreshes.size());
+		assertEquals(1, creations.get());
+
+		refreshes.remove().run();
+		assertEquals(2, creations.get());
+		MyService replacement = provider.provideUsing(repository);
+		assertNotSame(instance, replacement);
+		assertEquals(1, refreshes.size(), "Replacement has already expired");
+	}
+
+	@Test
+	public void failedRefreshKeepsInstance() {
+		RefreshingContextualProvider<MyService> provider = newProvider(1L);
+		MyService instance = provider.provideUsing(repository);
+
+		failing = true;
+		assertSame(instance, provider.provideUsing(repository));
+		refreshes.remove().run();
+		assertEquals(2, creations.get());
+		assertSame(instance, provider.provideUsing(repository));
+		assertEquals(1, refreshes.size(), "Refresh is retried after another period");
+
+		failing = false;
+		refreshes.remove().run();
+		assertNotSame(instance, provider.provideUsing(repository));
+	}
+
+	@Test
+	public void failedRefreshWaitsAnotherPeriod() throws InterruptedException {
+		long periodNanos = TimeUnit.MILLISECONDS.toNanos(200L);
+		RefreshingContextualProvider<MyService> provider = newProvider(periodNanos);
+		MyService instance = provider.provideUsing(repository);
+		TimeUnit.NANOSECONDS.sleep(periodNanos);
+
+		failing = true;
+		assertSame(instance, provider.provideUsing(repository));
+		refreshes.remove().run();
+		for (int n = 0; n < 10; n++) {
+			assertSame(instance, provider.provideUsing(repository));
+		}
+		assertEquals(0, refreshes.size(), "No refresh until the kept instance expires again");
+		assertEquals(2, creations.get());
+
+		TimeUnit.NANOSECONDS.sleep(periodNanos);
+		assertSame(instance, provider.provideUsing(repository));
+		assertEquals(1, refreshes.size());
+	}
+
+	@Test
+	public void rejectedRefreshKeepsInstance() {
+		RefreshingContextualProvider<MyService> provider = new RefreshingContextualProvider<>(identifier, this::create, 1L,
+				(command) -> { throw new RejectedExecutionException(); });
+		MyService instance = provider.provideUsing(repository);
+		assertSame(instance, provider.provideUsing(repository));
+		assertSame(instance, provider.provideUsing(repository));
+		assertEquals(1, creations.get());
+	}
+
+	@Test
+	public void periodMustBePositive() {
+		assertThrows(IllegalArgumentException.class, () -> newProvider(0L));
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.provider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.injector.ProvisionKind;
+import space.arim.injector.internal.DependencyRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class SoftSingletonContextualProviderTest {
+
+	private final AtomicInteger creations = new AtomicInteger();
+
+	@Test
+	public void sameInstanceUntilReleased(@Mock DependencyRepository repository) {
+		SoftSingletonContextualProvider<MyService> provider = new SoftSingletonContextualProvider<>(new CountingProvider());
+		MyService instance = provider.provideUsing(repository);
+		assertSame(instance, provider.provideUsing(repository));
+		assertSame(instance, provider.attachTo(repository).provide());
+		assertEquals(ProvisionKind.SINGLETON_HIT, provider.provisionKind());
+		assertEquals(1, creations.get());
+
+		provider.release();
+		assertEquals(ProvisionKind.OTHER, provider.provisionKind());
+		MyService recreated = provider.provideUsing(repository);
+		assertNotSame(instance, recreated);
+		assertSame(recreated, provider.provideUsing(repository));
+		assertEquals(2, creations.get());
+	}
+
+	@Test
+	public void notFixedWhenAttached(@Mock DependencyRepository repository) {
+		SoftSingletonContextualProvider<MyService> provider = new SoftSingletonContextualProvider<>(new CountingProvider());
+		provider.provideUsing(repository);
+		ContextlessProvider<MyService> attached = provider.attachTo(repository);
+		assertFalse(attached instanceof FixedContextlessProvider);
+		assertFalse(provider.providesSameInstance());
+
+		provider.release();
+		attached.provide();
+		assertEquals(2, creations.get());
+	}
+
+	@Test
+	public void recreatedOnceConcurrently(@Mock DependencyRepository repository) throws Exception {
+		CountDownLatch creating = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		SoftSingletonContextualProvider<MyService> provider = new SoftSingletonContextualProvider<>((repo) -> {
+			if (creations.incrementAndGet() == 2) {
+				creating.countDown();
+				try {
+					assertTrue(proceed.await(5L, TimeUnit.SECONDS));
+				} catch (InterruptedException ex) {
+					throw new AssertionError(ex);
+				}
+			}
+			return new MyService.Impl();
+		});
+		provider.provideUsing(repository);
+		provider.release();
+
+		List<CompletableFuture<MyService>> futures = new ArrayList<>();
+		for (int n = 0; n < 4; n++) {
+			futures.add(CompletableFuture.supplyAsync(() -> provider.provideUsing(repository)));
+		}
+		assertTrue(creating.await(5L, TimeUnit.SECONDS));
+		proceed.countDown();
+		MyService recreated = futures.get(0).get(5L, TimeUnit.SECONDS);
+		for (CompletableFuture<MyService> future : futures) {
+			assertSame(recreated, future.get(5L, TimeUnit.SECONDS));
+		}
+		assertEquals(2, creations.get());
+	}
+
+	private final class CountingProvider implements ContextualProvider<MyService> {
+
+		@Override
+		public MyService provideUsing(DependencyRepository repository) {
+			creations.incrementAndGet();
+			return new MyService.Impl();
+		}
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import space.arim.injector.Injector;
+import space.arim.injector.example.Plane;
+import space.arim.injector.internal.InjectionSettings;
+import space.arim.injector.internal.ScopeBindings;
+import space.arim.injector.internal.dependency.InstantiableDependency;
+import space.arim.injector.internal.invoke.MemberInvokers;
+import space.arim.injector.internal.invoke.MethodHandleInvokers;
+import space.arim.injector.internal.invoke.ReflectionInvokers;
+import space.arim.injector.internal.provider.ContextualProvider;
+import space.arim.injector.internal.provider.DependencyVisitor;
+import space.arim.injector.internal.spec.AllSpecSupportProvider;
+import space.arim.injector.internal.spec.JakartaSupport;
+import space.arim.injector.internal.spec.SpecSupport;
+
+public class ConcreteTypeMetadataTest {
+
+	private static InjectionSettings settings(SpecSupport spec, boolean privateInjection, boolean optionalBindings,
+											  MemberInvokers invokers) {
+		return new InjectionSettings(spec, privateInjection, false, optionalBindings, false, true, invokers,
+				new ScopeBindings(ScopeBindings.defaultScopes()));
+	}
+
+	@ParameterizedTest
+	@ArgumentsSource(AllSpecSupportProvider.class)
+	public void testSharedAcrossEquivalentSettings(SpecSupport spec) throws ReflectiveOperationException {
+		SpecSupport sameSpec = spec.getClass().getDeclaredConstructor().newInstance();
+		ConcreteTypeMetadata<Scanned> metadata = ConcreteTypeMetadata.forType(
+				settings(spec, false, false, new ReflectionInvokers()), Scanned.class);
+
+		assertSame(metadata, ConcreteTypeMetadata.forType(
+				settings(sameSpec, false, true, new MethodHandleInvokers(false)), Scanned.class));
+		assertNotSame(metadata, ConcreteTypeMetadata.forType(
+				settings(spec, true, false, new ReflectionInvokers()), Scanned.class));
+	}
+
+	@Test
+	public void testProvidersDoNotShareDependencies() {
+		InjectionSettings settings = new InjectionSettings(new JakartaSupport());
+		List<InstantiableDependency> first = dependenciesOf(
+				new ConstructorAsProvider<>(settings, Scanned.class).createProvider());
+		List<InstantiableDependency> second = dependenciesOf(
+				new ConstructorAsProvider<>(settings, Scanned.class).createProvider());
+
+		assertEquals(3, first.size());
+		assertEquals(first, second);
+		for (int n = 0; n < first.size(); n++) {
+			assertNotSame(first.get(n), second.get(n));
+		}
+	}
+
+	private static List<InstantiableDependency> dependenciesOf(ContextualProvider<?> provider) {
+		List<InstantiableDependency> dependencies = new ArrayList<>();
+		provider.visitDependencies(new DependencyVisitor() {
+			@Override
+			public void visitDependency(InstantiableDependency dependency) {
+				dependencies.add(dependency);
+			}
+
+			@Override
+			public void visitProvider(ContextualProvider<?> provider) {
+				provider.visitDependencies(this);
+			}
+		});
+		return dependencies;
+	}
+
+	@Test
+	public void testClassLoaderNotPinned() throws ReflectiveOperationException, InterruptedException {
+		WeakReference<ClassLoader> loaderRef = scanInSeparateLoader();
+		for (int n = 0; n < 50 && loaderRef.get() != null; n++) {
+			System.gc();
+			Thread.sleep(20L);
+		}
+		assertNull(loaderRef.get(), "Class loader of scanned class should be collectable");
+	}
+
+	private WeakReference<ClassLoader> scanInSeparateLoader() throws ReflectiveOperationException {
+		IsolatingClassLoader loader = new IsolatingClassLoader(Unloadable.class.getName());
+		Class<?> unloadable = loader.loadClass(Unloadable.class.getName());
+		assertNotSame(Unloadable.class, unloadable);
+		assertNotNull(ConcreteTypeMetadata.forType(new InjectionSettings(new JakartaSupport()), unloadable));
+		return new WeakReference<>(loader);
+	}
+
+	@Test
+	public void testLibraryLoaderNotPinned() throws ReflectiveOperationException, IOException, InterruptedException {
+		WeakReference<ClassLoader> loaderRef = scanWithSeparateLibrary();
+		for (int n = 0; n < 50 && loaderRef.get() != null; n++) {
+			System.gc();
+			Thread.sleep(20L);
+		}
+		assertNull(loaderRef.get(), "Class loader of the library should be collectable");
+	}
+
+	private WeakReference<ClassLoader> scanWithSeparateLibrary()
+			throws ReflectiveOperationException, IOException, InterruptedException {
+		URL libraryLocation = ReflectionMetadataCache.class.getProtectionDomain().getCodeSource().getLocation();
+		try (LibraryClassLoader loader = new LibraryClassLoader(libraryLocation)) {
+			Class<?> injectorClass = loader.loadClass(Injector.class.getName());
+			assertNotSame(Injector.class, injectorClass);
+			Object injector = injectorClass.getMethod("newInjector", Object[].class).invoke(null, (Object) new Object[0]);
+			// Scans a class of the bootstrap loader, an ancestor of the separate library's loader
+			// Requests on a separate thread, whose thread-local request state ends with it
+			AtomicReference<Object> instance = new AtomicReference<>();
+			Thread thread = new Thread(() -> {
+				try {
+					instance.set(injectorClass.getMethod("request", Class.class).invoke(injector, Object.class));
+				} catch (ReflectiveOperationException ex) {
+					throw new AssertionError(ex);
+				}
+			});
+			thread.start();
+			thread.join();
+			assertNotNull(instance.get());
+			return new WeakReference<>(loader);
+		}
+	}
+
+	public static class Scanned {
+
+		@javax.inject.Inject
+		@Inject
+		public Plane plane;
+
+		@javax.inject.Inject
+		@Inject
+		public Scanned(Plane plane) {}
+
+		@javax.inject.Inject
+		@Inject
+		public void setPlane(Plane plane) {}
+	}
+
+	public static class Unloadable {}
+
+	/**
+	 * Defines a single class itself, delegating other classes to its parent
+	 *
+	 */
+	/**
+	 * Loads this library anew, preferring its own copy of library classes
+	 *
+	 */
+	private static final class LibraryClassLoader extends URLClassLoader {
+
+		LibraryClassLoader(URL libraryLocation) {
+			super(new URL[] {libraryLocation}, ConcreteTypeMetadataTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith("space.arim.injector.")) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded == null) {
+					try {
+						loaded = findClass(name);
+					} catch (ClassNotFoundException ex) {
+						return super.loadClass(name, resolve);
+					}
+				}
+				return loaded;
+			}
+		}
+	}
+
+	static final class IsolatingClassLoader extends ClassLoader {
+
+		private final String isolatedClassName;
+
+		IsolatingClassLoader(String isolatedClassName) {
+			super(ConcreteTypeMetadataTest.class.getClassLoader());
+			this.isolatedClassName = isolatedClassName;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(isolatedClassName)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded != null) {
+					return loaded;
+				}
+				byte[] bytes;
+				try (InputStream input = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+					bytes = input.readAllBytes();
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+				return defineClass(name, bytes, 0, bytes.length);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.internal.reflect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.Test;
+
+import space.arim.injector.example.Plane;
+import space.arim.injector.example.Wing;
+import space.arim.injector.internal.InjectionSettings;
+import space.arim.injector.internal.ScopeBindings;
+import space.arim.injector.internal.invoke.ReflectionInvokers;
+import space.arim.injector.internal.spec.JakartaSupport;
+
+public class MetadataSnapshotTest {
+
+	private final InjectionSettings settings = new InjectionSettings(new JakartaSupport());
+
+	private byte[] writeSnapshot(Class<?> type) throws IOException {
+		assertNotNull(ConcreteTypeMetadata.forType(settings, type));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(1, new MetadataSnapshot(settings).write(Collections.singleton(type), output));
+		return output.toByteArray();
+	}
+
+	private static Class<?> loadSeparately(Class<?> type) throws ClassNotFoundException {
+		Class<?> separate = new ConcreteTypeMetadataTest.IsolatingClassLoader(type.getName()).loadClass(type.getName());
+		assertNotSame(type, separate);
+		return separate;
+	}
+
+	@Test
+	public void testRestoreWithoutScanning() throws IOException, ReflectiveOperationException {
+		byte[] snapshot = writeSnapshot(Snapshotted.class);
+		Class<?> separate = loadSeparately(Snapshotted.class);
+
+		Set<Class<?>> restored = new MetadataSnapshot(settings).read(
+				separate.getClassLoader(), new ByteArrayInputStream(snapshot));
+		assertEquals(Collections.singleton(separate), restored);
+
+		ConcreteTypeMetadata<?> metadata = ConcreteTypeMetadata.cached(settings, separate);
+		assertNotNull(metadata, "Metadata should be restored rather than scanned");
+		ConcreteTypeMetadata<Snapshotted> original = ConcreteTypeMetadata.forType(settings, Snapshotted.class);
+		assertEquals(separate, metadata.constructor.getDeclaringClass());
+		assertEquals(original.constructorDependencies, metadata.constructorDependencies);
+		assertEquals(original.singleton, metadata.singleton);
+		assertEquals(original.injectionPoints.size(), metadata.injectionPoints.size());
+		for (int n = 0; n < original.injectionPoints.size(); n++) {
+			assertEquals(original.injectionPoints.get(n).member.getName(), metadata.injectionPoints.get(n).member.getName());
+			assertEquals(original.injectionPoints.get(n).dependencies(), metadata.injectionPoints.get(n).dependencies());
+		}
+	}
+
+	@Test
+	public void testStaleClassIsScanned() throws IOException, ReflectiveOperationException {
+		byte[] snapshot = writeSnapshot(Snapshotted.class);
+		// The class stamp immediately follows the class name
+		byte[] className = Snapshotted.class.getName().getBytes(StandardCharsets.UTF_8);
+		int stampIndex = indexOf(snapshot, className) + className.length;
+		snapshot[stampIndex] ^= 1;
+		Class<?> separate = loadSeparately(Snapshotted.class);
+
+		Set<Class<?>> restored = new MetadataSnapshot(settings).read(
+				separate.getClassLoader(), new ByteArrayInputStream(snapshot));
+		assertTrue(restored.isEmpty());
+		assertNull(ConcreteTypeMetadata.cached(settings, separate));
+	}
+
+	@Test
+	public void testDifferentSettingsIgnored() throws IOException, ReflectiveOperationException {
+		byte[] snapshot = writeSnapshot(Snapshotted.class);
+		InjectionSettings privateSettings = new InjectionSettings(
+				new JakartaSupport(), true, false, false, false, true, new ReflectionInvokers(),
+				new ScopeBindings(ScopeBindings.defaultScopes()));
+		Class<?> separate = loadSeparately(Snapshotted.class);
+
+		Set<Class<?>> restored = new MetadataSnapshot(privateSettings).read(
+				separate.getClassLoader(), new ByteArrayInputStream(snapshot));
+		assertTrue(restored.isEmpty());
+		assertNull(ConcreteTypeMetadata.cached(privateSettings, separate));
+	}
+
+	@Test
+	public void testNotASnapshot() {
+		byte[] garbage = "not a snapshot".getBytes(StandardCharsets.UTF_8);
+		assertThrows(IOException.class, () -> new MetadataSnapshot(settings).read(
+				getClass().getClassLoader(), new ByteArrayInputStream(garbage)));
+	}
+
+	@Test
+	public void testTruncatedSnapshot() throws IOException {
+		byte[] snapshot = writeSnapshot(Snapshotted.class);
+		byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 1);
+		assertThrows(IOException.class, () -> new MetadataSnapshot(settings).read(
+				getClass().getClassLoader(), new ByteArrayInputStream(truncated)));
+	}
+
+	@Test
+	public void testCorruptLength() throws IOException {
+		byte[] snapshot = writeSnapshot(Snapshotted.class);
+		// The entry count immediately follows the header
+		byte[] specName = JakartaSupport.class.getName().getBytes(StandardCharsets.UTF_8);
+		int countIndex = indexOf(snapshot, specName) + specName.length + 2;
+		for (int n = 0; n < Integer.BYTES; n++) {
+			snapshot[countIndex + n] = (byte) 0x7f;
+		}
+		assertThrows(IOException.class, () -> new MetadataSnapshot(settings).read(
+				getClass().getClassLoader(), new ByteArrayInputStream(snapshot)));
+		snapshot[countIndex] = (byte) 0xff;
+		assertThrows(IOException.class, () -> new MetadataSnapshot(settings).read(
+				getClass().getClassLoader(), new ByteArrayInputStream(snapshot)));
+	}
+
+	@Test
+	public void testUnscannedTypesOmitted() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(0, new MetadataSnapshot(settings).write(Collections.singleton(NeverScanned.class), output));
+	}
+
+	private static int indexOf(byte[] array, byte[] target) {
+		outer:
+		for (int n = 0; n <= array.length - target.length; n++) {
+			for (int m = 0; m < target.length; m++) {
+				if (array[n + m] != target[m]) {
+					continue outer;
+				}
+			}
+			return n;
+		}
+		throw new AssertionError("Not found");
+	}
+
+	@Singleton
+	public static class Snapshotted {
+
+		@Inject
+		public Wing wing;
+
+		@Inject
+		public Snapshotted(Plane plane, @Named("pilot") String pilot) {}
+
+		@Inject
+		public void setPlane(Provider<Plane> plane, int altitude) {}
+	}
+
+	public static class NeverScanned {}
+
+}
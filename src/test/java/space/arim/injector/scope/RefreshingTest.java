@@ -0,0 +1,125 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+import space.arim.injector.InjectorCreator;
+import space.arim.injector.SpecificationSupport;
+import space.arim.injector.error.MisannotatedInjecteeException;
+
+public class RefreshingTest {
+
+	private static Injector newInjector(SpecificationSupport specification, Object...bindModules) {
+		// Refresh on the requesting thread, after the expired instance is chosen
+		return new InjectorBuilder()
+				.specification(specification)
+				.addBindModules(bindModules)
+				.refreshExecutor(Runnable::run)
+				.build();
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testSameInstanceBeforeExpiry(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		Configuration configuration = injector.request(Configuration.class);
+		assertSame(configuration, injector.request(Configuration.class));
+		assertSame(configuration, injector.request(ConfigurationUser.class).configuration);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testRefreshed(SpecificationSupport specification) {
+		Injector injector = newInjector(specification);
+		Credentials credentials = injector.request(Credentials.class);
+		assertSame(credentials, injector.request(Credentials.class), "Expired instance is returned while refreshing");
+		assertNotSame(credentials, injector.request(Credentials.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testBindMethod(SpecificationSupport specification) {
+		Injector injector = newInjector(specification, new SnapshotModule());
+		StringBuilder snapshot = injector.request(StringBuilder.class);
+		assertSame(snapshot, injector.request(StringBuilder.class));
+		assertNotSame(snapshot, injector.request(StringBuilder.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testAlsoSingleton(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		assertThrows(MisannotatedInjecteeException.class, () -> injector.request(RefreshingSingleton.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testPeriodNotPositive(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		assertThrows(MisannotatedInjecteeException.class, () -> injector.request(NeverExpires.class));
+	}
+
+	@Refreshing(value = 1, unit = TimeUnit.HOURS)
+	public static class Configuration {}
+
+	public static class ConfigurationUser {
+
+		final Configuration configuration;
+
+		@javax.inject.Inject
+		@Inject
+		public ConfigurationUser(Configuration configuration) {
+			this.configuration = configuration;
+		}
+	}
+
+	@Refreshing(value = 1, unit = TimeUnit.NANOSECONDS)
+	public static class Credentials {}
+
+	@Refreshing(value = 1, unit = TimeUnit.MINUTES)
+	@Singleton
+	@javax.inject.Singleton
+	public static class RefreshingSingleton {}
+
+	@Refreshing(value = 0, unit = TimeUnit.SECONDS)
+	public static class NeverExpires {}
+
+	public static class SnapshotModule {
+
+		@Refreshing(value = 1, unit = TimeUnit.NANOSECONDS)
+		public StringBuilder snapshot() {
+			return new StringBuilder();
+		}
+	}
+
+}
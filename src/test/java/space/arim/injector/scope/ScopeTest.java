@@ -0,0 +1,194 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+import space.arim.injector.InjectorCreator;
+import space.arim.injector.SpecificationSupport;
+import space.arim.injector.error.CircularDependencyException;
+import space.arim.injector.error.MisannotatedInjecteeException;
+import space.arim.injector.example.Plane;
+
+public class ScopeTest {
+
+	@ParameterizedTest
+	@EnumSource
+	public void testThreadScopedType(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		Parser parser = injector.request(Parser.class);
+
+		assertSame(parser, injector.request(Parser.class));
+		assertNotSame(parser, CompletableFuture.supplyAsync(() -> injector.request(Parser.class)).join());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testThreadScopedBindMethod(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification, new BufferModule());
+		StringBuilder buffer = injector.request(StringBuilder.class);
+
+		assertSame(buffer, injector.request(StringBuilder.class));
+		assertNotSame(buffer, CompletableFuture.supplyAsync(() -> injector.request(StringBuilder.class)).join());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testThreadScopedDependency(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+
+		assertSame(injector.request(Dependent.class).parser, injector.request(Dependent.class).parser);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testCustomScope(SpecificationSupport specification) {
+		RecordingScope scope = new RecordingScope();
+		Injector injector = new InjectorBuilder()
+				.specification(specification)
+				.bindScope(Recorded.class, scope)
+				.build();
+		RecordedType instance = injector.request(RecordedType.class);
+
+		assertSame(instance, injector.request(RecordedType.class));
+		assertEquals(List.of(Identifier.ofType(RecordedType.class)), scope.scoped);
+		// Unscoped instances may be created outside of a request
+		assertNotSame(instance, scope.unscoped.get());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testScopeWithSingleton(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+
+		assertThrows(MisannotatedInjecteeException.class, () -> injector.request(ScopedSingleton.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testCircularDependencyDetected(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+
+		assertThrows(CircularDependencyException.class, () -> injector.request(CircularScoped.class));
+	}
+
+	@Test
+	public void testScopeAnnotationNotRetained() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new InjectorBuilder().bindScope(NotRetained.class, new ThreadScope()));
+	}
+
+	@ThreadScoped
+	public static class Parser {}
+
+	public static class Dependent {
+
+		final Parser parser;
+
+		@javax.inject.Inject
+		@Inject
+		public Dependent(Parser parser) {
+			this.parser = parser;
+		}
+	}
+
+	public static class BufferModule {
+
+		@ThreadScoped
+		public StringBuilder buffer() {
+			return new StringBuilder();
+		}
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Recorded {}
+
+	@Retention(RetentionPolicy.CLASS)
+	public @interface NotRetained {}
+
+	@Recorded
+	public static class RecordedType {
+
+		@javax.inject.Inject
+		@Inject
+		public RecordedType(Plane plane) {}
+	}
+
+	public static class RecordingScope implements Scope {
+
+		final List<Identifier<?>> scoped = new ArrayList<>();
+		Supplier<?> unscoped;
+
+		@Override
+		public <T> Supplier<T> scope(Identifier<T> identifier, Supplier<T> unscoped) {
+			scoped.add(identifier);
+			this.unscoped = unscoped;
+			@SuppressWarnings("unchecked")
+			T[] instance = (T[]) new Object[1];
+			return () -> {
+				if (instance[0] == null) {
+					instance[0] = unscoped.get();
+				}
+				return instance[0];
+			};
+		}
+	}
+
+	@ThreadScoped
+	@Singleton
+	@javax.inject.Singleton
+	public static class ScopedSingleton {}
+
+	@ThreadScoped
+	public static class CircularScoped {
+
+		@javax.inject.Inject
+		@Inject
+		public CircularScoped(CircularDependency dependency) {}
+	}
+
+	public static class CircularDependency {
+
+		@javax.inject.Inject
+		@Inject
+		public CircularDependency(CircularScoped scoped) {}
+	}
+
+}
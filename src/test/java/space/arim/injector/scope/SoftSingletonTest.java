@@ -0,0 +1,91 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorCreator;
+import space.arim.injector.SpecificationSupport;
+import space.arim.injector.error.MisannotatedInjecteeException;
+
+public class SoftSingletonTest {
+
+	@ParameterizedTest
+	@EnumSource
+	public void testSameInstance(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		Templates templates = injector.request(Templates.class);
+		assertSame(templates, injector.request(Templates.class));
+		TemplateUser user = injector.request(TemplateUser.class);
+		assertSame(templates, user.templates);
+		assertNotSame(user, injector.request(TemplateUser.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testBindMethod(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification, new LookupModule());
+		assertSame(injector.request(StringBuilder.class), injector.request(StringBuilder.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testAlsoSingleton(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		assertThrows(MisannotatedInjecteeException.class, () -> injector.request(SoftAndStrong.class));
+	}
+
+	@SoftSingleton
+	public static class Templates {}
+
+	public static class TemplateUser {
+
+		final Templates templates;
+
+		@javax.inject.Inject
+		@Inject
+		public TemplateUser(Templates templates) {
+			this.templates = templates;
+		}
+	}
+
+	@SoftSingleton
+	@Singleton
+	@javax.inject.Singleton
+	public static class SoftAndStrong {}
+
+	public static class LookupModule {
+
+		@SoftSingleton
+		public StringBuilder lookupTable() {
+			return new StringBuilder();
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * SolidInjector
+ * Copyright © 2022 Anand Beh
+ *
+ * SolidInjector is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SolidInjector is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SolidInjector. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Lesser General Public License.
+ */
+
+package space.arim.injector.scope;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorCreator;
+import space.arim.injector.SpecificationSupport;
+import space.arim.injector.error.ScopeNotActiveException;
+
+public class UnitOfWorkScopeTest {
+
+	@ParameterizedTest
+	@EnumSource
+	public void testSharedWithinUnitOfWork(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		Transaction first;
+		try (UnitOfWork unitOfWork = injector.openScope()) {
+			Diamond diamond = injector.request(Diamond.class);
+			first = diamond.left.transaction;
+			assertSame(first, diamond.right.transaction);
+			assertSame(first, injector.request(Transaction.class));
+		}
+		try (UnitOfWork unitOfWork = injector.openScope()) {
+			assertNotSame(first, injector.request(Transaction.class));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testBindMethod(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification, new LedgerModule());
+		try (UnitOfWork unitOfWork = injector.openScope()) {
+			assertSame(injector.request(StringBuilder.class), injector.request(StringBuilder.class));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testNoUnitOfWork(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		assertThrows(ScopeNotActiveException.class, () -> injector.request(Transaction.class));
+
+		injector.openScope().close();
+		assertThrows(ScopeNotActiveException.class, () -> injector.request(Transaction.class));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testNested(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		try (UnitOfWork outer = injector.openScope()) {
+			Transaction outerTransaction = injector.request(Transaction.class);
+			try (UnitOfWork inner = injector.openScope()) {
+				assertNotSame(outerTransaction, injector.request(Transaction.class));
+			}
+			assertSame(outerTransaction, injector.request(Transaction.class));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testCloseOutOfOrder(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		try (UnitOfWork outer = injector.openScope()) {
+			UnitOfWork inner = injector.openScope();
+			assertThrows(IllegalStateException.class, outer::close);
+			inner.close();
+			assertTrue(inner.isClosed());
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	public void testThreadConfinement(SpecificationSupport specification) {
+		Injector injector = InjectorCreator.newInjector(specification);
+		try (UnitOfWork unitOfWork = injector.openScope()) {
+			CompletionException ex = assertThrows(CompletionException.class,
+					() -> CompletableFuture.runAsync(() -> injector.request(Transaction.class)).join());
+			assertTrue(ex.getCause() instanceof ScopeNotActiveException);
+			ex = assertThrows(CompletionException.class, () -> CompletableFuture.runAsync(unitOfWork::close).join());
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@UnitOfWorkScoped
+	public static class Transaction {}
+
+	public static class Left {
+
+		final Transaction transaction;
+
+		@javax.inject.Inject
+		@Inject
+		public Left(Transaction transaction) {
+			this.transaction = transaction;
+		}
+	}
+
+	public static class Right {
+
+		final Transaction transaction;
+
+		@javax.inject.Inject
+		@Inject
+		public Right(Transaction transaction) {
+			this.transaction = transaction;
+		}
+	}
+
+	public static class Diamond {
+
+		final Left left;
+		final Right right;
+
+		@javax.inject.Inject
+		@Inject
+		public Diamond(Left left, Right right) {
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	public static class LedgerModule {
+
+		@UnitOfWorkScoped
+		public StringBuilder ledger() {
+			return new StringBuilder();
+		}
+	}
+
+}
@@ -23,19 +23,30 @@ import org.atinject.tck.auto.Car;
 
 import space.arim.injector.Injector;
 import space.arim.injector.InjectorBuilder;
+import space.arim.injector.InvocationEngine;
 import space.arim.injector.SpecificationSupport;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
+import junit.framework.TestSuite;
 
 public class TckTest extends TestCase {
 
 	public static Test suite() {
+		TestSuite suite = new TestSuite();
+		for (InvocationEngine invocationEngine : InvocationEngine.values()) {
+			suite.addTest(suiteUsing(invocationEngine));
+		}
+		return suite;
+	}
+
+	private static Test suiteUsing(InvocationEngine invocationEngine) {
 		Injector injector = new InjectorBuilder()
 				.addBindModules(new TckBindings())
 				.privateInjection(true)
 				.staticInjection(true)
 				.specification(SpecificationSupport.JAVAX)
+				.invocationEngine(invocationEngine)
 				.build();
 
 		Car car = injector.request(Car.class);